@@ -0,0 +1,20 @@
+package com.original.security.user.api;
+
+import com.original.security.core.Response;
+import com.original.security.user.api.dto.response.CacheMetricsDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.List;
+
+@FeignClient(name = "security-user-authz-admin-api", url = "${security.user.api.url:}")
+@RequestMapping("/api/authz")
+public interface AuthorizationAdminApi {
+
+    /**
+     * 查询授权相关缓存的命中率、加载耗时分位数与条目数
+     */
+    @GetMapping("/caches")
+    Response<List<CacheMetricsDTO>> getCacheMetrics();
+}
@@ -3,6 +3,7 @@ package com.original.security.user.api;
 import com.original.security.core.Response;
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -21,6 +22,26 @@ public interface RoleApi {
     Response<Void> assignPermissions(@PathVariable("roleId") Long roleId, 
                                      @Valid @RequestBody PermissionAssignRequest request);
 
+    /**
+     * 批量新增/移除多个角色的权限，在同一事务中生效
+     */
+    @PostMapping("/permissions/bulk")
+    Response<Void> changePermissions(@Valid @RequestBody RolePermissionBulkRequest request);
+
+    /**
+     * 新增角色继承：父角色继承该角色的全部权限
+     */
+    @PutMapping("/{roleId}/parents/{parentRoleId}")
+    Response<Void> addParentRole(@PathVariable("roleId") Long roleId,
+                                 @PathVariable("parentRoleId") Long parentRoleId);
+
+    /**
+     * 删除角色继承
+     */
+    @DeleteMapping("/{roleId}/parents/{parentRoleId}")
+    Response<Void> removeParentRole(@PathVariable("roleId") Long roleId,
+                                    @PathVariable("parentRoleId") Long parentRoleId);
+
     @GetMapping("/{roleId}")
     Response<RoleDTO> getRole(@PathVariable("roleId") Long roleId);
 
@@ -3,8 +3,11 @@ package com.original.security.user.api;
 import com.original.security.core.Response;
 import com.original.security.user.api.dto.request.UserCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
 import com.original.security.user.api.dto.response.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -39,6 +42,18 @@ public interface UserApi {
     @PreAuthorize("isAuthenticated()")
     Response<UserDTO> getCurrentUser();
 
+    /**
+     * 获取当前用户的角色与权限清单
+     * 响应带有由清单内容摘要生成的强 ETag，请求头 If-None-Match 匹配时返回 304 且不含响应体
+     *
+     * @param ifNoneMatch 客户端缓存的 ETag（可选）
+     * @return 权限清单
+     */
+    @GetMapping("/me/permissions")
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<Response<PermissionManifestDTO>> getCurrentUserPermissions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
     /**
      * 根据ID获取用户信息
      *
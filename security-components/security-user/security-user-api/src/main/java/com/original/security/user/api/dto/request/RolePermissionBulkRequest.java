@@ -0,0 +1,18 @@
+package com.original.security.user.api.dto.request;
+
+import lombok.Data;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 批量角色权限变更请求，所有变更在同一事务中生效
+ */
+@Data
+public class RolePermissionBulkRequest {
+    @NotEmpty(message = "Changes list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 role changes per request")
+    @Valid
+    private List<RolePermissionChange> changes;
+}
@@ -0,0 +1,18 @@
+package com.original.security.user.api.dto.request;
+
+import lombok.Data;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 单个角色的权限变更：新增与移除的权限 ID
+ */
+@Data
+public class RolePermissionChange {
+    @NotNull(message = "Role id cannot be null")
+    private Long roleId;
+
+    private List<Long> addPermissionIds;
+
+    private List<Long> removePermissionIds;
+}
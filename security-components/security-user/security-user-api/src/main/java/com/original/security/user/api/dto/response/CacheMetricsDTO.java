@@ -0,0 +1,20 @@
+package com.original.security.user.api.dto.response;
+
+import lombok.Data;
+
+@Data
+public class CacheMetricsDTO {
+    private String cacheName;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private long evictionCount;
+    private double averageLoadPenaltyNanos;
+    private double estimatedSavedNanos;
+    private long loadTimeP50Nanos;
+    private long loadTimeP95Nanos;
+    private long loadTimeP99Nanos;
+}
@@ -0,0 +1,15 @@
+package com.original.security.user.api.dto.response;
+
+import lombok.Data;
+
+/**
+ * 批量授权判断结果
+ * <p>
+ * {@code granted} 为位数组，第 i 个元组的结果位于第 {@code i / 8} 个字节的第 {@code i % 8} 位 (低位在前)，
+ * JSON 中按 Base64 编码输出。
+ */
+@Data
+public class DecisionResultDTO {
+    private int count;
+    private byte[] granted;
+}
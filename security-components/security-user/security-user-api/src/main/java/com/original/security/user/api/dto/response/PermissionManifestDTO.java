@@ -0,0 +1,13 @@
+package com.original.security.user.api.dto.response;
+
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class PermissionManifestDTO {
+    private String username;
+    private long version;
+    private Set<String> roles;
+    private Set<String> permissions;
+}
@@ -1,5 +1,13 @@
 package com.original.security.user.service;
 
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 权限服务接口
  *
@@ -21,6 +29,119 @@ public interface PermissionService {
      */
     boolean hasPermission(String username, String permission);
 
+    /**
+     * 批量判断用户是否拥有多个权限
+     *
+     * <p>返回位集的第 i 位对应 {@code permissions} 迭代顺序中的第 i 个权限。
+     * 默认实现逐个调用 {@link #hasPermission(String, String)}，实现类可覆盖为一次缓存查找。
+     *
+     * @param username    用户名
+     * @param permissions 权限名称集合
+     * @return 已授予权限的位集，用户不存在时所有位均为 0
+     */
+    default BitSet check(String username, Collection<String> permissions) {
+        BitSet granted = new BitSet();
+        if (permissions == null) {
+            return granted;
+        }
+        int index = 0;
+        for (String permission : permissions) {
+            if (hasPermission(username, permission)) {
+                granted.set(index);
+            }
+            index++;
+        }
+        return granted;
+    }
+
+    /**
+     * 判断用户是否拥有全部指定权限
+     *
+     * @param username    用户名
+     * @param permissions 权限名称集合，为空时返回 true
+     * @return true 如果拥有全部权限
+     */
+    default boolean hasAll(String username, Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return true;
+        }
+        return check(username, permissions).cardinality() == permissions.size();
+    }
+
+    /**
+     * 判断用户是否拥有任意一个指定权限
+     *
+     * @param username    用户名
+     * @param permissions 权限名称集合，为空时返回 false
+     * @return true 如果至少拥有其中一个权限
+     */
+    default boolean hasAny(String username, Collection<String> permissions) {
+        return !check(username, permissions).isEmpty();
+    }
+
+    /**
+     * 批量判断多个用户是否拥有多个权限
+     *
+     * <p>位集含义同 {@link #check(String, Collection)}；实现类应在一次批量加载中解析所有用户。
+     *
+     * @param usernames   用户名集合
+     * @param permissions 权限名称集合
+     * @return 用户名到已授予权限位集的映射，保持 {@code usernames} 的迭代顺序
+     */
+    default Map<String, BitSet> checkAll(Collection<String> usernames, Collection<String> permissions) {
+        Map<String, BitSet> result = new LinkedHashMap<>();
+        for (String username : usernames) {
+            result.put(username, check(username, permissions));
+        }
+        return result;
+    }
+
+    /**
+     * 逐对判断用户是否拥有权限
+     *
+     * <p>返回位集的第 i 位表示 {@code usernames} 中第 i 个用户是否拥有 {@code permissions} 中第 i 个权限。
+     * 默认实现逐个调用 {@link #hasPermission(String, String)}；实现类应在一次批量加载中解析所有不同的用户。
+     *
+     * @param usernames   用户名列表，元素可重复
+     * @param permissions 权限名称列表，长度须与 {@code usernames} 相同
+     * @return 已授予的位集
+     * @throws IllegalArgumentException 两个列表长度不同时抛出
+     */
+    default BitSet checkPairs(List<String> usernames, List<String> permissions) {
+        if (usernames.size() != permissions.size()) {
+            throw new IllegalArgumentException("usernames and permissions must have the same size");
+        }
+        BitSet granted = new BitSet(usernames.size());
+        for (int i = 0; i < usernames.size(); i++) {
+            if (hasPermission(usernames.get(i), permissions.get(i))) {
+                granted.set(i);
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * 获取用户的权限清单
+     *
+     * <p>清单包含展开继承后的角色、权限名称 (通配符授权保留原样，如 {@code user:*}) 与授权版本号。
+     * 版本号在快照刷新或重新加载时也会变化，不适合作为缓存验证标识，应使用 {@link #getPermissionManifestDigest}。
+     *
+     * @param username 用户名
+     * @return 权限清单，用户不存在或已禁用时角色与权限均为空
+     */
+    PermissionManifestDTO getPermissionManifest(String username);
+
+    /**
+     * 获取用户权限清单的内容摘要
+     *
+     * <p>由用户名及按名称排序的角色与权限计算，只随清单内容变化，与快照版本号、节点无关，
+     * 可用于生成 HTTP 缓存验证标识；计算时不构建清单。
+     *
+     * @param username 用户名
+     * @return 清单内容摘要
+     */
+    String getPermissionManifestDigest(String username);
+
     /**
      * 清除指定用户的权限缓存
      *
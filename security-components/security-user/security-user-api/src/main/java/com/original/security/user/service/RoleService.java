@@ -2,6 +2,7 @@ package com.original.security.user.service;
 
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
 
@@ -60,6 +61,35 @@ public interface RoleService {
      */
     void assignPermissions(Long roleId, PermissionAssignRequest request);
 
+    /**
+     * 批量新增/移除多个角色的权限
+     *
+     * <p>所有变更在同一事务中生效，任一角色或权限不存在时整体回滚。已拥有的权限不会重复新增，
+     * 未拥有的权限移除时忽略；提交后只发布一个汇总的变更事件。
+     *
+     * @param request 批量变更请求
+     */
+    void changePermissions(RolePermissionBulkRequest request);
+
+    /**
+     * 新增角色继承关系
+     *
+     * <p>父角色继承该角色 (及其所有后代角色) 的全部权限。形成环时抛出 {@link IllegalArgumentException}；
+     * 继承关系已存在时不做任何处理。提交后无需重启即可生效。
+     *
+     * @param roleId       被继承的角色ID
+     * @param parentRoleId 父角色ID
+     */
+    void addParentRole(Long roleId, Long parentRoleId);
+
+    /**
+     * 删除角色继承关系，关系不存在时不做任何处理
+     *
+     * @param roleId       被继承的角色ID
+     * @param parentRoleId 父角色ID
+     */
+    void removeParentRole(Long roleId, Long parentRoleId);
+
     /**
      * 获取角色详情
      *
@@ -2,6 +2,7 @@ package com.original.security.user.service;
 
 import com.original.security.user.api.dto.request.UserCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
 import com.original.security.user.api.dto.response.UserDTO;
 
 /**
@@ -27,6 +28,23 @@ public interface UserService {
      */
     UserDTO getCurrentUser();
 
+    /**
+     * 获取当前用户的权限清单
+     *
+     * <p>内容来自授权快照，快照已缓存时不访问数据库。
+     *
+     * @return 展开后的角色与权限，以及快照版本号
+     */
+    PermissionManifestDTO getCurrentUserPermissions();
+
+    /**
+     * 获取当前用户权限清单的内容摘要
+     *
+     * @return 清单内容摘要，清单内容不变时不变
+     * @see PermissionService#getPermissionManifestDigest(String)
+     */
+    String getCurrentUserPermissionsDigest();
+
     /**
      * 根据ID获取用户
      *
@@ -0,0 +1,206 @@
+package com.original.security.user.acl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.authorization.metrics.CacheMetricsSource;
+import com.original.security.user.authorization.metrics.RecordingStatsCounter;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.entity.AclEntry;
+import com.original.security.user.repository.AclEntryRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ACL 内存索引
+ * <p>
+ * 每种记录类型一个有界缓存，键为记录 ID，值为该记录的 {@link AclTargetPermissions}；
+ * 记录类型的数量同样有界，超出时淘汰整个类型的索引，调用方传入的任意类型名称不会无限占用内存。
+ * 未命中时从 {@code acl_entries} 加载，批量获取时按 {@link #BATCH_SIZE} 分块合并为 IN 查询；
+ * 没有条目的记录同样缓存 (负向缓存)。
+ *
+ * <p>授权变更在事务提交后通过 {@link #evict} 清除对应记录，下次访问时从数据库加载最新数据；
+ * 不在内存中就地修改，以免覆盖与提交并发进行的加载结果。
+ *
+ * <p>所有类型的索引共享一个统计计数器，以 {@value #CACHE_NAME} 名称汇总暴露指标。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class AclIndex implements CacheMetricsSource {
+
+    /**
+     * 指标中的缓存名称
+     */
+    public static final String CACHE_NAME = "acl";
+
+    /**
+     * 批量加载时单条 SQL 的 IN 列表上限
+     */
+    static final int BATCH_SIZE = 500;
+
+    private final AclEntryRepository aclEntryRepository;
+    private final PermissionCatalog permissionCatalog;
+    private final UserProperties.Acl config;
+
+    private final Cache<String, LoadingCache<String, AclTargetPermissions>> indexes;
+
+    private final RecordingStatsCounter statsCounter = new RecordingStatsCounter();
+
+    /**
+     * 修改次数：每次清除索引后递增
+     */
+    private final AtomicLong changeCount = new AtomicLong();
+
+    public AclIndex(AclEntryRepository aclEntryRepository, PermissionCatalog permissionCatalog,
+                    UserProperties userProperties) {
+        this.aclEntryRepository = aclEntryRepository;
+        this.permissionCatalog = permissionCatalog;
+        this.config = userProperties.getAcl();
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumTargetTypes())
+                .build();
+    }
+
+    /**
+     * 权限目录，用于将权限名称转换为位图中的 ID
+     */
+    public PermissionCatalog getPermissionCatalog() {
+        return permissionCatalog;
+    }
+
+    /**
+     * 获取单条记录的 ACL 授权，未命中时加载
+     *
+     * @param targetType 记录类型
+     * @param targetId   记录 ID
+     * @return ACL 授权，不会为 null
+     */
+    public AclTargetPermissions get(String targetType, String targetId) {
+        return index(targetType).get(targetId);
+    }
+
+    /**
+     * 批量获取同一类型多条记录的 ACL 授权，所有未命中的记录合并为批量查询
+     *
+     * @param targetType 记录类型
+     * @param targetIds  记录 ID 集合
+     * @return 记录 ID 到 ACL 授权的映射
+     */
+    public Map<String, AclTargetPermissions> getAll(String targetType, Collection<String> targetIds) {
+        LoadingCache<String, AclTargetPermissions> index = index(targetType);
+        long changes = changeCount.get();
+        Map<String, AclTargetPermissions> result = index.getAll(targetIds);
+        if (changeCount.get() != changes) {
+            // 批量加载不持有键锁，期间提交的变更可能被加载结果覆盖；保守地清除本次涉及的记录
+            index.invalidateAll(targetIds);
+        }
+        return result;
+    }
+
+    /**
+     * 清除单条记录的缓存，下次访问时从数据库重新加载
+     * <p>
+     * 在 ACL 变更事务提交后调用。与此同时进行的单条加载在缓存内部持有该键的锁，清除会等待其完成后再删除，
+     * 因此提交前开始的加载结果不会留在缓存中；批量加载见 {@link #getAll}。
+     *
+     * @param targetType 记录类型
+     * @param targetId   记录 ID
+     */
+    public void evict(String targetType, String targetId) {
+        LoadingCache<String, AclTargetPermissions> index = indexes.getIfPresent(targetType);
+        if (index != null) {
+            index.invalidate(targetId);
+        }
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 清除指定类型的全部索引
+     *
+     * @param targetType 记录类型
+     */
+    public void evictAll(String targetType) {
+        LoadingCache<String, AclTargetPermissions> index = indexes.getIfPresent(targetType);
+        if (index != null) {
+            index.invalidateAll();
+        }
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 修改次数
+     * <p>
+     * 每次清除索引后递增 (包括目标记录未缓存的情况)，供派生缓存判断是否基于旧授权。
+     *
+     * @return 自创建以来的修改次数
+     */
+    public long getChangeCount() {
+        return changeCount.get();
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public CacheMetrics getCacheMetrics() {
+        // 先完成挂起的类型淘汰，已淘汰类型的条目不计入
+        indexes.cleanUp();
+        long size = 0;
+        for (LoadingCache<String, AclTargetPermissions> index : indexes.asMap().values()) {
+            size += index.estimatedSize();
+        }
+        return statsCounter.toMetrics(CACHE_NAME, size);
+    }
+
+    private LoadingCache<String, AclTargetPermissions> index(String targetType) {
+        return indexes.get(targetType, type -> Caffeine.newBuilder()
+                .maximumSize(config.getMaximumTargetsPerType())
+                .expireAfterWrite(config.getTtlMinutes(), TimeUnit.MINUTES)
+                .recordStats(() -> statsCounter)
+                .build(new CacheLoader<String, AclTargetPermissions>() {
+                    @Override
+                    public AclTargetPermissions load(String targetId) {
+                        return loadTargets(type, Collections.singletonList(targetId)).get(targetId);
+                    }
+
+                    @Override
+                    public Map<String, AclTargetPermissions> loadAll(Iterable<? extends String> targetIds) {
+                        List<String> ids = new ArrayList<>();
+                        targetIds.forEach(ids::add);
+                        return loadTargets(type, ids);
+                    }
+                }));
+    }
+
+    private Map<String, AclTargetPermissions> loadTargets(String targetType, List<String> targetIds) {
+        Map<String, AclTargetPermissions.Builder> builders = new HashMap<>();
+        for (int from = 0; from < targetIds.size(); from += BATCH_SIZE) {
+            List<String> chunk = targetIds.subList(from, Math.min(from + BATCH_SIZE, targetIds.size()));
+            for (AclEntry entry : aclEntryRepository.findByTargetTypeAndTargetIdIn(targetType, chunk)) {
+                builders.computeIfAbsent(entry.getTargetId(), id -> new AclTargetPermissions.Builder())
+                        .add(entry.getPrincipalType(), entry.getPrincipal(), permissionCatalog.intern(entry.getPermission()));
+            }
+        }
+        Map<String, AclTargetPermissions> result = new HashMap<>();
+        for (String targetId : targetIds) {
+            AclTargetPermissions.Builder builder = builders.get(targetId);
+            result.put(targetId, builder != null ? builder.build() : AclTargetPermissions.EMPTY);
+        }
+        return result;
+    }
+}
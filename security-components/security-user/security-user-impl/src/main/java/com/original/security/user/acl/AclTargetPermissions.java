@@ -0,0 +1,87 @@
+package com.original.security.user.acl;
+
+import com.original.security.user.authorization.PermissionBitmap;
+import com.original.security.user.entity.AclEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单条记录的 ACL 授权 (不可变)
+ * <p>
+ * 以主体为键保存权限位图，权限 ID 由 {@link com.original.security.user.authorization.PermissionCatalog} 分配，
+ * 判断授权只需若干次哈希查找与位运算。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class AclTargetPermissions {
+
+    /**
+     * 没有任何 ACL 条目的记录
+     */
+    public static final AclTargetPermissions EMPTY = new AclTargetPermissions(Collections.emptyMap());
+
+    private final Map<String, PermissionBitmap> byPrincipal;
+
+    private AclTargetPermissions(Map<String, PermissionBitmap> byPrincipal) {
+        this.byPrincipal = byPrincipal;
+    }
+
+    /**
+     * 判断用户 (直接或经由角色) 是否拥有指定权限
+     *
+     * @param username     用户名
+     * @param roles        用户的角色 (含继承展开)
+     * @param permissionId 权限 ID
+     * @return true 如果已授权
+     */
+    public boolean isGranted(String username, Collection<String> roles, int permissionId) {
+        if (byPrincipal.isEmpty() || permissionId < 0) {
+            return false;
+        }
+        PermissionBitmap direct = byPrincipal.get(key(AclEntry.PrincipalType.USER, username));
+        if (direct != null && direct.contains(permissionId)) {
+            return true;
+        }
+        for (String role : roles) {
+            PermissionBitmap viaRole = byPrincipal.get(key(AclEntry.PrincipalType.ROLE, role));
+            if (viaRole != null && viaRole.contains(permissionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return byPrincipal.isEmpty();
+    }
+
+    private static String key(AclEntry.PrincipalType principalType, String principal) {
+        return principalType == AclEntry.PrincipalType.USER ? "U:" + principal : "R:" + principal;
+    }
+
+    /**
+     * 构建器 (非线程安全)
+     */
+    static final class Builder {
+
+        private final Map<String, PermissionBitmap.Builder> builders = new HashMap<>();
+
+        Builder add(AclEntry.PrincipalType principalType, String principal, int permissionId) {
+            builders.computeIfAbsent(key(principalType, principal), k -> new PermissionBitmap.Builder()).add(permissionId);
+            return this;
+        }
+
+        AclTargetPermissions build() {
+            if (builders.isEmpty()) {
+                return EMPTY;
+            }
+            Map<String, PermissionBitmap> byPrincipal = new HashMap<>();
+            builders.forEach((key, builder) -> byPrincipal.put(key, builder.build()));
+            return new AclTargetPermissions(byPrincipal);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.repository.UserLoginActivityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 授权缓存启动预热
+ *
+ * <p>作为 {@link ApplicationRunner} 在 {@code ApplicationReadyEvent} 之前执行：按最近登录时间取前 N 个用户，
+ * 分批通过 {@link AuthorizationSnapshotCache#getAll} 加载授权快照，每批一条 SQL。
+ * Spring Boot 在所有 Runner 完成后才发布 {@code ReadinessState.ACCEPTING_TRAFFIC}，
+ * 因此编排系统的就绪探针会等待预热结束；进度可通过 {@link #getState()} 等方法或
+ * {@link AuthorizationWarmupHealthIndicator} 查询。
+ *
+ * <p>预热在每批之间检查时间预算，超出后停止，剩余用户在首次访问时按需加载；预热失败不会阻止应用启动。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.warmup", name = "enabled", havingValue = "true")
+public class AuthorizationCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationCacheWarmer.class);
+
+    /**
+     * 预热状态
+     */
+    public enum State {
+        /** 尚未开始 */
+        PENDING,
+        /** 进行中 */
+        RUNNING,
+        /** 全部完成 */
+        COMPLETED,
+        /** 超出时间预算，部分完成 */
+        BUDGET_EXCEEDED,
+        /** 加载失败 */
+        FAILED
+    }
+
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final UserLoginActivityRepository loginActivityRepository;
+    private final UserProperties.Warmup warmup;
+
+    private volatile State state = State.PENDING;
+    private volatile int totalUsers;
+    private volatile int warmedUsers;
+
+    public AuthorizationCacheWarmer(AuthorizationSnapshotCache snapshotCache,
+                                    UserLoginActivityRepository loginActivityRepository,
+                                    UserProperties userProperties) {
+        this.snapshotCache = snapshotCache;
+        this.loginActivityRepository = loginActivityRepository;
+        this.warmup = userProperties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * 执行预热
+     */
+    public void warmUp() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(warmup.getTimeBudgetSeconds());
+        try {
+            List<String> usernames = loginActivityRepository.findRecentUsernames(
+                    PageRequest.of(0, Math.max(1, warmup.getMaxUsers())));
+            totalUsers = usernames.size();
+            int batchSize = Math.max(1, warmup.getBatchSize());
+            for (int from = 0; from < usernames.size(); from += batchSize) {
+                if (System.nanoTime() - deadline > 0) {
+                    state = State.BUDGET_EXCEEDED;
+                    log.warn("Authorization cache warm-up exceeded its {}s budget after {}/{} users",
+                            warmup.getTimeBudgetSeconds(), warmedUsers, totalUsers);
+                    return;
+                }
+                List<String> batch = usernames.subList(from, Math.min(from + batchSize, usernames.size()));
+                snapshotCache.getAll(batch);
+                warmedUsers += batch.size();
+            }
+            state = State.COMPLETED;
+            log.info("Authorization cache warm-up loaded {} users in {} ms",
+                    warmedUsers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            log.warn("Authorization cache warm-up failed after {}/{} users", warmedUsers, totalUsers, e);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 需要预热的用户数
+     */
+    public int getTotalUsers() {
+        return totalUsers;
+    }
+
+    /**
+     * 已预热的用户数
+     */
+    public int getWarmedUsers() {
+        return warmedUsers;
+    }
+
+    /**
+     * 预热是否已结束 (无论成功、超时或失败)
+     */
+    public boolean isFinished() {
+        State current = state;
+        return current != State.PENDING && current != State.RUNNING;
+    }
+}
@@ -0,0 +1,75 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.repository.UserRolePermissionView;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单个用户的授权数据 (角色与各角色的权限)
+ * <p>
+ * 由 {@link AuthorizationLoader} 一次查询构建，实例不可变。权限按角色分别保存，
+ * 由 {@link RolePermissionSets} 合并为同一角色组合的用户共享的权限集合。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class AuthorizationData {
+
+    /**
+     * 用户不存在或已禁用时的空授权数据 (负向缓存)
+     */
+    public static final AuthorizationData EMPTY = new AuthorizationData(Collections.emptyMap());
+
+    private final Map<String, RolePermissions> rolePermissions;
+
+    private AuthorizationData(Map<String, RolePermissions> rolePermissions) {
+        this.rolePermissions = rolePermissions;
+    }
+
+    /**
+     * 角色名称集合 (不可变)
+     */
+    public Set<String> getRoles() {
+        return rolePermissions.keySet();
+    }
+
+    /**
+     * 角色名称到该角色权限集合的映射 (不可变)
+     */
+    public Map<String, RolePermissions> getRolePermissions() {
+        return rolePermissions;
+    }
+
+    /**
+     * 逐行累积投影结果的构建器
+     */
+    static final class Builder {
+
+        private final PermissionCatalog catalog;
+        private final Map<String, RolePermissions.Builder> roles = new HashMap<>();
+
+        Builder(PermissionCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        Builder add(UserRolePermissionView row) {
+            RolePermissions.Builder role = roles.computeIfAbsent(row.getRoleName(), name -> new RolePermissions.Builder(catalog));
+            if (row.getPermissionName() != null) {
+                role.add(row.getPermissionName());
+            }
+            return this;
+        }
+
+        AuthorizationData build() {
+            if (roles.isEmpty()) {
+                return EMPTY;
+            }
+            Map<String, RolePermissions> rolePermissions = new HashMap<>();
+            roles.forEach((name, builder) -> rolePermissions.put(name, builder.build()));
+            return new AuthorizationData(Collections.unmodifiableMap(rolePermissions));
+        }
+    }
+}
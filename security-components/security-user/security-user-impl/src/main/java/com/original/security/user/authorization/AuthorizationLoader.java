@@ -0,0 +1,108 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 授权数据加载器
+ * <p>
+ * 通过 {@link UserRepository} 的投影查询一次取回用户的角色与权限，每次缓存未命中只产生一条 SQL。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class AuthorizationLoader {
+
+    /**
+     * 批量加载时单条 SQL 的 IN 列表上限
+     */
+    static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final PermissionCatalog permissionCatalog;
+
+    public AuthorizationLoader(UserRepository userRepository, PermissionCatalog permissionCatalog) {
+        this.userRepository = userRepository;
+        this.permissionCatalog = permissionCatalog;
+    }
+
+    /**
+     * 权限目录，用于将权限名称转换为位图中的 ID
+     */
+    public PermissionCatalog getPermissionCatalog() {
+        return permissionCatalog;
+    }
+
+    /**
+     * 加载单个用户的授权数据
+     *
+     * @param username 用户名
+     * @return 授权数据，用户不存在或已禁用时返回 {@link AuthorizationData#EMPTY}
+     */
+    @Transactional(readOnly = true)
+    public AuthorizationData load(String username) {
+        AuthorizationData.Builder builder = new AuthorizationData.Builder(permissionCatalog);
+        for (UserRolePermissionView row : userRepository.findRolePermissionsByUsername(username)) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 查询给定用户名中实际存在的部分，只投影用户名，不加载角色与权限
+     * <p>
+     * 每 {@value #BATCH_SIZE} 个用户名合并为一条 SQL。
+     *
+     * @param usernames 用户名集合
+     * @return 存在的用户名
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findExisting(Collection<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            existing.addAll(userRepository.findExistingUsernames(
+                    distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size()))));
+        }
+        return existing;
+    }
+
+    /**
+     * 批量加载多个用户的授权数据
+     * <p>
+     * 每 {@value #BATCH_SIZE} 个用户名合并为一条 SQL。
+     *
+     * @param usernames 用户名集合
+     * @return 用户名到授权数据的映射，包含所有请求的用户名
+     */
+    @Transactional(readOnly = true)
+    public Map<String, AuthorizationData> loadAll(Collection<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Map<String, AuthorizationData.Builder> builders = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size()));
+            for (UserRolePermissionView row : userRepository.findRolePermissionsByUsernameIn(chunk)) {
+                builders.computeIfAbsent(row.getUsername(), k -> new AuthorizationData.Builder(permissionCatalog)).add(row);
+            }
+        }
+
+        Map<String, AuthorizationData> result = new HashMap<>();
+        for (String username : distinct) {
+            AuthorizationData.Builder builder = builders.get(username);
+            result.put(username, builder != null ? builder.build() : AuthorizationData.EMPTY);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package com.original.security.user.authorization;
+
+import java.util.Set;
+
+/**
+ * 用户授权快照
+ * <p>
+ * 一次加载得到的角色、按继承关系展开后的角色、权限位图与版本号。实例不可变，
+ * 由 {@link AuthorizationSnapshotCache} 统一缓存，角色服务、权限服务与权限评估器共享同一份数据；
+ * 角色组合相同的用户引用同一组角色集合与权限位图，每个快照只额外占用用户名与版本号。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class AuthorizationSnapshot {
+
+    private final String username;
+    private final Set<String> roles;
+    private final Set<String> expandedRoles;
+    private final PermissionBitmap permissions;
+    private final PermissionTrie wildcardPermissions;
+    private final long version;
+
+    AuthorizationSnapshot(String username, Set<String> roles, Set<String> expandedRoles,
+                          PermissionBitmap permissions, PermissionTrie wildcardPermissions, long version) {
+        this.username = username;
+        this.roles = roles;
+        this.expandedRoles = expandedRoles;
+        this.permissions = permissions;
+        this.wildcardPermissions = wildcardPermissions;
+        this.version = version;
+    }
+
+    /**
+     * 以角色组合构建快照，角色集合、权限位图与前缀树均与同组合的其他快照共享
+     */
+    AuthorizationSnapshot(String username, RoleCombination combination, long version) {
+        this(username, combination.getRoles(), combination.getExpandedRoles(), combination.getPermissions(),
+                combination.getWildcardPermissions(), version);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * 用户直接拥有的角色 (不可变)
+     */
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * 按角色继承关系展开后的角色 (不可变)，可直接用于 {@code hasRole} 判断
+     */
+    public Set<String> getExpandedRoles() {
+        return expandedRoles;
+    }
+
+    /**
+     * 权限位图，ID 由 {@link PermissionCatalog} 分配
+     */
+    public PermissionBitmap getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * 通配符授权前缀树
+     */
+    public PermissionTrie getWildcardPermissions() {
+        return wildcardPermissions;
+    }
+
+    /**
+     * 快照版本号，每次加载单调递增
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 用户不存在、已禁用或未分配任何角色
+     */
+    public boolean isEmpty() {
+        return roles.isEmpty();
+    }
+
+    public boolean hasRole(String role) {
+        return expandedRoles.contains(role);
+    }
+
+    /**
+     * 仅按精确授权判断
+     *
+     * @param permissionId 权限 ID
+     */
+    public boolean hasPermission(int permissionId) {
+        return permissions.contains(permissionId);
+    }
+
+    /**
+     * 先按精确授权判断，未命中时再匹配通配符授权
+     *
+     * @param permissionId 权限 ID，未登记时为 {@link PermissionCatalog#UNKNOWN}
+     * @param permission   权限名称
+     */
+    public boolean hasPermission(int permissionId, String permission) {
+        return permissions.contains(permissionId) || wildcardPermissions.matches(permission);
+    }
+}
@@ -0,0 +1,646 @@
+package com.original.security.user.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.authorization.metrics.CacheMetricsSource;
+import com.original.security.user.authorization.metrics.RecordingStatsCounter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户授权快照缓存
+ * <p>
+ * 每个用户只保留一个 {@link AuthorizationSnapshot}，一次查询同时得到角色与权限，
+ * 使用统一的容量、TTL 与失效策略，避免角色缓存与权限缓存互相不一致。
+ * 用户不存在或已禁用时将空快照放入独立的短 TTL 负向缓存，避免频繁查库，也不会挤占正常用户的条目；
+ * {@link KnownUsernames} 判定不存在的用户名仍可能存在 (例如绕过应用直接写入数据库的用户)，
+ * 因此按 {@code security.cache.unknown-username-loads-per-second} 限速加载，结果同样进入负向缓存；
+ * 超出限速时只做一次按用户名的存在性检查：存在的用户照常加载，其他节点创建但尚未登记的用户不会被拒绝；
+ * 不存在的用户名放入负向缓存，重复探测同一用户名不再查库。加载到角色的用户名随即加入过滤器。
+ *
+ * <p>启用 {@code security.cache.refresh-minutes} 后，条目在写入满刷新间隔后的首次访问仍返回旧快照，
+ * 同时在有界线程池中后台重新加载；同一时刻到期的多个用户合并为批量查询，
+ * 避免 TTL 到期时请求线程同步阻塞在数据库加载上。
+ *
+ * <p>批量失效不遍历缓存：角色代数 (generation) 与快照版本号取自同一个单调序列，
+ * 角色变更时只记录该角色的新代数；读取时若快照的任一直接角色代数大于快照版本号，
+ * 或快照版本号不大于全局失效版本，则视为过期并按需重新加载。
+ * 写入代价为 O(1)，重新加载随后续访问自然分散。
+ *
+ * <p>权限按角色保存在 {@link RolePermissionSets} 中，快照引用其角色组合的共享并集。
+ * 仅因角色代数过期的快照，在该角色已被任一次加载重新读取后直接在内存中重新组合，不再查询数据库；
+ * 因此角色权限变更后，持有该角色的所有用户只产生一次查询。
+ *
+ * <p>命中率、加载耗时分布与条目数通过 {@link CacheMetricsSource} 以 {@value #CACHE_NAME} 名称对外暴露。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class AuthorizationSnapshotCache implements CacheMetricsSource, DisposableBean {
+
+    /**
+     * 指标中的缓存名称
+     */
+    public static final String CACHE_NAME = "authorization-snapshots";
+
+    /**
+     * 后台刷新批次的等待队列容量
+     */
+    private static final int RELOAD_QUEUE_CAPACITY = 64;
+
+    private final AuthorizationLoader authorizationLoader;
+
+    private final LoadingCache<String, AuthorizationSnapshot> snapshots;
+
+    private final RecordingStatsCounter statsCounter = new RecordingStatsCounter();
+
+    /**
+     * 不存在或已禁用用户的空快照，与 {@link #snapshots} 分开以免挤占正常用户
+     */
+    private final Cache<String, AuthorizationSnapshot> negativeSnapshots;
+
+    private final KnownUsernames knownUsernames = new KnownUsernames();
+
+    private final RolePermissionSets rolePermissionSets = new RolePermissionSets();
+
+    /**
+     * 后台刷新线程池，未启用提前刷新时为 null
+     */
+    private final Executor reloadExecutor;
+
+    private final SnapshotReloadBatcher reloadBatcher;
+
+    /**
+     * 快照版本序列：取当前微秒时间与上一个值加一中的较大者，单节点内严格递增、重启后不回退，
+     * 各节点之间按时间大致有序，因此令牌中的版本号可与其他节点记录的失效版本比较 (误差为节点时钟偏差)
+     */
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    /**
+     * 全局失效版本：版本号不大于此值的快照视为过期，下次访问时重新加载。
+     * 创建时取一个新版本号，本节点启动前签发的令牌版本不会被视为有效 (本节点没有启动前的失效记录)
+     */
+    private volatile long invalidatedBefore;
+
+    /**
+     * 角色代数：角色名称到最近一次变更时分配的序列号
+     */
+    private final ConcurrentMap<String, Long> roleGenerations = new ConcurrentHashMap<>();
+
+    /**
+     * 用户代数：最近被清除的用户名到清除时分配的序列号，仅用于校验令牌中的授权版本。
+     * 容量有限，被淘汰的代数并入 {@link #userGenerationFloor}，保证淘汰后判断只会更保守
+     */
+    private final Cache<String, Long> userGenerations;
+
+    /**
+     * 已淘汰用户代数中的最大值，版本号不大于此值的令牌一律视为过期
+     */
+    private final AtomicLong userGenerationFloor = new AtomicLong();
+
+    /**
+     * 角色继承闭包，继承关系变化时整体替换
+     */
+    private volatile RoleHierarchyClosure roleHierarchyClosure;
+
+    /**
+     * 失效次数：每次清除、过期或替换继承关系后递增，供派生缓存以 O(1) 代价判断是否基于旧数据
+     */
+    private final AtomicLong changeCount = new AtomicLong();
+
+    private final Ticker ticker;
+
+    /**
+     * 过滤器拒绝的用户名每秒最多加载次数，0 表示从不加载
+     */
+    private final int unknownUsernameLoadsPerSecond;
+
+    /**
+     * 当前限速窗口 (秒) 及窗口内已加载的次数
+     */
+    private final AtomicLong unknownLoadWindow = new AtomicLong(-1);
+    private final AtomicInteger unknownLoadsInWindow = new AtomicInteger();
+
+    @Autowired
+    public AuthorizationSnapshotCache(AuthorizationLoader authorizationLoader,
+                                      SecurityProperties securityProperties,
+                                      @Nullable RoleHierarchy roleHierarchy) {
+        this(authorizationLoader, securityProperties, roleHierarchy,
+                securityProperties.getCache().isRefreshAheadEnabled()
+                        ? createReloadExecutor(securityProperties.getCache().getReloadParallelism()) : null,
+                Ticker.systemTicker());
+    }
+
+    AuthorizationSnapshotCache(AuthorizationLoader authorizationLoader,
+                               SecurityProperties securityProperties,
+                               @Nullable RoleHierarchy roleHierarchy,
+                               @Nullable Executor reloadExecutor,
+                               Ticker ticker) {
+        this.authorizationLoader = authorizationLoader;
+        this.roleHierarchyClosure = new RoleHierarchyClosure(roleHierarchy);
+        this.invalidatedBefore = nextVersion();
+        this.ticker = ticker;
+        this.unknownUsernameLoadsPerSecond = securityProperties.getCache().getUnknownUsernameLoadsPerSecond();
+        this.reloadExecutor = reloadExecutor;
+        this.reloadBatcher = reloadExecutor != null ? new SnapshotReloadBatcher(reloadExecutor, this::loadAll) : null;
+
+        SecurityProperties.Cache cacheConfig = securityProperties.getCache();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getTtlMinutes(), TimeUnit.MINUTES)
+                .ticker(ticker)
+                .recordStats(() -> statsCounter);
+        if (reloadBatcher != null) {
+            builder.refreshAfterWrite(cacheConfig.getRefreshMinutes(), TimeUnit.MINUTES);
+        }
+        this.snapshots = builder.build(new SnapshotLoader());
+        this.negativeSnapshots = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getNegativeMaximumSize())
+                .expireAfterWrite(cacheConfig.getNegativeTtlSeconds(), TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+        this.userGenerations = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getNegativeMaximumSize())
+                .removalListener((String username, Long generation, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && generation != null) {
+                        userGenerationFloor.accumulateAndGet(generation, Math::max);
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * 获取用户授权快照，未命中时加载
+     *
+     * @param username 用户名
+     * @return 授权快照，不会为 null
+     */
+    public AuthorizationSnapshot get(String username) {
+        AuthorizationSnapshot negative = negativeSnapshots.getIfPresent(username);
+        if (negative != null && isCurrent(negative)) {
+            return negative;
+        }
+        boolean known = knownUsernames.mightExist(username);
+        if (!known && !tryLoadUnknown()) {
+            long version = nextVersion();
+            if (authorizationLoader.findExisting(Collections.singletonList(username)).isEmpty()) {
+                return rejectUnknown(username, version);
+            }
+        }
+        AuthorizationSnapshot snapshot = snapshots.get(username);
+        if (snapshot != null && !isCurrent(snapshot)) {
+            AuthorizationSnapshot rebased = rebase(snapshot);
+            if (rebased != null && snapshots.asMap().replace(username, snapshot, rebased)) {
+                return rebased;
+            }
+            // 条件删除，避免误删其他线程刚加载的新快照
+            snapshots.asMap().remove(username, snapshot);
+            snapshot = snapshots.get(username);
+        }
+        if (snapshot == null) {
+            return negativeOrEmpty(username);
+        }
+        if (!known) {
+            knownUsernames.add(username);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 批量获取授权快照，所有未命中的用户合并为一次批量查询
+     *
+     * @param usernames 用户名集合
+     * @return 用户名到授权快照的映射
+     */
+    public Map<String, AuthorizationSnapshot> getAll(Collection<String> usernames) {
+        Map<String, AuthorizationSnapshot> result = new HashMap<>();
+        List<String> candidates = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        List<String> overLimit = new ArrayList<>();
+        for (String username : usernames) {
+            AuthorizationSnapshot negative = negativeSnapshots.getIfPresent(username);
+            if (negative != null && isCurrent(negative)) {
+                result.put(username, negative);
+            } else if (knownUsernames.mightExist(username)) {
+                candidates.add(username);
+            } else if (tryLoadUnknown()) {
+                candidates.add(username);
+                unknown.add(username);
+            } else {
+                overLimit.add(username);
+            }
+        }
+        if (!overLimit.isEmpty()) {
+            long version = nextVersion();
+            Set<String> existing = authorizationLoader.findExisting(overLimit);
+            for (String username : overLimit) {
+                if (existing.contains(username)) {
+                    candidates.add(username);
+                    unknown.add(username);
+                } else {
+                    result.put(username, rejectUnknown(username, version));
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        List<String> stale = new ArrayList<>();
+        snapshots.getAll(candidates).forEach((username, snapshot) -> {
+            if (isCurrent(snapshot)) {
+                result.put(username, snapshot);
+                return;
+            }
+            AuthorizationSnapshot rebased = rebase(snapshot);
+            if (rebased != null && snapshots.asMap().replace(username, snapshot, rebased)) {
+                result.put(username, rebased);
+            } else if (snapshots.asMap().remove(username, snapshot)) {
+                stale.add(username);
+            } else {
+                result.put(username, snapshot);
+            }
+        });
+        if (!stale.isEmpty()) {
+            result.putAll(snapshots.getAll(stale));
+        }
+        for (String username : candidates) {
+            if (!result.containsKey(username)) {
+                result.put(username, negativeOrEmpty(username));
+            }
+        }
+        for (String username : unknown) {
+            if (!result.get(username).isEmpty()) {
+                knownUsernames.add(username);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 权限目录，用于将权限名称转换为快照位图中的 ID
+     */
+    public PermissionCatalog getPermissionCatalog() {
+        return authorizationLoader.getPermissionCatalog();
+    }
+
+    /**
+     * 已存在用户名集合，由 {@link UsernameFilterInitializer} 在启动时构建
+     */
+    public KnownUsernames getKnownUsernames() {
+        return knownUsernames;
+    }
+
+    /**
+     * 清除单个用户的快照
+     * <p>
+     * 被清除的用户可能刚在本节点或其他节点创建，因此同时加入 {@link KnownUsernames}，
+     * 以免被判定为不存在。
+     *
+     * @param username 用户名
+     */
+    public void evict(String username) {
+        knownUsernames.add(username);
+        userGenerations.put(username, nextVersion());
+        snapshots.invalidate(username);
+        negativeSnapshots.invalidate(username);
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 使直接拥有指定角色的用户快照过期
+     * <p>
+     * 只递增该角色的代数，不访问数据库也不遍历缓存；受影响的快照在下次访问时重新加载。
+     *
+     * @param roleName 角色名称
+     */
+    public void invalidateRole(String roleName) {
+        roleGenerations.put(roleName, nextVersion());
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 按权限差异更新指定角色，而不是让持有该角色的快照重新加载
+     * <p>
+     * 与 {@link #invalidateRole(String)} 一样递增角色代数，同时把差异应用到本节点登记的角色条目上，
+     * 受影响的快照在下次访问时直接在内存中重新组合，不访问数据库。本节点没有该角色的有效条目时
+     * 退化为 {@link #invalidateRole(String)}。
+     *
+     * @param roleName 角色名称
+     * @param added    新增的权限名称
+     * @param removed  移除的权限名称
+     * @return true 如果角色条目已按差异更新
+     */
+    public boolean patchRole(String roleName, Collection<String> added, Collection<String> removed) {
+        Long previous = roleGenerations.get(roleName);
+        long freshAfter = previous != null ? Math.max(previous, invalidatedBefore) : invalidatedBefore;
+        roleGenerations.put(roleName, nextVersion());
+        boolean patched = rolePermissionSets.patch(roleName,
+                permissions -> permissions.patch(getPermissionCatalog(), added, removed), freshAfter, nextVersion());
+        changeCount.incrementAndGet();
+        return patched;
+    }
+
+    /**
+     * 批量清除用户快照
+     *
+     * @param usernames 用户名集合
+     */
+    public void evict(Collection<String> usernames) {
+        long generation = nextVersion();
+        for (String username : usernames) {
+            knownUsernames.add(username);
+            userGenerations.put(username, generation);
+        }
+        snapshots.invalidateAll(usernames);
+        negativeSnapshots.invalidateAll(usernames);
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 判断在其他地方保存的授权版本 (例如令牌声明) 是否仍然有效
+     * <p>
+     * 只访问内存中的失效记录，不加载快照：版本号须大于全局失效版本、该用户最近一次被清除时的代数
+     * 及其任一直接角色的代数。失效记录只覆盖本节点启动之后，因此启动前签发的版本一律视为过期；
+     * 其他节点的失效需经由失效传输送达才会记录。
+     *
+     * @param username 用户名
+     * @param roles    签发时用户直接拥有的角色
+     * @param version  签发时快照的版本号
+     * @return 是否仍然有效
+     */
+    public boolean isCurrent(String username, Collection<String> roles, long version) {
+        if (version <= invalidatedBefore || version <= userGenerationFloor.get()) {
+            return false;
+        }
+        Long userGeneration = userGenerations.getIfPresent(username);
+        if (userGeneration != null && userGeneration >= version) {
+            return false;
+        }
+        for (String role : roles) {
+            Long generation = roleGenerations.get(role);
+            if (generation != null && generation >= version) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 清除所有快照，同时使此前签发的令牌中的授权版本全部过期
+     */
+    public void evictAll() {
+        invalidatedBefore = nextVersion();
+        snapshots.invalidateAll();
+        negativeSnapshots.invalidateAll();
+        rolePermissionSets.clear();
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * 替换角色继承关系
+     * <p>
+     * 新的继承闭包按角色惰性计算一次。已缓存的快照与此前签发的令牌版本都基于旧关系展开，
+     * 因此与 {@link #evictAll()} 一样全部失效；本节点编辑继承关系与收到其他节点的消息时效果相同。
+     *
+     * @param roleHierarchy 新的角色继承关系，null 表示不启用继承
+     */
+    public void setRoleHierarchy(@Nullable RoleHierarchy roleHierarchy) {
+        this.roleHierarchyClosure = new RoleHierarchyClosure(roleHierarchy);
+        evictAll();
+    }
+
+    /**
+     * 失效次数
+     * <p>
+     * 每次清除用户、使角色或全部快照过期、替换角色继承关系后递增，且在失效生效之后才递增。
+     * 基于快照派生结果的缓存可记录计算前读到的值，值不同即说明结果可能已过期。
+     *
+     * @return 自创建以来的失效次数
+     */
+    public long getChangeCount() {
+        return changeCount.get();
+    }
+
+    /**
+     * 角色级权限集合，仅供测试检查
+     */
+    RolePermissionSets getRolePermissionSets() {
+        return rolePermissionSets;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public CacheMetrics getCacheMetrics() {
+        return statsCounter.toMetrics(CACHE_NAME, snapshots.estimatedSize());
+    }
+
+    @Override
+    public void destroy() {
+        if (reloadExecutor instanceof ExecutorService) {
+            ((ExecutorService) reloadExecutor).shutdownNow();
+        }
+    }
+
+    private Map<String, AuthorizationSnapshot> loadAll(Iterable<? extends String> usernames) {
+        List<String> missing = new ArrayList<>();
+        usernames.forEach(missing::add);
+        long version = nextVersion();
+        Map<String, AuthorizationSnapshot> result = new HashMap<>();
+        authorizationLoader.loadAll(missing).forEach((username, data) -> {
+            AuthorizationSnapshot snapshot = cacheable(toSnapshot(username, data, version));
+            if (snapshot != null) {
+                result.put(username, snapshot);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 没有任何角色的快照放入负向缓存并返回 null，使其不进入主缓存
+     */
+    @Nullable
+    private AuthorizationSnapshot cacheable(AuthorizationSnapshot snapshot) {
+        if (snapshot.getRoles().isEmpty()) {
+            negativeSnapshots.put(snapshot.getUsername(), snapshot);
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 存在性检查确认不存在的用户名放入负向缓存
+     *
+     * @param version 检查前分配的版本号，检查期间创建该用户时其失效记录晚于此版本
+     */
+    private AuthorizationSnapshot rejectUnknown(String username, long version) {
+        AuthorizationSnapshot snapshot = new AuthorizationSnapshot(username, Collections.emptySet(),
+                Collections.emptySet(), PermissionBitmap.EMPTY, PermissionTrie.EMPTY, version);
+        negativeSnapshots.put(username, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 过滤器拒绝的用户名是否可在当前一秒的限额内加载
+     */
+    private boolean tryLoadUnknown() {
+        if (unknownUsernameLoadsPerSecond <= 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(ticker.read());
+        long window = unknownLoadWindow.get();
+        if (window != second && unknownLoadWindow.compareAndSet(window, second)) {
+            unknownLoadsInWindow.set(0);
+        }
+        return unknownLoadsInWindow.incrementAndGet() <= unknownUsernameLoadsPerSecond;
+    }
+
+    private long nextVersion() {
+        long nowMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return versionSequence.accumulateAndGet(nowMicros, (previous, now) -> Math.max(previous + 1, now));
+    }
+
+    private AuthorizationSnapshot negativeOrEmpty(String username) {
+        AuthorizationSnapshot negative = negativeSnapshots.getIfPresent(username);
+        return negative != null ? negative : emptySnapshot(username);
+    }
+
+    private AuthorizationSnapshot emptySnapshot(String username) {
+        return new AuthorizationSnapshot(username, Collections.emptySet(), Collections.emptySet(),
+                PermissionBitmap.EMPTY, PermissionTrie.EMPTY, versionSequence.get());
+    }
+
+    private static ThreadPoolExecutor createReloadExecutor(int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(RELOAD_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "authz-snapshot-reload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 缓存加载器：未命中时在调用线程同步加载，到期刷新交给批处理器在后台执行；
+     * 没有角色的用户返回 null，由负向缓存保存
+     */
+    private final class SnapshotLoader implements CacheLoader<String, AuthorizationSnapshot> {
+
+        @Override
+        public AuthorizationSnapshot load(String username) {
+            long version = nextVersion();
+            return cacheable(toSnapshot(username, authorizationLoader.load(username), version));
+        }
+
+        @Override
+        public Map<String, AuthorizationSnapshot> loadAll(Iterable<? extends String> usernames) {
+            return AuthorizationSnapshotCache.this.loadAll(usernames);
+        }
+
+        @Override
+        public CompletableFuture<AuthorizationSnapshot> asyncReload(String username, AuthorizationSnapshot oldValue,
+                                                                   Executor executor) {
+            return reloadBatcher.enqueue(username);
+        }
+    }
+
+    /**
+     * 快照版本号晚于全局失效版本及其所有直接角色的代数时仍然有效
+     * <p>
+     * 权限只来自直接角色，继承关系变化由 {@link #setRoleHierarchy} 整体清除，因此不检查展开后的角色。
+     */
+    private boolean isCurrent(AuthorizationSnapshot snapshot) {
+        long version = snapshot.getVersion();
+        if (version <= invalidatedBefore) {
+            return false;
+        }
+        if (roleGenerations.isEmpty()) {
+            return true;
+        }
+        for (String role : snapshot.getRoles()) {
+            Long generation = roleGenerations.get(role);
+            if (generation != null && generation > version) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 仅因角色代数过期的快照，在其所有角色的权限条目都晚于对应代数时在内存中重新组合
+     * <p>
+     * 新版本号在读取角色条目之前分配：之后发生的角色变更代数必然更大，会使重新组合的快照再次过期。
+     *
+     * @return 重新组合的快照，需要从数据库重新加载时返回 null
+     */
+    @Nullable
+    private AuthorizationSnapshot rebase(AuthorizationSnapshot stale) {
+        long version = nextVersion();
+        long globalFloor = invalidatedBefore;
+        if (stale.getVersion() <= globalFloor) {
+            return null;
+        }
+        Map<String, RolePermissions> parts = new HashMap<>();
+        for (String role : stale.getRoles()) {
+            Long generation = roleGenerations.get(role);
+            RolePermissions current = rolePermissionSets.current(role,
+                    generation != null ? Math.max(generation, globalFloor) : globalFloor);
+            if (current == null) {
+                return null;
+            }
+            parts.put(role, current);
+        }
+        return new AuthorizationSnapshot(stale.getUsername(),
+                rolePermissionSets.combine(parts, roleHierarchyClosure), version);
+    }
+
+    /**
+     * 构建快照；版本号在读取数据库之前分配，保证加载期间发生的全局失效能使本次结果过期。
+     * 读到的各角色权限同时登记到 {@link RolePermissionSets}，快照引用角色组合的共享并集
+     */
+    private AuthorizationSnapshot toSnapshot(String username, AuthorizationData data, long version) {
+        if (data.getRoles().isEmpty()) {
+            return new AuthorizationSnapshot(username, Collections.emptySet(), Collections.emptySet(),
+                    PermissionBitmap.EMPTY, PermissionTrie.EMPTY, version);
+        }
+        Map<String, RolePermissions> parts = new HashMap<>();
+        data.getRolePermissions().forEach((role, permissions) ->
+                parts.put(role, rolePermissionSets.offer(role, permissions, version)));
+        return new AuthorizationSnapshot(username, rolePermissionSets.combine(parts, roleHierarchyClosure), version);
+    }
+}
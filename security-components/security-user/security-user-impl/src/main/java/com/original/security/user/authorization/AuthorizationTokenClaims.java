@@ -0,0 +1,158 @@
+package com.original.security.user.authorization;
+
+import com.original.security.core.authentication.token.ClaimsAuthenticationToken;
+import com.original.security.core.authentication.token.TokenClaimsContributor;
+import com.original.security.user.authorization.invalidation.InvalidationTransport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 令牌授权声明
+ *
+ * <p>签发令牌时写入用户的权限集合 ({@value #CLAIM_PERMISSIONS})、直接角色 ({@value #CLAIM_ROLES})
+ * 与快照版本号 ({@value #CLAIM_VERSION})；请求携带令牌时，
+ * 若版本号仍通过 {@link AuthorizationSnapshotCache#isCurrent(String, java.util.Collection, long)} 校验，
+ * 则直接以令牌中的权限授权，不访问快照缓存或数据库。角色或用户发生变更后版本失效，调用方回退到权限服务。
+ *
+ * <p>仅在 {@code security.user.token-claims.enabled=true} 时注册，且要求配置了 {@link InvalidationTransport}：
+ * 否则其他节点上的角色与用户变更不会使本节点的版本记录失效，已撤销的权限在令牌有效期内仍被信任。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.token-claims", name = "enabled", havingValue = "true")
+public class AuthorizationTokenClaims implements TokenClaimsContributor {
+
+    /**
+     * 权限名称，JSON 数组
+     */
+    public static final String CLAIM_PERMISSIONS = "perms";
+
+    /**
+     * 直接角色名称，JSON 数组
+     */
+    public static final String CLAIM_ROLES = "authz_roles";
+
+    /**
+     * 授权快照版本号
+     */
+    public static final String CLAIM_VERSION = "authz_ver";
+
+    private final AuthorizationSnapshotCache snapshotCache;
+
+    public AuthorizationTokenClaims(AuthorizationSnapshotCache snapshotCache,
+                                    ObjectProvider<InvalidationTransport> transportProvider) {
+        if (transportProvider.getIfAvailable() == null) {
+            throw new IllegalStateException("security.user.token-claims.enabled requires an authorization "
+                    + "invalidation transport (security.user.invalidation.transport)");
+        }
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Override
+    public Map<String, Object> getClaims(String username) {
+        AuthorizationSnapshot snapshot = snapshotCache.get(username);
+        if (snapshot.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(CLAIM_PERMISSIONS,
+                new ArrayList<>(snapshot.getPermissions().toNames(snapshotCache.getPermissionCatalog())));
+        claims.put(CLAIM_ROLES, new ArrayList<>(snapshot.getRoles()));
+        claims.put(CLAIM_VERSION, snapshot.getVersion());
+        return claims;
+    }
+
+    /**
+     * 读取并校验认证信息中的令牌权限
+     *
+     * @param authentication 认证信息
+     * @return 令牌权限；没有授权声明或版本已失效时返回 null，调用方应回退到权限服务
+     */
+    @Nullable
+    public TokenPermissions verify(Authentication authentication) {
+        if (!(authentication instanceof ClaimsAuthenticationToken)) {
+            return null;
+        }
+        ClaimsAuthenticationToken token = (ClaimsAuthenticationToken) authentication;
+        Number version = token.getClaim(CLAIM_VERSION, Number.class);
+        List<String> permissions = names(token, CLAIM_PERMISSIONS);
+        List<String> roles = names(token, CLAIM_ROLES);
+        if (version == null || permissions == null || roles == null) {
+            return null;
+        }
+        if (!snapshotCache.isCurrent(token.getName(), roles, version.longValue())) {
+            return null;
+        }
+        return new TokenPermissions(permissions);
+    }
+
+    /**
+     * 读取名称数组声明；声明缺失或不是字符串数组时返回 null
+     */
+    @Nullable
+    private static List<String> names(ClaimsAuthenticationToken token, String claim) {
+        Collection<?> values = token.getClaim(claim, Collection.class);
+        if (values == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!(value instanceof String)) {
+                return null;
+            }
+            names.add((String) value);
+        }
+        return names;
+    }
+
+    /**
+     * 令牌中的权限集合
+     * <p>
+     * 精确权限按集合判断；通配符权限仅在精确匹配失败时才编译为 {@link PermissionTrie}，
+     * 每个请求最多编译一次。
+     */
+    public static final class TokenPermissions {
+
+        private final Set<String> exact;
+        private final List<String> grants;
+        private PermissionTrie wildcards;
+
+        TokenPermissions(List<String> permissions) {
+            this.grants = permissions;
+            this.exact = new HashSet<>(grants);
+        }
+
+        /**
+         * 判断是否拥有指定权限
+         *
+         * @param permission 权限名称
+         * @return 是否拥有
+         */
+        public boolean has(String permission) {
+            if (permission == null) {
+                return false;
+            }
+            if (exact.contains(permission)) {
+                return true;
+            }
+            if (wildcards == null) {
+                wildcards = PermissionTrie.compile(grants);
+            }
+            return wildcards.matches(permission);
+        }
+    }
+}
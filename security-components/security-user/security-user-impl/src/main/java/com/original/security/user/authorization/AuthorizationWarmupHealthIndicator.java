@@ -0,0 +1,43 @@
+package com.original.security.user.authorization;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 授权缓存预热健康指示器
+ *
+ * <p>仅在 classpath 中存在 Spring Boot Actuator 且启用预热时注册 (名称 {@code authorizationWarmup})。
+ * 预热进行中返回 OUT_OF_SERVICE，结束后返回 UP，并在详情中给出进度。可加入就绪探针分组：
+ * <pre>
+ * management.endpoint.health.group.readiness.include=readinessState,authorizationWarmup
+ * </pre>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component("authorizationWarmupHealthIndicator")
+@ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+@ConditionalOnProperty(prefix = "security.user.warmup", name = "enabled", havingValue = "true")
+public class AuthorizationWarmupHealthIndicator extends AbstractHealthIndicator {
+
+    private final AuthorizationCacheWarmer warmer;
+
+    public AuthorizationWarmupHealthIndicator(AuthorizationCacheWarmer warmer) {
+        this.warmer = warmer;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (warmer.isFinished()) {
+            builder.up();
+        } else {
+            builder.outOfService();
+        }
+        builder.withDetail("state", warmer.getState())
+                .withDetail("warmedUsers", warmer.getWarmedUsers())
+                .withDetail("totalUsers", warmer.getTotalUsers());
+    }
+}
@@ -0,0 +1,144 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.repository.RoleRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于数据库闭包表的角色继承关系
+ * <p>
+ * 启动时与每次继承关系变更后，从 {@code role_closure} 一次读取全部 (祖先, 后代) 对，
+ * 为每个角色构建一张可达角色位图；查询继承角色只需按位图取出预先创建的权限对象，
+ * 请求期间不遍历继承图，也不访问数据库。重新加载时整体替换位图，读取方无需加锁。
+ *
+ * <p>角色名称不带 {@code ROLE_} 前缀时，返回的权限补上前缀，与 Spring Security 的角色约定一致。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.role-hierarchy", name = "enabled", havingValue = "true")
+public class DatabaseRoleHierarchy implements RoleHierarchy, SmartInitializingSingleton {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RoleRepository roleRepository;
+
+    private volatile Reachability reachability = Reachability.EMPTY;
+
+    public DatabaseRoleHierarchy(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * 从闭包表重新加载可达关系
+     */
+    public void reload() {
+        this.reachability = Reachability.of(roleRepository.findReachableRoleNames());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(
+            Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return AuthorityUtils.NO_AUTHORITIES;
+        }
+        Reachability current = reachability;
+        BitSet reachable = null;
+        Set<String> granted = new HashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            granted.add(authority.getAuthority());
+            BitSet roleReachable = current.reachableFrom(authority.getAuthority());
+            if (roleReachable != null) {
+                if (reachable == null) {
+                    reachable = (BitSet) roleReachable.clone();
+                } else {
+                    reachable.or(roleReachable);
+                }
+            }
+        }
+        if (reachable == null) {
+            return authorities;
+        }
+        List<GrantedAuthority> result = new ArrayList<>(authorities);
+        for (int i = reachable.nextSetBit(0); i >= 0; i = reachable.nextSetBit(i + 1)) {
+            GrantedAuthority authority = current.authorities[i];
+            if (!granted.contains(authority.getAuthority())) {
+                result.add(authority);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 某一时刻的可达关系：角色序号、每个序号对应的权限对象与可达角色位图 (不可变)
+     */
+    private static final class Reachability {
+
+        static final Reachability EMPTY = new Reachability(new HashMap<>(), new GrantedAuthority[0], new BitSet[0]);
+
+        private final Map<String, Integer> indexes;
+        private final GrantedAuthority[] authorities;
+        private final BitSet[] reachable;
+
+        private Reachability(Map<String, Integer> indexes, GrantedAuthority[] authorities, BitSet[] reachable) {
+            this.indexes = indexes;
+            this.authorities = authorities;
+            this.reachable = reachable;
+        }
+
+        static Reachability of(Map<String, Set<String>> descendantsByAncestor) {
+            Map<String, Integer> indexes = new HashMap<>();
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            descendantsByAncestor.forEach((ancestor, descendants) -> {
+                register(ancestor, indexes, authorities);
+                descendants.forEach(descendant -> register(descendant, indexes, authorities));
+            });
+            BitSet[] reachable = new BitSet[authorities.size()];
+            descendantsByAncestor.forEach((ancestor, descendants) -> {
+                BitSet bits = new BitSet(authorities.size());
+                descendants.forEach(descendant -> bits.set(indexes.get(descendant)));
+                reachable[indexes.get(ancestor)] = bits;
+            });
+            return new Reachability(indexes, authorities.toArray(new GrantedAuthority[0]), reachable);
+        }
+
+        /**
+         * 为角色分配序号，角色名称与带前缀的权限名称映射到同一序号
+         */
+        private static void register(String role, Map<String, Integer> indexes, List<GrantedAuthority> authorities) {
+            if (indexes.containsKey(role)) {
+                return;
+            }
+            String authority = role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role;
+            int index = authorities.size();
+            authorities.add(new SimpleGrantedAuthority(authority));
+            indexes.put(role, index);
+            indexes.putIfAbsent(authority, index);
+        }
+
+        BitSet reachableFrom(String authority) {
+            Integer index = authority != null ? indexes.get(authority) : null;
+            return index != null ? reachable[index] : null;
+        }
+    }
+}
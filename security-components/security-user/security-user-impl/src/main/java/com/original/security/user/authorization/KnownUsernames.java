@@ -0,0 +1,114 @@
+package com.original.security.user.authorization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 已存在用户名集合 (基于布隆过滤器)
+ * <p>
+ * 启动时由 {@link UsernameFilterInitializer} 从数据库构建，之后新建用户通过 {@link #add} 加入。
+ * 构建完成前 {@link #mightExist} 总是返回 true，不影响正常加载；
+ * 构建期间的新增用户名先暂存，构建完成后合并，避免漏判。
+ * 构建失败或暂存超出上限时放弃过滤，退化为总是加载。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class KnownUsernames {
+
+    /**
+     * 误判率
+     */
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * 构建完成前暂存的用户名上限
+     */
+    private static final int MAX_PENDING = 100_000;
+
+    /**
+     * 最小容量，为启动后新增的用户预留空间
+     */
+    private static final long MIN_CAPACITY = 10_000;
+
+    private volatile UsernameBloomFilter filter;
+
+    /**
+     * 构建完成前新增的用户名，构建完成或放弃后为 null
+     */
+    private List<String> pending = new ArrayList<>();
+
+    /**
+     * 判断用户名是否可能存在
+     *
+     * @param username 用户名
+     * @return false 表示一定不存在
+     */
+    public boolean mightExist(String username) {
+        UsernameBloomFilter current = filter;
+        return current == null || current.mightContain(username);
+    }
+
+    /**
+     * 记录一个存在的用户名
+     *
+     * @param username 用户名
+     */
+    public void add(String username) {
+        UsernameBloomFilter current = filter;
+        if (current == null) {
+            synchronized (this) {
+                current = filter;
+                if (current == null) {
+                    if (pending != null) {
+                        pending.add(username);
+                        if (pending.size() > MAX_PENDING) {
+                            pending = null;
+                        }
+                    }
+                    return;
+                }
+            }
+        }
+        current.add(username);
+    }
+
+    /**
+     * 以数据库中的全部用户名构建过滤器
+     * <p>
+     * 容量按当前用户数的两倍预留，为启动后新增的用户留出空间。
+     *
+     * @param userCount 当前用户数，用于确定容量
+     * @param usernames 全部用户名
+     * @return 是否已启用过滤
+     */
+    public boolean build(long userCount, Stream<String> usernames) {
+        UsernameBloomFilter built = new UsernameBloomFilter(
+                Math.max(MIN_CAPACITY, userCount * 2), FALSE_POSITIVE_RATE);
+        usernames.forEach(built::add);
+        synchronized (this) {
+            if (pending == null) {
+                return false;
+            }
+            pending.forEach(built::add);
+            pending = null;
+            filter = built;
+            return true;
+        }
+    }
+
+    /**
+     * 放弃过滤，之后 {@link #mightExist} 总是返回 true
+     */
+    public synchronized void abandon() {
+        pending = null;
+    }
+
+    /**
+     * 过滤器是否已构建
+     */
+    public boolean isBuilt() {
+        return filter != null;
+    }
+}
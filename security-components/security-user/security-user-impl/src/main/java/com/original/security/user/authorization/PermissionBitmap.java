@@ -0,0 +1,189 @@
+package com.original.security.user.authorization;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 不可变的权限位图
+ * <p>
+ * 第 N 位表示 {@link PermissionCatalog} 中 ID 为 N 的权限。60 个权限、数百个权限总量的用户只占用
+ * 若干个 long，远小于等价的 {@code HashSet<String>}；判断权限只需一次位运算。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class PermissionBitmap {
+
+    /**
+     * 不含任何权限的位图
+     */
+    public static final PermissionBitmap EMPTY = new PermissionBitmap(new long[0]);
+
+    private final long[] words;
+
+    private PermissionBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 判断是否包含指定权限 ID
+     *
+     * @param id 权限 ID，负数 (未登记权限) 始终返回 false
+     * @return true 如果包含
+     */
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * 返回额外包含指定权限 ID 的新位图，已包含时返回自身
+     *
+     * @param id 权限 ID
+     * @return 新位图
+     */
+    public PermissionBitmap with(int id) {
+        if (id < 0 || contains(id)) {
+            return this;
+        }
+        long[] copy = Arrays.copyOf(words, Math.max(words.length, (id >>> 6) + 1));
+        copy[id >>> 6] |= 1L << id;
+        return new PermissionBitmap(copy);
+    }
+
+    /**
+     * 返回移除指定权限 ID 的新位图，未包含时返回自身
+     *
+     * @param id 权限 ID
+     * @return 新位图
+     */
+    public PermissionBitmap without(int id) {
+        if (!contains(id)) {
+            return this;
+        }
+        long[] copy = words.clone();
+        copy[id >>> 6] &= ~(1L << id);
+        int length = copy.length;
+        while (length > 0 && copy[length - 1] == 0) {
+            length--;
+        }
+        return length == 0 ? EMPTY : new PermissionBitmap(Arrays.copyOf(copy, length));
+    }
+
+    /**
+     * 返回与另一位图的并集，任一方包含另一方时直接返回该方
+     *
+     * @param other 另一位图
+     * @return 并集位图
+     */
+    public PermissionBitmap or(PermissionBitmap other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] union = null;
+        for (int i = 0; i < shorter.length; i++) {
+            if ((longer[i] | shorter[i]) != longer[i]) {
+                if (union == null) {
+                    union = longer.clone();
+                }
+                union[i] |= shorter[i];
+            }
+        }
+        if (union != null) {
+            return new PermissionBitmap(union);
+        }
+        return longer == words ? this : other;
+    }
+
+    /**
+     * 是否为空
+     */
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * 包含的权限数量
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * 转换为权限名称集合 (仅用于展示与调试，不在鉴权热路径上使用)
+     *
+     * @param catalog 权限目录
+     * @return 不可变的权限名称集合
+     */
+    public Set<String> toNames(PermissionCatalog catalog) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                names.add(catalog.nameOf((i << 6) + bit));
+                word &= word - 1;
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PermissionBitmap)) {
+            return false;
+        }
+        return Arrays.equals(words, ((PermissionBitmap) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionBitmap{cardinality=" + cardinality() + "}";
+    }
+
+    /**
+     * 位图构建器 (非线程安全)
+     */
+    public static final class Builder {
+
+        private long[] words = new long[0];
+
+        /**
+         * 置位指定权限 ID
+         *
+         * @param id 权限 ID
+         * @return 当前构建器
+         */
+        public Builder add(int id) {
+            int word = id >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << id;
+            return this;
+        }
+
+        /**
+         * 构建不可变位图
+         */
+        public PermissionBitmap build() {
+            return words.length == 0 ? EMPTY : new PermissionBitmap(words.clone());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.original.security.user.authorization;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 权限目录
+ * <p>
+ * 将权限名称驻留为从 0 开始的稠密 int ID，供 {@link PermissionBitmap} 按位存储。
+ * ID 只增不减，在进程生命周期内保持稳定；权限总数通常只有数百个，目录本身的内存可忽略。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class PermissionCatalog {
+
+    /**
+     * 未登记权限的 ID
+     */
+    public static final int UNKNOWN = -1;
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private volatile String[] names = new String[0];
+
+    /**
+     * 获取权限 ID，未登记时分配新 ID
+     *
+     * @param permission 权限名称
+     * @return 权限 ID
+     */
+    public int intern(String permission) {
+        Integer id = ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(permission);
+            if (id == null) {
+                String[] current = names;
+                String[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = permission;
+                names = next;
+                id = current.length;
+                ids.put(permission, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * 查询权限 ID，不分配新 ID
+     *
+     * @param permission 权限名称
+     * @return 权限 ID，未登记时返回 {@link #UNKNOWN}
+     */
+    public int idOf(String permission) {
+        Integer id = ids.get(permission);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * 根据 ID 获取权限名称
+     *
+     * @param id 权限 ID
+     * @return 权限名称
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * 已登记的权限数量
+     */
+    public int size() {
+        return names.length;
+    }
+}
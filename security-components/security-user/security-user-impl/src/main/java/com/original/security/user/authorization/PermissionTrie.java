@@ -0,0 +1,192 @@
+package com.original.security.user.authorization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通配符权限分段前缀树
+ * <p>
+ * 权限名称以 {@code :} 分段。授权中的 {@code *} 有两种含义：
+ * <ul>
+ *     <li>位于末尾时匹配一个或多个剩余分段，例如 {@code user:*} 匹配 {@code user:read} 与 {@code user:read:own}，
+ *     单独的 {@code *} 匹配任意权限</li>
+ *     <li>位于中间时恰好匹配一个分段，例如 {@code report:*:read} 匹配 {@code report:sales:read}</li>
+ * </ul>
+ * 不含 {@code *} 的授权仍按完整字符串精确匹配 (由 {@link PermissionBitmap} 判断)，不进入前缀树。
+ *
+ * <p>每次加载快照时编译一次，实例不可变；匹配按分段逐层下降，代价为 O(分段数)，不产生临时对象。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class PermissionTrie {
+
+    /**
+     * 分段分隔符
+     */
+    public static final char SEPARATOR = ':';
+
+    /**
+     * 通配符
+     */
+    public static final String WILDCARD = "*";
+
+    /**
+     * 不含任何通配符授权的空前缀树
+     */
+    public static final PermissionTrie EMPTY = new PermissionTrie(null);
+
+    private final Node root;
+
+    private PermissionTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 判断权限名称是否包含通配符分段
+     *
+     * @param permission 权限名称
+     * @return 是否为通配符授权
+     */
+    public static boolean isWildcard(String permission) {
+        return permission.indexOf('*') >= 0;
+    }
+
+    /**
+     * 编译通配符授权，忽略不含通配符的名称
+     *
+     * @param grants 授权名称集合
+     * @return 前缀树，没有通配符授权时返回 {@link #EMPTY}
+     */
+    public static PermissionTrie compile(Collection<String> grants) {
+        MutableNode root = null;
+        for (String grant : grants) {
+            if (grant == null || !isWildcard(grant)) {
+                continue;
+            }
+            if (root == null) {
+                root = new MutableNode();
+            }
+            root.insert(grant.split(String.valueOf(SEPARATOR), -1), 0);
+        }
+        return root != null ? new PermissionTrie(root.freeze()) : EMPTY;
+    }
+
+    /**
+     * 是否没有任何通配符授权
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * 判断权限是否被某个通配符授权覆盖
+     *
+     * @param permission 待检查的权限名称
+     * @return 是否匹配
+     */
+    public boolean matches(String permission) {
+        if (root == null || permission == null || permission.isEmpty()) {
+            return false;
+        }
+        return root.matches(permission, 0);
+    }
+
+    /**
+     * 编译后的节点：子分段按数组存放，通配符授权通常很少，线性扫描比哈希更快且无需截取子串
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final String[] segments;
+        private final Node[] children;
+
+        /**
+         * 有授权在此节点结束
+         */
+        private final boolean terminal;
+
+        /**
+         * 有授权以 {@code *} 在此节点之后结束，匹配任意剩余分段
+         */
+        private final boolean anyRemainder;
+
+        private Node(String[] segments, Node[] children, boolean terminal, boolean anyRemainder) {
+            this.segments = segments;
+            this.children = children;
+            this.terminal = terminal;
+            this.anyRemainder = anyRemainder;
+        }
+
+        /**
+         * @param permission 权限名称
+         * @param start      当前分段起始位置，调用时至少还剩一个分段
+         */
+        boolean matches(String permission, int start) {
+            if (anyRemainder) {
+                return true;
+            }
+            int end = permission.indexOf(SEPARATOR, start);
+            boolean last = end < 0;
+            if (last) {
+                end = permission.length();
+            }
+            int length = end - start;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                boolean segmentMatches = WILDCARD.equals(segment)
+                        || (segment.length() == length && permission.regionMatches(start, segment, 0, length));
+                if (!segmentMatches) {
+                    continue;
+                }
+                Node child = children[i];
+                if (last ? child.terminal : child.matches(permission, end + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 编译期使用的可变节点
+     */
+    private static final class MutableNode {
+
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+        private boolean terminal;
+        private boolean anyRemainder;
+
+        void insert(String[] segments, int index) {
+            String segment = segments[index];
+            boolean last = index == segments.length - 1;
+            if (last && WILDCARD.equals(segment)) {
+                anyRemainder = true;
+                return;
+            }
+            MutableNode child = children.computeIfAbsent(segment, key -> new MutableNode());
+            if (last) {
+                child.terminal = true;
+            } else {
+                child.insert(segments, index + 1);
+            }
+        }
+
+        Node freeze() {
+            if (anyRemainder) {
+                // 已匹配任意剩余分段，子节点不再需要
+                return new Node(new String[0], Node.NO_CHILDREN, terminal, true);
+            }
+            List<String> segments = new ArrayList<>(children.keySet());
+            Node[] frozen = new Node[segments.size()];
+            for (int i = 0; i < frozen.length; i++) {
+                frozen[i] = children.get(segments.get(i)).freeze();
+            }
+            return new Node(segments.toArray(new String[0]), frozen, terminal, false);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.original.security.user.authorization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一组角色合并后的授权数据
+ * <p>
+ * 由 {@link RolePermissionSets} 按角色组合驻留，拥有相同角色组合的用户快照共享同一实例的
+ * 角色集合、展开后的角色集合、权限位图与通配符前缀树。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+final class RoleCombination {
+
+    private final Set<String> roles;
+    private final Set<String> expandedRoles;
+    private final PermissionBitmap permissions;
+    private final PermissionTrie wildcardPermissions;
+
+    /**
+     * 构建时使用的各角色权限集合与继承闭包，用于判断驻留的实例是否仍可复用
+     */
+    private final Map<String, RolePermissions> parts;
+    private final RoleHierarchyClosure closure;
+
+    private RoleCombination(Set<String> roles, Set<String> expandedRoles, PermissionBitmap permissions,
+                            PermissionTrie wildcardPermissions, Map<String, RolePermissions> parts,
+                            RoleHierarchyClosure closure) {
+        this.roles = roles;
+        this.expandedRoles = expandedRoles;
+        this.permissions = permissions;
+        this.wildcardPermissions = wildcardPermissions;
+        this.parts = parts;
+        this.closure = closure;
+    }
+
+    /**
+     * 合并各角色的权限集合
+     *
+     * @param parts   角色名称到权限集合的映射，调用方之后不得再修改
+     * @param closure 角色继承闭包
+     * @return 合并结果
+     */
+    static RoleCombination of(Map<String, RolePermissions> parts, RoleHierarchyClosure closure) {
+        Set<String> roles = Collections.unmodifiableSet(new HashSet<>(parts.keySet()));
+        PermissionBitmap permissions = PermissionBitmap.EMPTY;
+        List<String> wildcards = null;
+        for (RolePermissions role : parts.values()) {
+            permissions = permissions.or(role.getPermissions());
+            if (!role.getWildcards().isEmpty()) {
+                if (wildcards == null) {
+                    wildcards = new ArrayList<>();
+                }
+                wildcards.addAll(role.getWildcards());
+            }
+        }
+        return new RoleCombination(roles, closure.expand(roles), permissions,
+                wildcards != null ? PermissionTrie.compile(wildcards) : PermissionTrie.EMPTY, parts, closure);
+    }
+
+    Set<String> getRoles() {
+        return roles;
+    }
+
+    Set<String> getExpandedRoles() {
+        return expandedRoles;
+    }
+
+    PermissionBitmap getPermissions() {
+        return permissions;
+    }
+
+    PermissionTrie getWildcardPermissions() {
+        return wildcardPermissions;
+    }
+
+    /**
+     * 是否由完全相同的角色权限实例与继承闭包构建 (按引用比较)
+     */
+    boolean isBuiltFrom(Map<String, RolePermissions> candidateParts, RoleHierarchyClosure candidateClosure) {
+        if (closure != candidateClosure || parts.size() != candidateParts.size()) {
+            return false;
+        }
+        for (Map.Entry<String, RolePermissions> part : candidateParts.entrySet()) {
+            if (parts.get(part.getKey()) != part.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.original.security.user.authorization;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 角色继承闭包
+ * <p>
+ * 对每个角色只调用一次 {@link RoleHierarchy#getReachableGrantedAuthorities}，并缓存其可达角色集合；
+ * 继承关系变化时应创建新实例替换旧实例。{@link #expand(Set)} 返回的集合可直接用于单次
+ * {@code contains} 判断，与逐次计算继承关系的语义一致：
+ * <ul>
+ *     <li>用户直接拥有的角色名称原样保留；</li>
+ *     <li>配置了继承关系时，加入所有以 {@code ROLE_} 开头的可达角色，以及去掉前缀后的形式。</li>
+ * </ul>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class RoleHierarchyClosure {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * 未配置继承关系时使用的闭包
+     */
+    public static final RoleHierarchyClosure NONE = new RoleHierarchyClosure(null);
+
+    private final RoleHierarchy roleHierarchy;
+
+    private final ConcurrentMap<String, Set<String>> reachable = new ConcurrentHashMap<>();
+
+    public RoleHierarchyClosure(@Nullable RoleHierarchy roleHierarchy) {
+        this.roleHierarchy = roleHierarchy;
+    }
+
+    /**
+     * 将用户直接拥有的角色展开为包含继承角色的不可变集合
+     *
+     * @param roles 用户直接拥有的角色名称
+     * @return 展开后的角色集合
+     */
+    public Set<String> expand(Set<String> roles) {
+        if (roleHierarchy == null || roles.isEmpty()) {
+            return roles;
+        }
+        Set<String> expanded = new HashSet<>(roles);
+        for (String role : roles) {
+            expanded.addAll(reachable.computeIfAbsent(role, this::computeReachable));
+        }
+        return Collections.unmodifiableSet(expanded);
+    }
+
+    private Set<String> computeReachable(String role) {
+        String authority = role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role;
+        Collection<? extends GrantedAuthority> authorities = roleHierarchy.getReachableGrantedAuthorities(
+                Collections.singletonList(new SimpleGrantedAuthority(authority)));
+        Set<String> result = new HashSet<>();
+        for (GrantedAuthority reachableAuthority : authorities) {
+            String name = reachableAuthority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                result.add(name);
+                String stripped = name.substring(ROLE_PREFIX.length());
+                if (!stripped.startsWith(ROLE_PREFIX)) {
+                    result.add(stripped);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,130 @@
+package com.original.security.user.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 角色级权限集合与按角色组合驻留的并集
+ * <p>
+ * 每个角色只保留一份 {@link RolePermissions} 及读取它时分配的版本号；内容未变的重复读取沿用已有实例。
+ * 用户快照的权限是其角色权限的并集，相同角色组合只计算一次，由 {@link RoleCombination} 驻留共享，
+ * 内存随角色数与不同角色组合数增长，而不是随用户数增长。驻留表对组合弱引用，
+ * 不再被任何快照引用的组合随 GC 回收。
+ *
+ * <p>角色权限变更后，角色条目只需由任意一次用户加载重新读取，其余持有该角色的快照即可在内存中
+ * 重新组合，不必逐个查询数据库。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+final class RolePermissionSets {
+
+    private final ConcurrentMap<String, Entry> roles = new ConcurrentHashMap<>();
+
+    private final Cache<Set<String>, RoleCombination> combinations = Caffeine.newBuilder().weakValues().build();
+
+    /**
+     * 登记一次加载中读到的角色权限
+     * <p>
+     * 只保留版本最新的条目；内容与已登记实例相同时返回已登记的实例，使驻留的组合可以复用。
+     *
+     * @param role        角色名称
+     * @param permissions 本次读到的权限集合
+     * @param version     读取前分配的版本号
+     * @return 本次加载应使用的权限集合实例
+     */
+    RolePermissions offer(String role, RolePermissions permissions, long version) {
+        Entry entry = roles.compute(role, (name, current) -> {
+            if (current == null) {
+                return new Entry(permissions, version);
+            }
+            if (current.version >= version) {
+                return current;
+            }
+            return new Entry(current.permissions.equals(permissions) ? current.permissions : permissions, version);
+        });
+        return entry.permissions.equals(permissions) ? entry.permissions : permissions;
+    }
+
+    /**
+     * 获取版本号晚于指定版本的角色权限
+     *
+     * @param role       角色名称
+     * @param freshAfter 条目版本须大于此值
+     * @return 角色权限，未登记或已过期时返回 null
+     */
+    @Nullable
+    RolePermissions current(String role, long freshAfter) {
+        Entry entry = roles.get(role);
+        return entry != null && entry.version > freshAfter ? entry.permissions : null;
+    }
+
+    /**
+     * 按差异就地更新角色条目
+     * <p>
+     * 只有版本晚于 {@code freshAfter} 的条目才能作为打补丁的基础；条目不存在或已过期时将其移除，
+     * 由下一次用户加载重新读取。
+     *
+     * @param role       角色名称
+     * @param patch      由当前权限集合计算新集合的函数
+     * @param freshAfter 条目版本须大于此值
+     * @param version    新条目的版本号
+     * @return true 如果条目已更新
+     */
+    boolean patch(String role, UnaryOperator<RolePermissions> patch, long freshAfter, long version) {
+        Entry entry = roles.computeIfPresent(role, (name, current) -> current.version > freshAfter
+                ? new Entry(patch.apply(current.permissions), Math.max(current.version, version))
+                : null);
+        return entry != null;
+    }
+
+    /**
+     * 获取角色组合的并集，已驻留且由相同实例构建时直接复用
+     *
+     * @param parts   角色名称到权限集合的映射
+     * @param closure 角色继承闭包
+     * @return 角色组合
+     */
+    RoleCombination combine(Map<String, RolePermissions> parts, RoleHierarchyClosure closure) {
+        RoleCombination combination = combinations.getIfPresent(parts.keySet());
+        if (combination != null && combination.isBuiltFrom(parts, closure)) {
+            return combination;
+        }
+        combination = RoleCombination.of(parts, closure);
+        combinations.put(combination.getRoles(), combination);
+        return combination;
+    }
+
+    /**
+     * 已登记的角色数量
+     */
+    int roleCount() {
+        return roles.size();
+    }
+
+    /**
+     * 清除所有角色条目与驻留的组合
+     */
+    void clear() {
+        roles.clear();
+        combinations.invalidateAll();
+    }
+
+    private static final class Entry {
+
+        private final RolePermissions permissions;
+        private final long version;
+
+        private Entry(RolePermissions permissions, long version) {
+            this.permissions = permissions;
+            this.version = version;
+        }
+    }
+}
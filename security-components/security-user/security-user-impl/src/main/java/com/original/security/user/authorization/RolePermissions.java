@@ -0,0 +1,143 @@
+package com.original.security.user.authorization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个角色的权限集合
+ * <p>
+ * 精确授权以 {@link PermissionBitmap} 保存，通配符授权保留原始名称，合并到用户的角色组合后再统一编译。
+ * 实例不可变，内容相同的两个实例 {@link #equals} 相等，{@link RolePermissionSets} 据此复用已缓存的实例。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class RolePermissions {
+
+    /**
+     * 未分配任何权限的角色
+     */
+    public static final RolePermissions EMPTY = new RolePermissions(PermissionBitmap.EMPTY, Collections.emptyList());
+
+    private final PermissionBitmap permissions;
+    private final List<String> wildcards;
+
+    private RolePermissions(PermissionBitmap permissions, List<String> wildcards) {
+        this.permissions = permissions;
+        this.wildcards = wildcards;
+    }
+
+    /**
+     * 权限位图，ID 由 {@link PermissionCatalog} 分配
+     */
+    public PermissionBitmap getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * 通配符授权名称 (不可变)
+     */
+    public List<String> getWildcards() {
+        return wildcards;
+    }
+
+    /**
+     * 按差异返回新的权限集合，内容未变时返回自身
+     * <p>
+     * 新增与移除都是幂等的集合运算，应用到变更前或变更后的集合得到相同结果。
+     *
+     * @param catalog 权限目录
+     * @param added   新增的权限名称
+     * @param removed 移除的权限名称
+     * @return 新的权限集合
+     */
+    RolePermissions patch(PermissionCatalog catalog, Collection<String> added, Collection<String> removed) {
+        PermissionBitmap bitmap = permissions;
+        List<String> patchedWildcards = new ArrayList<>(wildcards);
+        for (String permission : removed) {
+            bitmap = bitmap.without(catalog.idOf(permission));
+            patchedWildcards.remove(permission);
+        }
+        for (String permission : added) {
+            bitmap = bitmap.with(catalog.intern(permission));
+            if (PermissionTrie.isWildcard(permission) && !patchedWildcards.contains(permission)) {
+                patchedWildcards.add(permission);
+            }
+        }
+        if (bitmap.isEmpty()) {
+            return EMPTY;
+        }
+        if (bitmap.equals(permissions) && patchedWildcards.size() == wildcards.size()
+                && patchedWildcards.containsAll(wildcards)) {
+            return this;
+        }
+        if (patchedWildcards.isEmpty()) {
+            return new RolePermissions(bitmap, Collections.emptyList());
+        }
+        Collections.sort(patchedWildcards);
+        return new RolePermissions(bitmap, Collections.unmodifiableList(patchedWildcards));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RolePermissions)) {
+            return false;
+        }
+        RolePermissions other = (RolePermissions) o;
+        return permissions.equals(other.permissions) && wildcards.equals(other.wildcards);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * permissions.hashCode() + wildcards.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RolePermissions{cardinality=" + permissions.cardinality() + ", wildcards=" + wildcards + "}";
+    }
+
+    /**
+     * 逐个累积权限的构建器 (非线程安全)
+     */
+    static final class Builder {
+
+        private final PermissionCatalog catalog;
+        private final PermissionBitmap.Builder permissions = new PermissionBitmap.Builder();
+        private List<String> wildcards;
+
+        Builder(PermissionCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        Builder add(String permission) {
+            permissions.add(catalog.intern(permission));
+            if (PermissionTrie.isWildcard(permission)) {
+                if (wildcards == null) {
+                    wildcards = new ArrayList<>();
+                }
+                if (!wildcards.contains(permission)) {
+                    wildcards.add(permission);
+                }
+            }
+            return this;
+        }
+
+        RolePermissions build() {
+            PermissionBitmap bitmap = permissions.build();
+            if (bitmap.isEmpty()) {
+                return EMPTY;
+            }
+            if (wildcards == null) {
+                return new RolePermissions(bitmap, Collections.emptyList());
+            }
+            Collections.sort(wildcards);
+            return new RolePermissions(bitmap, Collections.unmodifiableList(new ArrayList<>(wildcards)));
+        }
+    }
+}
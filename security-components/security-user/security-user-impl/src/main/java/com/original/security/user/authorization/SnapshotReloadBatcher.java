@@ -0,0 +1,79 @@
+package com.original.security.user.authorization;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 授权快照后台刷新批处理器
+ * <p>
+ * 缓存到达刷新时间的键先进入待刷新队列，由执行器上的一个刷新任务一次性取走并批量加载；
+ * 刷新任务排队期间到期的键会合并进同一批次，大量键同时到期时只产生少量批量查询。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+final class SnapshotReloadBatcher {
+
+    private final ConcurrentMap<String, CompletableFuture<AuthorizationSnapshot>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Executor executor;
+
+    private final Function<Collection<String>, Map<String, AuthorizationSnapshot>> bulkLoader;
+
+    SnapshotReloadBatcher(Executor executor,
+                          Function<Collection<String>, Map<String, AuthorizationSnapshot>> bulkLoader) {
+        this.executor = executor;
+        this.bulkLoader = bulkLoader;
+    }
+
+    /**
+     * 登记待刷新的键
+     *
+     * @param username 用户名
+     * @return 刷新完成时得到新快照的 Future
+     */
+    CompletableFuture<AuthorizationSnapshot> enqueue(String username) {
+        CompletableFuture<AuthorizationSnapshot> future = pending.computeIfAbsent(username, k -> new CompletableFuture<>());
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // 执行器已满：放弃本次刷新，缓存继续提供旧值，下次访问时重新触发
+                flushScheduled.set(false);
+                pending.remove(username, future);
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        Map<String, CompletableFuture<AuthorizationSnapshot>> batch = new HashMap<>();
+        for (String username : pending.keySet()) {
+            CompletableFuture<AuthorizationSnapshot> future = pending.remove(username);
+            if (future != null) {
+                batch.put(username, future);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, AuthorizationSnapshot> loaded = bulkLoader.apply(batch.keySet());
+            batch.forEach((username, future) -> future.complete(loaded.get(username)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.original.security.user.authorization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 用户名布隆过滤器 (无锁)
+ * <p>
+ * {@link #mightContain} 返回 false 时用户名一定不存在；返回 true 时可能存在，误判率按构造参数控制。
+ * 只支持添加，不支持删除，删除用户后仍会判定为可能存在。
+ * 使用两个 64 位哈希的线性组合模拟 k 个哈希函数 (Kirsch-Mitzenmacher)。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+final class UsernameBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预期插入数量
+     * @param falsePositiveRate  预期插入数量下的误判率，取值 (0, 1)
+     */
+    UsernameBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void add(String username) {
+        long hash1 = hash(username);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String username) {
+        long hash1 = hash(username);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 占用的位数
+     */
+    long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * FNV-1a 64 位哈希 (UTF-8 字节)，再经 murmur3 终结函数打散
+     */
+    private static long hash(String username) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
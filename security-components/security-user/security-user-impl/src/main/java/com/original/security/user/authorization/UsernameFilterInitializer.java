@@ -0,0 +1,60 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * 启动时构建已存在用户名过滤器
+ *
+ * <p>作为优先级最高的 {@link ApplicationRunner} 流式读取全部用户名构建 {@link KnownUsernames}，
+ * 先于 {@link AuthorizationCacheWarmer} 执行。构建失败时放弃过滤，不影响应用启动。
+ *
+ * <p>过滤器只在启动时构建，之后由用户创建监听器在本节点登记新用户名，其他节点创建的用户经由
+ * 失效传输送达的用户级失效消息登记。未配置失效传输的多节点部署中，其他节点创建的用户在首次访问时
+ * 由 {@link AuthorizationSnapshotCache} 的存在性检查识别，不会被误判为不存在。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UsernameFilterInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameFilterInitializer.class);
+
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final UserRepository userRepository;
+
+    public UsernameFilterInitializer(AuthorizationSnapshotCache snapshotCache, UserRepository userRepository) {
+        this.snapshotCache = snapshotCache;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        KnownUsernames knownUsernames = snapshotCache.getKnownUsernames();
+        long start = System.nanoTime();
+        try {
+            long userCount = userRepository.count();
+            boolean built;
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                built = knownUsernames.build(userCount, usernames);
+            }
+            log.info("用户名过滤器构建{}: users={}, elapsedMs={}", built ? "完成" : "已放弃", userCount,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            knownUsernames.abandon();
+            log.warn("用户名过滤器构建失败，不过滤未知用户名", e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.original.security.user.authorization.invalidation;
+
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.DatabaseRoleHierarchy;
+import com.original.security.user.config.UserProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 授权缓存失效广播器
+ * <p>
+ * 所有授权缓存失效都应经由此类：先立即清理本节点的 {@link AuthorizationSnapshotCache}，
+ * 再把失效键放入待发送批次，在 {@code security.user.invalidation.coalesce-millis} 窗口内合并
+ * (同一用户、同一角色只发送一次，出现"全部失效"时丢弃其余键) 后通过 {@link InvalidationTransport} 发给其他节点。
+ * 未配置传输时只做本地失效，行为与单节点部署一致。
+ *
+ * <p>收到其他节点的批次时：按用户名逐个失效；按角色失效时只递增本地角色代数，不访问数据库也不遍历缓存；
+ * 全量失效时若启用了 {@link DatabaseRoleHierarchy}，先重新加载角色继承闭包。
+ * 应用完成后回调所有 {@link RemoteInvalidationListener}。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class AuthorizationInvalidationBroadcaster implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationInvalidationBroadcaster.class);
+
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final InvalidationTransport transport;
+    private final String nodeId;
+    private final long coalesceMillis;
+    private final DatabaseRoleHierarchy roleHierarchy;
+    private final List<RemoteInvalidationListener> remoteListeners;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Set<String> pendingUsers = new HashSet<>();
+    private Set<String> pendingRoles = new HashSet<>();
+    private boolean pendingAll;
+    private boolean flushScheduled;
+
+    @Autowired
+    public AuthorizationInvalidationBroadcaster(AuthorizationSnapshotCache snapshotCache,
+                                                UserProperties userProperties,
+                                                ObjectProvider<InvalidationTransport> transportProvider,
+                                                ObjectProvider<DatabaseRoleHierarchy> roleHierarchyProvider,
+                                                ObjectProvider<RemoteInvalidationListener> remoteListenerProvider) {
+        this(snapshotCache, transportProvider.getIfAvailable(),
+                userProperties.getInvalidation().getNodeId(),
+                userProperties.getInvalidation().getCoalesceMillis(),
+                roleHierarchyProvider.getIfAvailable(),
+                remoteListenerProvider.orderedStream().collect(Collectors.toList()));
+    }
+
+    public AuthorizationInvalidationBroadcaster(AuthorizationSnapshotCache snapshotCache,
+                                                @Nullable InvalidationTransport transport,
+                                                String nodeId,
+                                                long coalesceMillis) {
+        this(snapshotCache, transport, nodeId, coalesceMillis, null, Collections.emptyList());
+    }
+
+    public AuthorizationInvalidationBroadcaster(AuthorizationSnapshotCache snapshotCache,
+                                                @Nullable InvalidationTransport transport,
+                                                String nodeId,
+                                                long coalesceMillis,
+                                                @Nullable DatabaseRoleHierarchy roleHierarchy,
+                                                List<RemoteInvalidationListener> remoteListeners) {
+        this.snapshotCache = snapshotCache;
+        this.roleHierarchy = roleHierarchy;
+        this.remoteListeners = remoteListeners;
+        this.transport = transport;
+        this.nodeId = nodeId;
+        this.coalesceMillis = coalesceMillis;
+        if (transport != null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "authz-invalidation-broadcaster");
+                thread.setDaemon(true);
+                return thread;
+            });
+            transport.subscribe(this::onBatch);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 失效单个用户
+     *
+     * @param username 用户名
+     */
+    public void evictUser(String username) {
+        snapshotCache.evict(username);
+        enqueue(username, null, false);
+    }
+
+    /**
+     * 失效拥有指定角色的所有用户
+     * <p>
+     * 本节点与其他节点都只递增该角色的代数，受影响的快照在下次访问时重新加载。
+     *
+     * @param roleName 角色名称
+     */
+    public void evictRole(String roleName) {
+        snapshotCache.invalidateRole(roleName);
+        enqueue(null, roleName, false);
+    }
+
+    /**
+     * 按权限差异更新指定角色
+     * <p>
+     * 本节点直接把差异应用到已缓存的角色权限上，持有该角色的快照在内存中重新组合；
+     * 其他节点收到与 {@link #evictRole(String)} 相同的角色级失效消息。
+     *
+     * @param roleName 角色名称
+     * @param added    新增的权限名称
+     * @param removed  移除的权限名称
+     */
+    public void patchRole(String roleName, Collection<String> added, Collection<String> removed) {
+        snapshotCache.patchRole(roleName, added, removed);
+        enqueue(null, roleName, false);
+    }
+
+    /**
+     * 角色继承关系已变更
+     * <p>
+     * 本节点重新加载数据库中的继承闭包，并像全量失效一样清除快照、使已签发的令牌版本过期；
+     * 由于继承关系影响所有用户，其他节点收到全量失效消息，执行同样的重新加载。未启用数据库角色继承时不做任何处理。
+     */
+    public void evictRoleHierarchy() {
+        if (roleHierarchy == null) {
+            return;
+        }
+        reloadRoleHierarchy();
+        enqueue(null, null, true);
+    }
+
+    /**
+     * 失效所有用户
+     */
+    public void evictAll() {
+        snapshotCache.evictAll();
+        enqueue(null, null, true);
+    }
+
+    /**
+     * 本节点 ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 立即发送待发送批次
+     */
+    public void flush() {
+        InvalidationBatch batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            batch = new InvalidationBatch(nodeId, pendingUsers, pendingRoles, pendingAll);
+            pendingUsers = new HashSet<>();
+            pendingRoles = new HashSet<>();
+            pendingAll = false;
+        }
+        if (transport == null || batch.isEmpty()) {
+            return;
+        }
+        try {
+            transport.publish(batch);
+        } catch (RuntimeException e) {
+            // 广播失败时其他节点依赖 TTL 兜底
+            log.warn("Failed to broadcast authorization invalidation {}", batch, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+    }
+
+    private void enqueue(@Nullable String username, @Nullable String roleName, boolean all) {
+        if (transport == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (all) {
+                pendingAll = true;
+                pendingUsers.clear();
+                pendingRoles.clear();
+            } else if (!pendingAll) {
+                if (username != null) {
+                    pendingUsers.add(username);
+                }
+                if (roleName != null) {
+                    pendingRoles.add(roleName);
+                }
+            }
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        scheduler.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void onBatch(InvalidationBatch batch) {
+        if (nodeId.equals(batch.getOriginNodeId())) {
+            return;
+        }
+        log.debug("Applying remote authorization invalidation {}", batch);
+        if (batch.isAll()) {
+            if (roleHierarchy != null) {
+                reloadRoleHierarchy();
+            } else {
+                snapshotCache.evictAll();
+            }
+        } else {
+            batch.getUsernames().forEach(snapshotCache::evict);
+            batch.getRoleNames().forEach(snapshotCache::invalidateRole);
+        }
+        remoteListeners.forEach(listener -> listener.onRemoteInvalidation(batch));
+    }
+
+    private void reloadRoleHierarchy() {
+        if (roleHierarchy != null) {
+            roleHierarchy.reload();
+            snapshotCache.setRoleHierarchy(roleHierarchy);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.original.security.user.authorization.invalidation;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 授权缓存失效批次
+ * <p>
+ * 合并一段时间内的失效请求：按用户名失效、按角色失效，或全部失效 ({@code all} 为 true 时忽略其余键)。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class InvalidationBatch {
+
+    private final String originNodeId;
+    private final Set<String> usernames;
+    private final Set<String> roleNames;
+    private final boolean all;
+
+    public InvalidationBatch(String originNodeId, Set<String> usernames, Set<String> roleNames, boolean all) {
+        this.originNodeId = originNodeId;
+        this.all = all;
+        this.usernames = all ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(usernames));
+        this.roleNames = all ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(roleNames));
+    }
+
+    /**
+     * 发出该批次的节点 ID
+     */
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    public Set<String> getUsernames() {
+        return usernames;
+    }
+
+    public Set<String> getRoleNames() {
+        return roleNames;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public boolean isEmpty() {
+        return !all && usernames.isEmpty() && roleNames.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidationBatch{origin=" + originNodeId + ", all=" + all
+                + ", users=" + usernames.size() + ", roles=" + roleNames.size() + "}";
+    }
+}
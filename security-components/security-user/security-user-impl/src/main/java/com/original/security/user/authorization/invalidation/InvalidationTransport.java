@@ -0,0 +1,32 @@
+package com.original.security.user.authorization.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * 授权缓存失效消息传输 SPI
+ * <p>
+ * 负责把本节点的 {@link InvalidationBatch} 送达其他节点。实现可以把自身发出的批次回送给订阅者，
+ * {@link AuthorizationInvalidationBroadcaster} 会按节点 ID 过滤。
+ * 注册为 Spring Bean 即可替换默认传输，例如基于消息队列或 Redis Pub/Sub 的实现。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see LoopbackInvalidationTransport
+ * @see JdbcPollingInvalidationTransport
+ */
+public interface InvalidationTransport {
+
+    /**
+     * 发布失效批次
+     *
+     * @param batch 失效批次，不为空
+     */
+    void publish(InvalidationBatch batch);
+
+    /**
+     * 订阅其他节点发布的失效批次
+     *
+     * @param subscriber 订阅者
+     */
+    void subscribe(Consumer<InvalidationBatch> subscriber);
+}
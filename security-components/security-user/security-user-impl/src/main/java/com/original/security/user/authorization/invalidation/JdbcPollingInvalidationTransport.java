@@ -0,0 +1,230 @@
+package com.original.security.user.authorization.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于 JDBC 轮询的失效传输
+ * <p>
+ * 发布时把批次中的每个键写入 {@code authz_invalidation_events} 表 (一次批量插入)；
+ * 各节点按固定间隔读取自上次位置之后的新行，合并为一个批次分发给订阅者，并定期清理超过保留时间的行。
+ * 不依赖额外中间件，适合节点数较少、可以容忍秒级传播延迟的部署。
+ *
+ * <p>自增 ID 在事务提交前分配，较小 ID 的行可能晚于较大 ID 的行提交。轮询时跳过的 ID 记为空洞，
+ * 后续轮询连同新行一起重新读取，直到该行出现或超过 {@code gapTimeoutMillis} (事务回滚等原因造成的永久空洞)。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class JdbcPollingInvalidationTransport implements InvalidationTransport, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPollingInvalidationTransport.class);
+
+    static final String SCOPE_USER = "USER";
+    static final String SCOPE_ROLE = "ROLE";
+    static final String SCOPE_ALL = "ALL";
+
+    /**
+     * 单次轮询读取的最大行数
+     */
+    private static final int POLL_LIMIT = 1000;
+
+    /**
+     * 同时跟踪的空洞数量上限，超出时放弃最早的空洞
+     */
+    private static final int MAX_GAPS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long retentionMinutes;
+    private final long gapTimeoutMillis;
+
+    private final List<Consumer<InvalidationBatch>> subscribers = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService poller;
+
+    /**
+     * 已读取的最大事件 ID，仅由轮询线程访问
+     */
+    private long lastSeenId;
+
+    /**
+     * 小于 {@link #lastSeenId} 但尚未读取到的事件 ID 及其放弃等待的时间，仅由轮询线程访问
+     */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    public JdbcPollingInvalidationTransport(JdbcTemplate jdbcTemplate, long pollIntervalMillis, long retentionMinutes,
+                                            long gapTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMinutes = retentionMinutes;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        // 只关心启动之后产生的事件
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM authz_invalidation_events", Long.class);
+        this.lastSeenId = maxId != null ? maxId : 0L;
+    }
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>();
+        if (batch.isAll()) {
+            rows.add(new Object[]{batch.getOriginNodeId(), SCOPE_ALL, null, now});
+        } else {
+            batch.getUsernames().forEach(u -> rows.add(new Object[]{batch.getOriginNodeId(), SCOPE_USER, u, now}));
+            batch.getRoleNames().forEach(r -> rows.add(new Object[]{batch.getOriginNodeId(), SCOPE_ROLE, r, now}));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO authz_invalidation_events (node_id, scope, cache_key, created_at) "
+                + "VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<InvalidationBatch> subscriber) {
+        subscribers.add(subscriber);
+        if (poller == null && pollIntervalMillis > 0) {
+            poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "authz-invalidation-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+            poller.scheduleWithFixedDelay(this::purgeSafely, 1, Math.max(1, retentionMinutes), TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 读取新事件与此前空洞中迟到提交的事件，并按来源节点分组分发
+     *
+     * @return 读取的事件行数
+     */
+    int poll() {
+        List<Long> pendingGaps = new ArrayList<>(gaps.keySet());
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, node_id, scope, cache_key FROM authz_invalidation_events WHERE id > ?");
+        if (!pendingGaps.isEmpty()) {
+            sql.append(" OR id IN (")
+                    .append(String.join(", ", Collections.nCopies(pendingGaps.size(), "?")))
+                    .append(')');
+        }
+        sql.append(" ORDER BY id");
+        List<Object[]> rows = jdbcTemplate.query(sql.toString(),
+                ps -> {
+                    ps.setLong(1, lastSeenId);
+                    for (int i = 0; i < pendingGaps.size(); i++) {
+                        ps.setLong(i + 2, pendingGaps.get(i));
+                    }
+                    ps.setMaxRows(POLL_LIMIT);
+                },
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)});
+        long now = System.currentTimeMillis();
+        for (Object[] row : rows) {
+            track((Long) row[0], now);
+        }
+        gaps.values().removeIf(deadline -> deadline <= now);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String currentNode = null;
+        Set<String> users = new HashSet<>();
+        Set<String> roles = new HashSet<>();
+        boolean all = false;
+        for (Object[] row : rows) {
+            String nodeId = (String) row[1];
+            if (currentNode != null && !currentNode.equals(nodeId)) {
+                deliver(new InvalidationBatch(currentNode, users, roles, all));
+                users.clear();
+                roles.clear();
+                all = false;
+            }
+            currentNode = nodeId;
+            String scope = (String) row[2];
+            if (SCOPE_ALL.equals(scope)) {
+                all = true;
+            } else if (SCOPE_ROLE.equals(scope)) {
+                roles.add((String) row[3]);
+            } else {
+                users.add((String) row[3]);
+            }
+        }
+        deliver(new InvalidationBatch(currentNode, users, roles, all));
+        return rows.size();
+    }
+
+    /**
+     * 删除超过保留时间的事件
+     *
+     * @return 删除的行数
+     */
+    int purge() {
+        Timestamp threshold = new Timestamp(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retentionMinutes));
+        return jdbcTemplate.update("DELETE FROM authz_invalidation_events WHERE created_at < ?", threshold);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    /**
+     * 记录已读取的事件 ID：填补空洞，或把跳过的 ID 记为新空洞
+     */
+    private void track(long id, long now) {
+        if (id <= lastSeenId) {
+            gaps.remove(id);
+            return;
+        }
+        for (long missing = Math.max(lastSeenId + 1, id - MAX_GAPS); missing < id; missing++) {
+            gaps.put(missing, now + gapTimeoutMillis);
+        }
+        lastSeenId = id;
+        Iterator<Long> oldest = gaps.keySet().iterator();
+        while (gaps.size() > MAX_GAPS) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private void deliver(InvalidationBatch batch) {
+        for (Consumer<InvalidationBatch> subscriber : subscribers) {
+            subscriber.accept(batch);
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // 捕获所有异常，避免调度任务因单次失败而终止
+            log.warn("Failed to poll authorization invalidation events", e);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge authorization invalidation events", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.original.security.user.authorization.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * JVM 内回环传输
+ * <p>
+ * 同步把批次分发给同一实例上的所有订阅者。多个广播器共享一个实例即可在测试中模拟多节点。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<InvalidationBatch>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        for (Consumer<InvalidationBatch> subscriber : subscribers) {
+            subscriber.accept(batch);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,21 @@
+package com.original.security.user.authorization.invalidation;
+
+/**
+ * 其他节点失效批次的回调 SPI
+ * <p>
+ * {@link AuthorizationInvalidationBroadcaster} 应用完其他节点发来的批次后依次回调，
+ * 供授权快照之外、同样基于角色权限数据的本地缓存 (例如 Hibernate 二级缓存) 随之失效。
+ * 本节点发出的批次不会回调，本地变更由各缓存自己的事务事件监听器处理。注册为 Spring Bean 即生效。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface RemoteInvalidationListener {
+
+    /**
+     * 其他节点的失效批次已应用到本节点的授权快照
+     *
+     * @param batch 失效批次
+     */
+    void onRemoteInvalidation(InvalidationBatch batch);
+}
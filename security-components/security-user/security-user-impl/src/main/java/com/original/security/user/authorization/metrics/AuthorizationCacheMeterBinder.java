@@ -0,0 +1,81 @@
+package com.original.security.user.authorization.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 授权缓存 Micrometer 指标绑定
+ *
+ * <p>仅在 classpath 中存在 Micrometer 时注册，Spring Boot 会将其绑定到所有 {@link MeterRegistry}。
+ * 每个 {@link CacheMetricsSource} 以 {@code cache} 标签区分，注册以下指标：
+ * <ul>
+ *     <li>{@code security.authz.cache.size} - 当前条目数</li>
+ *     <li>{@code security.authz.cache.gets} - 按 {@code result=hit|miss} 区分的访问次数</li>
+ *     <li>{@code security.authz.cache.loads} - 按 {@code result=success|failure} 区分的加载次数</li>
+ *     <li>{@code security.authz.cache.evictions} - 驱逐次数</li>
+ *     <li>{@code security.authz.cache.load.duration} - 按 {@code quantile} 区分的加载耗时分位数</li>
+ *     <li>{@code security.authz.cache.saved} - 命中节省的累计耗时 (估算值)</li>
+ * </ul>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class AuthorizationCacheMeterBinder implements MeterBinder {
+
+    static final String METRIC_PREFIX = "security.authz.cache";
+
+    private final CacheMetricsRegistry metricsRegistry;
+
+    public AuthorizationCacheMeterBinder(CacheMetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CacheMetricsSource source : metricsRegistry.getSources()) {
+            Tags tags = Tags.of("cache", source.getCacheName());
+
+            Gauge.builder(METRIC_PREFIX + ".size", source, s -> s.getCacheMetrics().getEstimatedSize())
+                    .tags(tags).description("The number of entries in the cache").register(registry);
+
+            counter(registry, "gets", tags.and("result", "hit"), source, CacheMetrics::getHitCount);
+            counter(registry, "gets", tags.and("result", "miss"), source, CacheMetrics::getMissCount);
+            counter(registry, "loads", tags.and("result", "success"), source, CacheMetrics::getLoadSuccessCount);
+            counter(registry, "loads", tags.and("result", "failure"), source, CacheMetrics::getLoadFailureCount);
+            counter(registry, "evictions", tags, source, CacheMetrics::getEvictionCount);
+
+            loadDuration(registry, tags.and("quantile", "0.5"), source, CacheMetrics::getLoadTimeP50Nanos);
+            loadDuration(registry, tags.and("quantile", "0.95"), source, CacheMetrics::getLoadTimeP95Nanos);
+            loadDuration(registry, tags.and("quantile", "0.99"), source, CacheMetrics::getLoadTimeP99Nanos);
+
+            TimeGauge.builder(METRIC_PREFIX + ".saved", source, TimeUnit.NANOSECONDS,
+                            s -> s.getCacheMetrics().getEstimatedSavedNanos())
+                    .tags(tags).description("Estimated time saved by cache hits").register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String name, Tags tags, CacheMetricsSource source,
+                                ToLongFunction<CacheMetrics> value) {
+        ToDoubleFunction<CacheMetricsSource> function = s -> value.applyAsLong(s.getCacheMetrics());
+        FunctionCounter.builder(METRIC_PREFIX + "." + name, source, function).tags(tags).register(registry);
+    }
+
+    private static void loadDuration(MeterRegistry registry, Tags tags, CacheMetricsSource source,
+                                     ToLongFunction<CacheMetrics> value) {
+        ToDoubleFunction<CacheMetricsSource> function = s -> value.applyAsLong(s.getCacheMetrics());
+        TimeGauge.builder(METRIC_PREFIX + ".load.duration", source, TimeUnit.NANOSECONDS, function)
+                .tags(tags).register(registry);
+    }
+}
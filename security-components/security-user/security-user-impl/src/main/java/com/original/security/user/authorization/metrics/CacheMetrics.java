@@ -0,0 +1,84 @@
+package com.original.security.user.authorization.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 缓存指标快照 (不可变)
+ * <p>
+ * 计数自缓存创建起累计；加载耗时分位数为桶上界的近似值，单位纳秒。
+ * 命中节省的耗时按命中次数乘以平均加载耗时估算。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class CacheMetrics {
+
+    private final String cacheName;
+    private final long estimatedSize;
+    private final CacheStats stats;
+    private final long loadTimeP50Nanos;
+    private final long loadTimeP95Nanos;
+    private final long loadTimeP99Nanos;
+
+    public CacheMetrics(String cacheName, long estimatedSize, CacheStats stats,
+                        long loadTimeP50Nanos, long loadTimeP95Nanos, long loadTimeP99Nanos) {
+        this.cacheName = cacheName;
+        this.estimatedSize = estimatedSize;
+        this.stats = stats;
+        this.loadTimeP50Nanos = loadTimeP50Nanos;
+        this.loadTimeP95Nanos = loadTimeP95Nanos;
+        this.loadTimeP99Nanos = loadTimeP99Nanos;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    public long getHitCount() {
+        return stats.hitCount();
+    }
+
+    public long getMissCount() {
+        return stats.missCount();
+    }
+
+    public double getHitRate() {
+        return stats.hitRate();
+    }
+
+    public long getLoadSuccessCount() {
+        return stats.loadSuccessCount();
+    }
+
+    public long getLoadFailureCount() {
+        return stats.loadFailureCount();
+    }
+
+    public long getEvictionCount() {
+        return stats.evictionCount();
+    }
+
+    public double getAverageLoadPenaltyNanos() {
+        return stats.averageLoadPenalty();
+    }
+
+    public double getEstimatedSavedNanos() {
+        return stats.hitCount() * stats.averageLoadPenalty();
+    }
+
+    public long getLoadTimeP50Nanos() {
+        return loadTimeP50Nanos;
+    }
+
+    public long getLoadTimeP95Nanos() {
+        return loadTimeP95Nanos;
+    }
+
+    public long getLoadTimeP99Nanos() {
+        return loadTimeP99Nanos;
+    }
+}
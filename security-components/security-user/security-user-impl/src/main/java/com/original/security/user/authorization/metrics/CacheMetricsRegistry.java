@@ -0,0 +1,43 @@
+package com.original.security.user.authorization.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存指标注册表
+ * <p>
+ * 收集容器中所有 {@link CacheMetricsSource}，按需生成指标快照，不做额外缓存。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class CacheMetricsRegistry {
+
+    private final ObjectProvider<CacheMetricsSource> sources;
+
+    public CacheMetricsRegistry(ObjectProvider<CacheMetricsSource> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * 所有已注册的指标来源
+     *
+     * @return 指标来源列表
+     */
+    public List<CacheMetricsSource> getSources() {
+        return sources.orderedStream().collect(Collectors.toList());
+    }
+
+    /**
+     * 所有缓存的当前指标
+     *
+     * @return 指标快照列表
+     */
+    public List<CacheMetrics> snapshot() {
+        return sources.orderedStream().map(CacheMetricsSource::getCacheMetrics).collect(Collectors.toList());
+    }
+}
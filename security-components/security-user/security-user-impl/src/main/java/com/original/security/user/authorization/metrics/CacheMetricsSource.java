@@ -0,0 +1,27 @@
+package com.original.security.user.authorization.metrics;
+
+/**
+ * 缓存指标来源 SPI
+ * <p>
+ * 实现此接口的 Bean 会被 {@link CacheMetricsRegistry} 收集，
+ * 并通过 Micrometer (如存在) 与 {@code /api/authz/caches} 管理接口对外暴露。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface CacheMetricsSource {
+
+    /**
+     * 缓存名称，作为指标的 {@code cache} 标签，需全局唯一
+     *
+     * @return 缓存名称
+     */
+    String getCacheName();
+
+    /**
+     * 当前指标快照
+     *
+     * @return 指标快照，不会为 null
+     */
+    CacheMetrics getCacheMetrics();
+}
@@ -0,0 +1,78 @@
+package com.original.security.user.authorization.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * 记录加载耗时分布的缓存统计计数器
+ * <p>
+ * 命中、未命中、加载、驱逐计数委托给 Caffeine 的 {@link ConcurrentStatsCounter}，
+ * 加载耗时额外写入 {@link LoadTimeHistogram} 以计算分位数。
+ * 通过 {@code Caffeine.recordStats(() -> counter)} 启用；同一计数器可由多个缓存共享，统计值合并计算。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class RecordingStatsCounter implements StatsCounter {
+
+    private final ConcurrentStatsCounter delegate = new ConcurrentStatsCounter();
+    private final LoadTimeHistogram loadTimes = new LoadTimeHistogram();
+
+    @Override
+    public void recordHits(int count) {
+        delegate.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        delegate.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        delegate.recordLoadSuccess(loadTime);
+        loadTimes.record(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        delegate.recordLoadFailure(loadTime);
+        loadTimes.record(loadTime);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void recordEviction() {
+        delegate.recordEviction();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void recordEviction(int weight) {
+        delegate.recordEviction(weight);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        delegate.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return delegate.snapshot();
+    }
+
+    /**
+     * 生成缓存指标快照
+     *
+     * @param cacheName     缓存名称
+     * @param estimatedSize 当前条目数 (估算值)
+     * @return 指标快照
+     */
+    public CacheMetrics toMetrics(String cacheName, long estimatedSize) {
+        return new CacheMetrics(cacheName, estimatedSize, snapshot(),
+                loadTimes.percentile(0.5), loadTimes.percentile(0.95), loadTimes.percentile(0.99));
+    }
+}
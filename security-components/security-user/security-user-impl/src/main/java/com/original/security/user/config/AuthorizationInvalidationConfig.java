@@ -0,0 +1,48 @@
+package com.original.security.user.config;
+
+import com.original.security.user.authorization.invalidation.InvalidationTransport;
+import com.original.security.user.authorization.invalidation.JdbcPollingInvalidationTransport;
+import com.original.security.user.authorization.invalidation.LoopbackInvalidationTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 跨节点授权缓存失效配置
+ *
+ * <p>根据 {@code security.user.invalidation.transport} 注册失效消息传输；
+ * 未配置或配置为 {@code none} 时不注册传输，授权缓存只在本节点失效。
+ * 应用可自行声明 {@link InvalidationTransport} Bean (例如基于 Redis Pub/Sub) 替换内置实现。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Configuration
+public class AuthorizationInvalidationConfig {
+
+    /**
+     * 进程内传输，仅用于测试或单 JVM 多上下文场景
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationTransport.class)
+    @ConditionalOnProperty(prefix = "security.user.invalidation", name = "transport", havingValue = "loopback")
+    public InvalidationTransport loopbackInvalidationTransport() {
+        return new LoopbackInvalidationTransport();
+    }
+
+    /**
+     * 基于共享数据库表轮询的传输
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationTransport.class)
+    @ConditionalOnProperty(prefix = "security.user.invalidation", name = "transport", havingValue = "jdbc")
+    public InvalidationTransport jdbcPollingInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                                                  UserProperties userProperties) {
+        UserProperties.Invalidation invalidation = userProperties.getInvalidation();
+        return new JdbcPollingInvalidationTransport(jdbcTemplate,
+                invalidation.getPollIntervalMillis(), invalidation.getRetentionMinutes(),
+                invalidation.getGapTimeoutMillis());
+    }
+}
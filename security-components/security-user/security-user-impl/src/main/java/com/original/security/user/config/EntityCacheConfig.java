@@ -0,0 +1,103 @@
+package com.original.security.user.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.original.security.user.entity.EntityCacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 角色/权限实体二级缓存配置
+ *
+ * <p>{@code security.user.entity-cache.enabled=true} 且类路径中存在 Hibernate JCache 与 Caffeine JCache 时，
+ * 开启 Hibernate 二级缓存与查询缓存，并使用独立的 Caffeine {@link CacheManager}，按
+ * {@link EntityCacheRegions} 预先创建有界、带过期时间的缓存区域。更新时间戳区域不设过期，
+ * 避免查询缓存读到早于表变更的结果。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnClass(name = {"org.hibernate.cache.jcache.ConfigSettings",
+        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"})
+@ConditionalOnProperty(prefix = "security.user.entity-cache", name = "enabled", havingValue = "true")
+public class EntityCacheConfig {
+
+    /**
+     * Hibernate 默认的更新时间戳区域
+     */
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Hibernate 默认的查询结果区域
+     */
+    static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private static final URI CACHE_MANAGER_URI = URI.create("security-user-entity-cache");
+
+    @Bean
+    public EntityCacheHibernatePropertiesCustomizer entityCacheHibernatePropertiesCustomizer(UserProperties userProperties) {
+        return new EntityCacheHibernatePropertiesCustomizer(userProperties.getEntityCache());
+    }
+
+    /**
+     * 向 Hibernate 注册二级缓存设置，并在容器关闭时关闭其创建的 {@link CacheManager}
+     */
+    public static class EntityCacheHibernatePropertiesCustomizer implements HibernatePropertiesCustomizer, DisposableBean {
+
+        private final CacheManager cacheManager;
+
+        EntityCacheHibernatePropertiesCustomizer(UserProperties.EntityCache entityCache) {
+            this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(CACHE_MANAGER_URI, EntityCacheConfig.class.getClassLoader());
+            CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>();
+            bounded.setMaximumSize(OptionalLong.of(entityCache.getMaximumSize()));
+            bounded.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(entityCache.getTtlMinutes())));
+            createIfAbsent(EntityCacheRegions.ROLE, bounded);
+            createIfAbsent(EntityCacheRegions.ROLE_PERMISSIONS, bounded);
+            createIfAbsent(EntityCacheRegions.PERMISSION, bounded);
+            createIfAbsent(EntityCacheRegions.REFERENCE_QUERIES, bounded);
+            createIfAbsent(DEFAULT_QUERY_RESULTS_REGION, bounded);
+            createIfAbsent(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        }
+
+        @Override
+        public void customize(Map<String, Object> hibernateProperties) {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, "true");
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        }
+
+        /**
+         * Caffeine 管理的缓存，仅供测试检查
+         */
+        CacheManager getCacheManager() {
+            return cacheManager;
+        }
+
+        @Override
+        public void destroy() {
+            cacheManager.close();
+        }
+
+        private void createIfAbsent(String region, CaffeineConfiguration<Object, Object> configuration) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.original.security.user.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.UUID;
+
 /**
  * 用户模块配置属性
  *
@@ -9,6 +11,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <pre>
  * security.user.default-role.name=USER
  * security.user.default-role.first-user-role=ADMIN
+ * security.user.warmup.enabled=true
+ * security.user.warmup.max-users=1000
+ * security.user.invalidation.transport=jdbc
+ * security.user.token-claims.enabled=true
+ * security.user.role-listing.include-permissions=false
+ * security.user.role-hierarchy.enabled=true
+ * security.user.entity-cache.enabled=true
+ * security.user.decision-cache.enabled=true
  * </pre>
  *
  * @author Original Security Team
@@ -31,6 +41,118 @@ public class UserProperties {
         return defaultRole;
     }
 
+    /**
+     * 授权缓存预热配置
+     */
+    private final Warmup warmup = new Warmup();
+
+    /**
+     * 获取授权缓存预热配置
+     *
+     * @return 预热配置
+     */
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * 跨节点授权缓存失效配置
+     */
+    private final Invalidation invalidation = new Invalidation();
+
+    /**
+     * 获取跨节点授权缓存失效配置
+     *
+     * @return 失效配置
+     */
+    public Invalidation getInvalidation() {
+        return invalidation;
+    }
+
+    /**
+     * 记录级访问控制 (ACL) 索引配置
+     */
+    private final Acl acl = new Acl();
+
+    /**
+     * 获取 ACL 索引配置
+     *
+     * @return ACL 配置
+     */
+    public Acl getAcl() {
+        return acl;
+    }
+
+    /**
+     * 令牌授权声明配置
+     */
+    private final TokenClaims tokenClaims = new TokenClaims();
+
+    /**
+     * 获取令牌授权声明配置
+     *
+     * @return 令牌授权声明配置
+     */
+    public TokenClaims getTokenClaims() {
+        return tokenClaims;
+    }
+
+    /**
+     * 角色列表配置
+     */
+    private final RoleListing roleListing = new RoleListing();
+
+    /**
+     * 获取角色列表配置
+     *
+     * @return 角色列表配置
+     */
+    public RoleListing getRoleListing() {
+        return roleListing;
+    }
+
+    /**
+     * 数据库角色继承配置
+     */
+    private final RoleHierarchy roleHierarchy = new RoleHierarchy();
+
+    /**
+     * 获取数据库角色继承配置
+     *
+     * @return 数据库角色继承配置
+     */
+    public RoleHierarchy getRoleHierarchy() {
+        return roleHierarchy;
+    }
+
+    /**
+     * 角色/权限实体二级缓存配置
+     */
+    private final EntityCache entityCache = new EntityCache();
+
+    /**
+     * 获取角色/权限实体二级缓存配置
+     *
+     * @return 实体二级缓存配置
+     */
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * 记录级权限判断结果缓存配置
+     */
+    private final DecisionCache decisionCache = new DecisionCache();
+
+    /**
+     * 获取记录级权限判断结果缓存配置
+     *
+     * @return 判断结果缓存配置
+     */
+    public DecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
     /**
      * 默认角色配置
      *
@@ -78,4 +200,436 @@ public class UserProperties {
             this.firstUserRole = firstUserRole;
         }
     }
+
+    /**
+     * 授权缓存预热配置
+     *
+     * <p>启用后在应用就绪前为最近登录的用户批量加载授权快照，
+     * 预热完成 (或超出时间预算) 前应用不会进入 ACCEPTING_TRAFFIC 状态。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class Warmup {
+
+        /**
+         * 是否启用预热，同时控制是否记录用户登录活跃度
+         *
+         * <p>默认值: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预热的最近活跃用户数量上限
+         *
+         * <p>默认值: 1000
+         */
+        private int maxUsers = 1000;
+
+        /**
+         * 每批查询的用户数量
+         *
+         * <p>默认值: 200
+         */
+        private int batchSize = 200;
+
+        /**
+         * 预热时间预算 (秒)，超出后停止预热，剩余用户按需加载
+         *
+         * <p>默认值: 30
+         */
+        private long timeBudgetSeconds = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getTimeBudgetSeconds() {
+            return timeBudgetSeconds;
+        }
+
+        public void setTimeBudgetSeconds(long timeBudgetSeconds) {
+            this.timeBudgetSeconds = timeBudgetSeconds;
+        }
+    }
+
+    /**
+     * 跨节点授权缓存失效配置
+     *
+     * <p>多实例部署时，一个节点上的角色或权限变更通过失效总线通知其他节点立即清理授权快照，
+     * {@code security.cache.ttl-minutes} 仅作为消息丢失时的兜底。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class Invalidation {
+
+        /**
+         * 失效消息传输方式：none (仅本地失效)、loopback (进程内，用于测试)、jdbc (共享数据库轮询)
+         *
+         * <p>默认值: "none"
+         */
+        private String transport = "none";
+
+        /**
+         * 本节点 ID，用于忽略自己发出的失效消息
+         *
+         * <p>默认值: 启动时随机生成
+         */
+        private String nodeId = UUID.randomUUID().toString();
+
+        /**
+         * 失效消息合并窗口 (毫秒)，窗口内的多次失效合并为一条批量消息
+         *
+         * <p>默认值: 100
+         */
+        private long coalesceMillis = 100;
+
+        /**
+         * jdbc 传输的轮询间隔 (毫秒)
+         *
+         * <p>默认值: 1000
+         */
+        private long pollIntervalMillis = 1000;
+
+        /**
+         * jdbc 传输中失效事件的保留时间 (分钟)，过期事件定期清理
+         *
+         * <p>默认值: 60
+         */
+        private long retentionMinutes = 60;
+
+        /**
+         * jdbc 传输等待空洞 (较小 ID 的事件迟于较大 ID 提交) 的最长时间 (毫秒)，超时后不再重新读取
+         *
+         * <p>默认值: 10000
+         */
+        private long gapTimeoutMillis = 10000;
+
+        public String getTransport() {
+            return transport;
+        }
+
+        public void setTransport(String transport) {
+            this.transport = transport;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public long getCoalesceMillis() {
+            return coalesceMillis;
+        }
+
+        public void setCoalesceMillis(long coalesceMillis) {
+            this.coalesceMillis = coalesceMillis;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getRetentionMinutes() {
+            return retentionMinutes;
+        }
+
+        public void setRetentionMinutes(long retentionMinutes) {
+            this.retentionMinutes = retentionMinutes;
+        }
+
+        public long getGapTimeoutMillis() {
+            return gapTimeoutMillis;
+        }
+
+        public void setGapTimeoutMillis(long gapTimeoutMillis) {
+            this.gapTimeoutMillis = gapTimeoutMillis;
+        }
+    }
+
+    /**
+     * 记录级访问控制 (ACL) 索引配置
+     *
+     * <p>每种记录类型一个内存索引，条目数与过期时间独立于用户授权快照缓存。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class Acl {
+
+        /**
+         * 每种记录类型最多缓存的记录数
+         *
+         * <p>默认值: 10000
+         */
+        private long maximumTargetsPerType = 10000;
+
+        /**
+         * 最多缓存的记录类型数，超出时淘汰整个类型的索引
+         *
+         * <p>默认值: 100
+         */
+        private long maximumTargetTypes = 100;
+
+        /**
+         * 索引条目过期时间 (分钟)，其他节点的 ACL 变更最迟在此时间后生效
+         *
+         * <p>默认值: 30
+         */
+        private long ttlMinutes = 30;
+
+        public long getMaximumTargetsPerType() {
+            return maximumTargetsPerType;
+        }
+
+        public void setMaximumTargetsPerType(long maximumTargetsPerType) {
+            this.maximumTargetsPerType = maximumTargetsPerType;
+        }
+
+        public long getMaximumTargetTypes() {
+            return maximumTargetTypes;
+        }
+
+        public void setMaximumTargetTypes(long maximumTargetTypes) {
+            this.maximumTargetTypes = maximumTargetTypes;
+        }
+
+        public long getTtlMinutes() {
+            return ttlMinutes;
+        }
+
+        public void setTtlMinutes(long ttlMinutes) {
+            this.ttlMinutes = ttlMinutes;
+        }
+    }
+
+    /**
+     * 令牌授权声明配置
+     *
+     * <p>启用后登录与刷新签发的 JWT 携带用户的权限集合、直接角色与授权版本号，
+     * 权限评估器在版本仍有效时直接信任令牌中的权限，过期后回退到权限服务。
+     * 令牌体积随权限数量增长，权限很多的部署应评估请求头大小限制。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class TokenClaims {
+
+        /**
+         * 是否在令牌中嵌入授权声明
+         *
+         * <p>默认值: false
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 角色列表配置
+     *
+     * <p>分页列出角色时，整页角色的权限通过一次批量查询取回；不需要权限明细的列表视图可关闭，
+     * 只执行分页查询。查询单个角色的详情始终包含权限。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class RoleListing {
+
+        /**
+         * 列表中的角色是否包含权限明细，关闭时 {@code permissions} 为 null
+         *
+         * <p>默认值: true
+         */
+        private boolean includePermissions = true;
+
+        public boolean isIncludePermissions() {
+            return includePermissions;
+        }
+
+        public void setIncludePermissions(boolean includePermissions) {
+            this.includePermissions = includePermissions;
+        }
+    }
+
+    /**
+     * 数据库角色继承配置
+     *
+     * <p>启用后角色继承关系保存在 {@code role_parents} 表中，并物化为 {@code role_closure} 闭包表；
+     * 编辑继承关系后无需重启即可生效。启用时不应再声明其他 {@code RoleHierarchy} Bean。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class RoleHierarchy {
+
+        /**
+         * 是否从数据库加载角色继承关系
+         *
+         * <p>默认值: false
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 角色/权限实体二级缓存配置
+     *
+     * <p>启用后 {@code Role}、{@code Permission} 实体、角色的权限集合以及按名称查询角色的结果
+     * 缓存在本节点的 Hibernate 二级缓存中 (通过 JCache 使用 Caffeine)，需要在类路径中加入
+     * {@code org.hibernate:hibernate-jcache} 与 {@code com.github.ben-manes.caffeine:jcache}。
+     * 缓存是每个节点各自的进程内缓存：其他节点的角色权限变更经由失效传输
+     * ({@code security.user.invalidation.transport}) 送达后清除角色权限集合与查询结果；
+     * 未配置失效传输，或是不经失效广播的变更 (例如其他节点新建角色)，最长在 {@code ttl-minutes} 后可见。
+     * 授权判断不读取这些缓存，不受影响。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class EntityCache {
+
+        /**
+         * 是否启用二级缓存
+         *
+         * <p>默认值: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个缓存区域的最大条目数
+         *
+         * <p>默认值: 10000
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * 条目写入后的存活时间 (分钟)
+         *
+         * <p>默认值: 10
+         */
+        private long ttlMinutes = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtlMinutes() {
+            return ttlMinutes;
+        }
+
+        public void setTtlMinutes(long ttlMinutes) {
+            this.ttlMinutes = ttlMinutes;
+        }
+    }
+
+    /**
+     * 记录级权限判断结果缓存配置
+     *
+     * <p>缓存 {@code hasPermission(targetId, targetType, permission)} 的判断结果，
+     * 键为 (用户, 权限, 记录类型, 记录 ID)。授权快照或 ACL 索引发生任何变更后已缓存的结果全部作废，
+     * 直接修改数据库而未经失效通知的变更最长在 {@code ttl-seconds} 后可见。
+     *
+     * @author Original Security Team
+     * @since 1.0.0
+     */
+    public static class DecisionCache {
+
+        /**
+         * 是否启用判断结果缓存
+         *
+         * <p>默认值: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大缓存条目数，同时作为驻留用户名数量的上限
+         *
+         * <p>默认值: 100000
+         */
+        private long maximumSize = 100000;
+
+        /**
+         * 条目写入后的存活时间 (秒)
+         *
+         * <p>默认值: 30
+         */
+        private long ttlSeconds = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.original.security.user.controller;
+
+import com.original.security.core.Response;
+import com.original.security.user.api.AuthorizationAdminApi;
+import com.original.security.user.api.dto.response.CacheMetricsDTO;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.authorization.metrics.CacheMetricsRegistry;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/authz")
+public class AuthorizationAdminController implements AuthorizationAdminApi {
+
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    public AuthorizationAdminController(CacheMetricsRegistry cacheMetricsRegistry) {
+        this.cacheMetricsRegistry = cacheMetricsRegistry;
+    }
+
+    @Override
+    public Response<List<CacheMetricsDTO>> getCacheMetrics() {
+        List<CacheMetricsDTO> metrics = cacheMetricsRegistry.snapshot().stream()
+                .map(AuthorizationAdminController::toDTO)
+                .collect(Collectors.toList());
+        return Response.successBuilder(metrics).build();
+    }
+
+    private static CacheMetricsDTO toDTO(CacheMetrics metrics) {
+        CacheMetricsDTO dto = new CacheMetricsDTO();
+        dto.setCacheName(metrics.getCacheName());
+        dto.setEstimatedSize(metrics.getEstimatedSize());
+        dto.setHitCount(metrics.getHitCount());
+        dto.setMissCount(metrics.getMissCount());
+        dto.setHitRate(metrics.getHitRate());
+        dto.setLoadSuccessCount(metrics.getLoadSuccessCount());
+        dto.setLoadFailureCount(metrics.getLoadFailureCount());
+        dto.setEvictionCount(metrics.getEvictionCount());
+        dto.setAverageLoadPenaltyNanos(metrics.getAverageLoadPenaltyNanos());
+        dto.setEstimatedSavedNanos(metrics.getEstimatedSavedNanos());
+        dto.setLoadTimeP50Nanos(metrics.getLoadTimeP50Nanos());
+        dto.setLoadTimeP95Nanos(metrics.getLoadTimeP95Nanos());
+        dto.setLoadTimeP99Nanos(metrics.getLoadTimeP99Nanos());
+        return dto;
+    }
+}
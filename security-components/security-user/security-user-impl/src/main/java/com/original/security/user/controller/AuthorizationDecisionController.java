@@ -0,0 +1,239 @@
+package com.original.security.user.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.original.security.core.Response;
+import com.original.security.user.acl.AclService;
+import com.original.security.user.api.dto.response.DecisionResultDTO;
+import com.original.security.user.service.PermissionService;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 批量授权判断接口，供非 Java 服务与网关调用
+ * <p>
+ * 请求体为 (subject, permission, targetType, targetId) 元组的 JSON 数组，{@code targetType} 与
+ * {@code targetId} 可省略，最多 {@value #MAX_DECISIONS} 个：
+ * <pre>
+ * [{"subject":"alice","permission":"doc:read"},
+ *  {"subject":"bob","permission":"doc:write","targetType":"Document","targetId":42}]
+ * </pre>
+ * 响应为 {@code Response<DecisionResultDTO>}，{@code data.granted} 为 Base64 编码的位数组，
+ * 第 i 个元组的结果位于第 {@code i / 8} 个字节的第 {@code i % 8} 位 (低位在前)：
+ * <pre>
+ * {"code":200,"path":"","message":"","data":{"count":2,"granted":"AQ=="},"timestamp":...}
+ * </pre>
+ *
+ * <p>全局权限经 {@link PermissionService#checkPairs} 判断，同一批次中每个用户只解析一次快照；
+ * 未授予且带有记录的元组再按 (用户, 记录类型, 权限) 分组交给 {@link AclService#filterPermitted}。
+ * 请求体以 Jackson 流式 API 读取，不构建中间对象树；响应体只有计数与位数组，按常规方式序列化。
+ *
+ * <p>该接口可以查询任意用户的授权，调用方 (网关、边车等服务账号) 须具有 {@value #DECIDE_AUTHORITY} 权限。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/authz")
+public class AuthorizationDecisionController {
+
+    /**
+     * 单次请求的元组数量上限
+     */
+    public static final int MAX_DECISIONS = 1000;
+
+    /**
+     * 调用批量授权判断接口所需的权限
+     */
+    public static final String DECIDE_AUTHORITY = "authz:decide";
+
+    private final PermissionService permissionService;
+    private final AclService aclService;
+    private final JsonFactory jsonFactory;
+
+    public AuthorizationDecisionController(PermissionService permissionService, AclService aclService,
+                                           ObjectMapper objectMapper) {
+        this.permissionService = permissionService;
+        this.aclService = aclService;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 批量判断 (subject, permission, target) 元组
+     */
+    @PostMapping(value = "/decisions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('" + DECIDE_AUTHORITY + "')")
+    public Response<DecisionResultDTO> decide(HttpServletRequest request) throws IOException {
+        DecisionBatch batch = read(request);
+        BitSet granted = decide(batch);
+
+        DecisionResultDTO result = new DecisionResultDTO();
+        result.setCount(batch.size);
+        result.setGranted(Arrays.copyOf(granted.toByteArray(), (batch.size + 7) / 8));
+        return Response.successBuilder(result).build();
+    }
+
+    /**
+     * 处理请求体格式错误或超出数量上限
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public Response<Void> handleIllegalArgumentException(IllegalArgumentException e) {
+        return Response.<Void>withBuilder(400).msg(e.getMessage()).build();
+    }
+
+    private BitSet decide(DecisionBatch batch) {
+        BitSet granted = permissionService.checkPairs(batch.subjects, batch.permissions);
+
+        // 全局权限未授予的记录级元组按 (用户, 记录类型, 权限) 分组，每组一次 ACL 批量判断
+        Map<AclGroup, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size; i++) {
+            if (!granted.get(i) && batch.subjects.get(i) != null && batch.permissions.get(i) != null
+                    && batch.targetTypes.get(i) != null && batch.targetIds.get(i) != null) {
+                groups.computeIfAbsent(new AclGroup(batch.subjects.get(i), batch.targetTypes.get(i),
+                        batch.permissions.get(i)), group -> new ArrayList<>()).add(i);
+            }
+        }
+        groups.forEach((group, indexes) -> {
+            List<String> targetIds = new ArrayList<>(indexes.size());
+            indexes.forEach(i -> targetIds.add(batch.targetIds.get(i)));
+            Set<String> permitted = aclService.filterPermitted(group.subject, group.targetType,
+                    targetIds, group.permission);
+            for (int i : indexes) {
+                if (permitted.contains(batch.targetIds.get(i))) {
+                    granted.set(i);
+                }
+            }
+        });
+        return granted;
+    }
+
+    private DecisionBatch read(HttpServletRequest request) throws IOException {
+        DecisionBatch batch = new DecisionBatch();
+        try (JsonParser parser = jsonFactory.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Decision request must be a JSON array");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (batch.size == MAX_DECISIONS) {
+                    throw new IllegalArgumentException("At most " + MAX_DECISIONS + " decisions per request");
+                }
+                readTuple(parser, batch);
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Each decision must be a JSON object");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed decision request: " + e.getOriginalMessage());
+        }
+        return batch;
+    }
+
+    private static void readTuple(JsonParser parser, DecisionBatch batch) throws IOException {
+        String subject = null;
+        String permission = null;
+        String targetType = null;
+        String targetId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "subject":
+                    subject = scalar(parser);
+                    break;
+                case "permission":
+                    permission = scalar(parser);
+                    break;
+                case "targetType":
+                    targetType = scalar(parser);
+                    break;
+                case "targetId":
+                    targetId = scalar(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        batch.add(subject, permission, targetType, targetId);
+    }
+
+    /**
+     * 读取标量值的文本形式，数字记录 ID 与字符串记录 ID 等价；对象或数组视为缺失
+     */
+    private static String scalar(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * 按列保存的请求元组
+     */
+    private static final class DecisionBatch {
+
+        private final List<String> subjects = new ArrayList<>();
+        private final List<String> permissions = new ArrayList<>();
+        private final List<String> targetTypes = new ArrayList<>();
+        private final List<String> targetIds = new ArrayList<>();
+        private int size;
+
+        private void add(String subject, String permission, String targetType, String targetId) {
+            subjects.add(subject);
+            permissions.add(permission);
+            targetTypes.add(targetType);
+            targetIds.add(targetId);
+            size++;
+        }
+    }
+
+    private static final class AclGroup {
+
+        private final String subject;
+        private final String targetType;
+        private final String permission;
+
+        private AclGroup(String subject, String targetType, String permission) {
+            this.subject = subject;
+            this.targetType = targetType;
+            this.permission = permission;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AclGroup)) {
+                return false;
+            }
+            AclGroup other = (AclGroup) o;
+            return subject.equals(other.subject) && targetType.equals(other.targetType)
+                    && permission.equals(other.permission);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subject, targetType, permission);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.original.security.core.Response;
 import com.original.security.user.api.RoleApi;
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
 import com.original.security.user.service.PermissionService;
@@ -41,6 +42,24 @@ public class RoleController implements RoleApi {
         return Response.<Void>successBuilder(null).build();
     }
 
+    @Override
+    public Response<Void> changePermissions(RolePermissionBulkRequest request) {
+        roleService.changePermissions(request);
+        return Response.<Void>successBuilder(null).build();
+    }
+
+    @Override
+    public Response<Void> addParentRole(Long roleId, Long parentRoleId) {
+        roleService.addParentRole(roleId, parentRoleId);
+        return Response.<Void>successBuilder(null).build();
+    }
+
+    @Override
+    public Response<Void> removeParentRole(Long roleId, Long parentRoleId) {
+        roleService.removeParentRole(roleId, parentRoleId);
+        return Response.<Void>successBuilder(null).build();
+    }
+
     @Override
     public Response<RoleDTO> getRole(Long roleId) {
         RoleDTO role = roleService.getRole(roleId);
@@ -4,6 +4,7 @@ import com.original.security.core.Response;
 import com.original.security.user.api.UserApi;
 import com.original.security.user.api.dto.request.UserCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
 import com.original.security.user.api.dto.response.UserDTO;
 import com.original.security.user.exception.EmailAlreadyExistsException;
 import com.original.security.user.exception.UserAlreadyExistsException;
@@ -12,6 +13,9 @@ import com.original.security.user.exception.UserNotFoundException;
 import com.original.security.user.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -43,6 +47,11 @@ public class UserController implements UserApi {
     private static final String ERROR_CODE_USER_DISABLED = "USER_DISABLED";
     private static final String ERROR_CODE_UNAUTHORIZED = "UNAUTHORIZED";
 
+    /**
+     * 权限清单只允许浏览器私有缓存，且每次使用前须携带 ETag 重新验证
+     */
+    private static final CacheControl MANIFEST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -61,6 +70,18 @@ public class UserController implements UserApi {
         return Response.successBuilder(user).msg("success").build();
     }
 
+    @Override
+    public ResponseEntity<Response<PermissionManifestDTO>> getCurrentUserPermissions(String ifNoneMatch) {
+        String eTag = "\"" + userService.getCurrentUserPermissionsDigest() + "\"";
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(MANIFEST_CACHE_CONTROL).build();
+        }
+        // 摘要与清单之间授权发生变更时 ETag 对应旧内容，客户端下次请求不匹配而重新获取，不会误得 304
+        PermissionManifestDTO manifest = userService.getCurrentUserPermissions();
+        return ResponseEntity.ok().eTag(eTag).cacheControl(MANIFEST_CACHE_CONTROL)
+                .body(Response.successBuilder(manifest).msg("success").build());
+    }
+
     @Override
     public Response<UserDTO> getUser(Long userId) {
         UserDTO user = userService.getUser(userId);
@@ -73,6 +94,25 @@ public class UserController implements UserApi {
         return Response.successBuilder(users).msg("success").build();
     }
 
+    /**
+     * If-None-Match 按弱比较匹配 (RFC 7232)，支持多个 ETag 与 {@code *}
+     */
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 处理用户名已存在异常
      */
@@ -0,0 +1,111 @@
+package com.original.security.user.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 访问控制列表 (ACL) 条目
+ *
+ * <p>每行表示一个主体 (用户或角色) 对一条业务记录 ({@code targetType} + {@code targetId}) 拥有一个权限。
+ * 与 RBAC 的全局权限相互独立，用于记录级授权。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "acl_entries")
+public class AclEntry {
+
+    /**
+     * 授权主体类型
+     */
+    public enum PrincipalType {
+        /**
+         * 用户，主体为用户名
+         */
+        USER,
+        /**
+         * 角色，主体为角色名称，拥有该角色 (含继承) 的用户均获得授权
+         */
+        ROLE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "target_type", nullable = false, length = 50)
+    private String targetType;
+
+    @Column(name = "target_id", nullable = false, length = 64)
+    private String targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "principal_type", nullable = false, length = 8)
+    private PrincipalType principalType;
+
+    @Column(name = "principal", nullable = false, length = 100)
+    private String principal;
+
+    @Column(name = "permission", nullable = false, length = 100)
+    private String permission;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public AclEntry() {
+    }
+
+    public AclEntry(String targetType, String targetId, PrincipalType principalType,
+                    String principal, String permission) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.principalType = principalType;
+        this.principal = principal;
+        this.permission = permission;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public PrincipalType getPrincipalType() {
+        return principalType;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.original.security.user.entity;
+
+/**
+ * Hibernate 二级缓存区域名称
+ *
+ * <p>仅在启用 {@code security.user.entity-cache.enabled} 时生效；未启用二级缓存时实体上的缓存注解不起作用。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public final class EntityCacheRegions {
+
+    /**
+     * {@link Role} 实体
+     */
+    public static final String ROLE = "security.role";
+
+    /**
+     * {@link Role#getPermissions()} 集合
+     */
+    public static final String ROLE_PERMISSIONS = "security.role.permissions";
+
+    /**
+     * {@link Permission} 实体
+     */
+    public static final String PERMISSION = "security.permission";
+
+    /**
+     * 角色、权限参考数据的查询结果
+     */
+    public static final String REFERENCE_QUERIES = "security.reference-queries";
+
+    private EntityCacheRegions() {
+    }
+}
@@ -0,0 +1,52 @@
+package com.original.security.user.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 用户最近登录记录
+ *
+ * <p>每个用户一行，记录最近一次认证成功的时间，用于启动时预热最近活跃用户的授权缓存。
+ * 独立成表而不是在 users 表增加列，避免已有库的表结构迁移。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "user_login_activity")
+public class UserLoginActivity {
+
+    @Id
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "last_login_at", nullable = false)
+    private LocalDateTime lastLoginAt;
+
+    public UserLoginActivity() {
+    }
+
+    public UserLoginActivity(String username, LocalDateTime lastLoginAt) {
+        this.username = username;
+        this.lastLoginAt = lastLoginAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public void setLastLoginAt(LocalDateTime lastLoginAt) {
+        this.lastLoginAt = lastLoginAt;
+    }
+}
@@ -0,0 +1,206 @@
+package com.original.security.user.evaluator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.original.security.user.acl.AclIndex;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.authorization.metrics.CacheMetricsSource;
+import com.original.security.user.authorization.metrics.RecordingStatsCounter;
+import com.original.security.user.config.UserProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 记录级权限判断结果缓存
+ * <p>
+ * 对 {@code @PostFilter} 等场景中反复出现的 (用户, 权限, 记录类型:记录 ID) 判断只计算一次。
+ * 键由驻留后的数字 ID 组成：权限 ID 来自 {@link PermissionCatalog}，用户名与记录类型驻留为 long ID，
+ * 整数记录 ID 直接按 long 保存，不拼接字符串。权限只查询已登记的 ID，未登记的权限直接判断、不缓存，
+ * 调用方传入的任意权限名称不会占用 {@link PermissionCatalog}。
+ *
+ * <p>每个结果记录计算前读到的 {@link AuthorizationSnapshotCache#getChangeCount()} 与
+ * {@link AclIndex#getChangeCount()}，任一计数变化即视为过期，因此角色、用户或 ACL 变更只需 O(1) 代价
+ * 即可使全部结果失效，不遍历缓存。过期条目在下次访问时重新计算并覆盖。
+ *
+ * <p>驻留 ID 只增不减，驻留表超过容量时整体清空，旧 ID 不会被其他用户名复用，
+ * 使用旧 ID 的条目只会随容量或 TTL 淘汰，不会被误命中。
+ *
+ * <p>命中率、判断耗时与估算节省的耗时通过 {@link CacheMetricsSource} 以 {@value #CACHE_NAME} 名称对外暴露。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.decision-cache", name = "enabled", havingValue = "true")
+public class PermissionDecisionCache implements CacheMetricsSource {
+
+    /**
+     * 指标中的缓存名称
+     */
+    public static final String CACHE_NAME = "permission-decisions";
+
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final AclIndex aclIndex;
+    private final PermissionCatalog permissionCatalog;
+    private final long maximumInterned;
+
+    private final Cache<DecisionKey, Decision> decisions;
+
+    private final RecordingStatsCounter statsCounter = new RecordingStatsCounter();
+
+    private final AtomicLong idSequence = new AtomicLong();
+    private final ConcurrentMap<String, Long> principalIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> targetTypeIds = new ConcurrentHashMap<>();
+
+    public PermissionDecisionCache(AuthorizationSnapshotCache snapshotCache, AclIndex aclIndex,
+                                   UserProperties userProperties) {
+        this.snapshotCache = snapshotCache;
+        this.aclIndex = aclIndex;
+        this.permissionCatalog = snapshotCache.getPermissionCatalog();
+        UserProperties.DecisionCache config = userProperties.getDecisionCache();
+        this.maximumInterned = config.getMaximumSize();
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats(() -> statsCounter)
+                .build();
+    }
+
+    /**
+     * 获取判断结果，未缓存或已过期时调用 {@code decision} 计算并缓存
+     *
+     * @param username   用户名
+     * @param targetType 记录类型
+     * @param targetId   记录 ID
+     * @param permission 权限名称
+     * @param decision   实际的判断逻辑
+     * @return true 如果已授权
+     */
+    public boolean hasPermission(String username, String targetType, Serializable targetId, String permission,
+                                 BooleanSupplier decision) {
+        // 先读取计数再计算，计算期间发生的变更会使本次结果立即过期
+        long snapshotChanges = snapshotCache.getChangeCount();
+        long aclChanges = aclIndex.getChangeCount();
+        int permissionId = permissionCatalog.idOf(permission);
+        if (permissionId == PermissionCatalog.UNKNOWN) {
+            // 未登记的权限不会被任何角色或 ACL 授予，不为其登记 ID，也不占用缓存
+            return decision.getAsBoolean();
+        }
+        DecisionKey key = new DecisionKey(intern(principalIds, username), intern(targetTypeIds, targetType),
+                permissionId, targetId);
+
+        // asMap() 读取不计入统计，过期条目按未命中计数
+        Decision cached = decisions.asMap().get(key);
+        if (cached != null && cached.snapshotChanges == snapshotChanges && cached.aclChanges == aclChanges) {
+            statsCounter.recordHits(1);
+            return cached.granted;
+        }
+        statsCounter.recordMisses(1);
+
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = decision.getAsBoolean();
+        } catch (RuntimeException e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        statsCounter.recordLoadSuccess(System.nanoTime() - start);
+        decisions.put(key, new Decision(granted, snapshotChanges, aclChanges));
+        return granted;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public CacheMetrics getCacheMetrics() {
+        return statsCounter.toMetrics(CACHE_NAME, decisions.estimatedSize());
+    }
+
+    private long intern(ConcurrentMap<String, Long> ids, String name) {
+        Long id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (ids.size() >= maximumInterned) {
+            ids.clear();
+        }
+        return ids.computeIfAbsent(name, n -> idSequence.incrementAndGet());
+    }
+
+    /**
+     * 判断结果的键，整数记录 ID 保存为 long，其余记录 ID 保存其字符串形式
+     */
+    private static final class DecisionKey {
+
+        private final long principalId;
+        private final long targetTypeId;
+        private final int permissionId;
+        private final long numericTargetId;
+        private final String targetId;
+        private final int hash;
+
+        private DecisionKey(long principalId, long targetTypeId, int permissionId, Serializable targetId) {
+            this.principalId = principalId;
+            this.targetTypeId = targetTypeId;
+            this.permissionId = permissionId;
+            if (targetId instanceof Long || targetId instanceof Integer
+                    || targetId instanceof Short || targetId instanceof Byte) {
+                this.numericTargetId = ((Number) targetId).longValue();
+                this.targetId = null;
+            } else {
+                this.numericTargetId = 0;
+                this.targetId = targetId.toString();
+            }
+            int h = Long.hashCode(principalId);
+            h = 31 * h + Long.hashCode(targetTypeId);
+            h = 31 * h + permissionId;
+            h = 31 * h + (this.targetId != null ? this.targetId.hashCode() : Long.hashCode(numericTargetId));
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) o;
+            return principalId == other.principalId && targetTypeId == other.targetTypeId
+                    && permissionId == other.permissionId && numericTargetId == other.numericTargetId
+                    && (targetId == null ? other.targetId == null : targetId.equals(other.targetId));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Decision {
+
+        private final boolean granted;
+        private final long snapshotChanges;
+        private final long aclChanges;
+
+        private Decision(boolean granted, long snapshotChanges, long aclChanges) {
+            this.granted = granted;
+            this.snapshotChanges = snapshotChanges;
+            this.aclChanges = aclChanges;
+        }
+    }
+}
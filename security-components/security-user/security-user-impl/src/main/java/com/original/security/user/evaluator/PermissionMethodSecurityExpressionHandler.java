@@ -0,0 +1,53 @@
+package com.original.security.user.evaluator;
+
+import com.original.security.core.authorization.expression.CompiledSecurityExpressionParser;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 方法安全表达式处理器
+ *
+ * <p>以 {@link PermissionSecurityExpressionRoot} 作为表达式根对象，使
+ * {@code @PreAuthorize} 等注解可以使用 {@code hasAnyPermission(...)} / {@code hasAllPermissions(...)}。
+ *
+ * <p>声明此 Bean 后 Spring Security 不再配置默认处理器，因此权限评估器与角色继承关系由本类自行注入。
+ * 二者经 {@link ObjectProvider} 在首次求值时获取：方法安全配置初始化较早，
+ * 直接注入会使权限服务及其依赖提前创建，错过事务等后处理器。
+ *
+ * <p>表达式由 {@link CompiledSecurityExpressionParser} 解析，常量参数的 {@code hasRole}、{@code hasPermission}
+ * 等简单形式直接调用根对象；{@code hasAnyPermission} 等扩展函数仍按 SpEL 求值。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class PermissionMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final ObjectProvider<SecurityPermissionEvaluator> permissionEvaluatorProvider;
+    private final ObjectProvider<RoleHierarchy> roleHierarchyProvider;
+
+    public PermissionMethodSecurityExpressionHandler(ObjectProvider<SecurityPermissionEvaluator> permissionEvaluatorProvider,
+                                                     ObjectProvider<RoleHierarchy> roleHierarchyProvider) {
+        this.permissionEvaluatorProvider = permissionEvaluatorProvider;
+        this.roleHierarchyProvider = roleHierarchyProvider;
+        setExpressionParser(new CompiledSecurityExpressionParser());
+    }
+
+    @Override
+    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+                                                                              MethodInvocation invocation) {
+        SecurityPermissionEvaluator permissionEvaluator = permissionEvaluatorProvider.getObject();
+        PermissionSecurityExpressionRoot root = new PermissionSecurityExpressionRoot(authentication, permissionEvaluator);
+        root.setThis(invocation.getThis());
+        root.setPermissionEvaluator(permissionEvaluator);
+        root.setTrustResolver(getTrustResolver());
+        root.setRoleHierarchy(roleHierarchyProvider.getIfAvailable());
+        root.setDefaultRolePrefix(getDefaultRolePrefix());
+        return root;
+    }
+}
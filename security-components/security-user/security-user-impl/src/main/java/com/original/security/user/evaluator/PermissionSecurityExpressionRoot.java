@@ -0,0 +1,86 @@
+package com.original.security.user.evaluator;
+
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.Arrays;
+
+/**
+ * 方法安全表达式根对象
+ *
+ * <p>在 Spring Security 内置表达式之外提供批量权限函数：
+ * <pre>
+ * &#064;PreAuthorize("hasAnyPermission('user:read', 'user:write')")
+ * &#064;PreAuthorize("hasAllPermissions('role:read', 'role:write')")
+ * </pre>
+ * 多个权限基于同一份用户授权快照判断，而不是逐个调用 {@code hasPermission()}。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class PermissionSecurityExpressionRoot extends SecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private final SecurityPermissionEvaluator permissionEvaluator;
+
+    private Object filterObject;
+
+    private Object returnObject;
+
+    private Object target;
+
+    public PermissionSecurityExpressionRoot(Authentication authentication,
+                                            SecurityPermissionEvaluator permissionEvaluator) {
+        super(authentication);
+        this.permissionEvaluator = permissionEvaluator;
+    }
+
+    /**
+     * 是否拥有任意一个指定权限
+     *
+     * @param permissions 权限名称
+     * @return true 如果至少拥有其中一个权限
+     */
+    public boolean hasAnyPermission(String... permissions) {
+        return permissionEvaluator.hasAnyPermission(getAuthentication(), Arrays.asList(permissions));
+    }
+
+    /**
+     * 是否拥有全部指定权限
+     *
+     * @param permissions 权限名称
+     * @return true 如果拥有全部权限
+     */
+    public boolean hasAllPermissions(String... permissions) {
+        return permissionEvaluator.hasAllPermissions(getAuthentication(), Arrays.asList(permissions));
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        this.filterObject = filterObject;
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return filterObject;
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        this.returnObject = returnObject;
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return returnObject;
+    }
+
+    void setThis(Object target) {
+        this.target = target;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+}
@@ -1,12 +1,17 @@
 package com.original.security.user.evaluator;
 
+import com.original.security.user.acl.AclService;
+import com.original.security.user.authorization.AuthorizationTokenClaims;
+import com.original.security.user.authorization.AuthorizationTokenClaims.TokenPermissions;
 import com.original.security.user.service.PermissionService;
+import org.springframework.lang.Nullable;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 /**
  * Spring Security 权限评估器实现
@@ -15,9 +20,19 @@ import java.io.Serializable;
  * {@link PermissionService} 服务，使 {@code @PreAuthorize("hasPermission(...)")}
  * 注解可正常工作。
  *
- * <p>目前实现基于用户全局权限进行判断，忽略 {@code targetDomainObject} 和
- * {@code targetId/targetType} 的具体值。若需要对象级细粒度权限控制，
- * 可在此类中进行扩展。
+ * <p>{@code hasPermission(targetDomainObject, permission)} 基于用户全局权限进行判断，
+ * 忽略 {@code targetDomainObject} 的具体值。{@code hasPermission(targetId, targetType, permission)}
+ * 先判断全局权限，未授予时再由 {@link AclService} 按记录级 ACL 判断，例如
+ * {@code @PreAuthorize("hasPermission(#id, 'Document', 'doc:write')")}。
+ *
+ * <p>启用令牌授权声明 ({@link AuthorizationTokenClaims}) 时，认证信息中的令牌版本仍有效则直接按令牌中的权限判断，
+ * 不访问权限服务；版本失效或令牌不含授权声明时回退到权限服务。
+ *
+ * <p>启用 {@link PermissionDecisionCache} 时，记录级判断的结果按 (用户, 权限, 记录类型, 记录 ID) 缓存，
+ * 授权或 ACL 变更后自动作废。
+ *
+ * <p>{@link #hasAnyPermission} 与 {@link #hasAllPermissions} 通过
+ * {@link PermissionMethodSecurityExpressionHandler} 暴露为 SpEL 函数，多个权限只解析一次用户快照。
  *
  * @author Original Security Team
  * @since 1.0.0
@@ -27,13 +42,27 @@ public class SecurityPermissionEvaluator implements PermissionEvaluator {
 
     private final PermissionService permissionService;
 
+    private final AclService aclService;
+
+    private final AuthorizationTokenClaims tokenClaims;
+
+    private final PermissionDecisionCache decisionCache;
+
     /**
      * 构造器注入 (AC 3.1)
      *
      * @param permissionService 权限服务
+     * @param aclService        记录级访问控制服务
+     * @param tokenClaims       令牌授权声明，未启用时为 null，总是查询权限服务
+     * @param decisionCache     记录级判断结果缓存，未启用时为 null，每次重新判断
      */
-    public SecurityPermissionEvaluator(PermissionService permissionService) {
+    public SecurityPermissionEvaluator(PermissionService permissionService, AclService aclService,
+                                       @Nullable AuthorizationTokenClaims tokenClaims,
+                                       @Nullable PermissionDecisionCache decisionCache) {
         this.permissionService = permissionService;
+        this.aclService = aclService;
+        this.tokenClaims = tokenClaims;
+        this.decisionCache = decisionCache;
     }
 
     @Override
@@ -47,7 +76,7 @@ public class SecurityPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        return permissionService.hasPermission(username, permission.toString());
+        return hasGlobalPermission(authentication, username, permission.toString());
     }
 
     @Override
@@ -61,7 +90,91 @@ public class SecurityPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        return permissionService.hasPermission(username, permission.toString());
+        String permissionName = permission.toString();
+        if (decisionCache != null && targetId != null && targetType != null) {
+            return decisionCache.hasPermission(username, targetType, targetId, permissionName,
+                    () -> hasTargetPermission(authentication, username, targetId, targetType, permissionName));
+        }
+        return hasTargetPermission(authentication, username, targetId, targetType, permissionName);
+    }
+
+    /**
+     * 判断当前用户是否拥有任意一个指定权限
+     *
+     * @param authentication 认证信息
+     * @param permissions    权限名称集合
+     * @return true 如果至少拥有其中一个权限
+     */
+    public boolean hasAnyPermission(Authentication authentication, Collection<String> permissions) {
+        String username = authenticatedUsername(authentication);
+        if (username == null) {
+            return false;
+        }
+        TokenPermissions token = verifiedToken(authentication);
+        if (token == null) {
+            return permissionService.hasAny(username, permissions);
+        }
+        if (permissions == null) {
+            return false;
+        }
+        for (String permission : permissions) {
+            if (token.has(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断当前用户是否拥有全部指定权限
+     *
+     * @param authentication 认证信息
+     * @param permissions    权限名称集合
+     * @return true 如果拥有全部权限
+     */
+    public boolean hasAllPermissions(Authentication authentication, Collection<String> permissions) {
+        String username = authenticatedUsername(authentication);
+        if (username == null) {
+            return false;
+        }
+        TokenPermissions token = verifiedToken(authentication);
+        if (token == null) {
+            return permissionService.hasAll(username, permissions);
+        }
+        if (permissions == null) {
+            return true;
+        }
+        for (String permission : permissions) {
+            if (!token.has(permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasTargetPermission(Authentication authentication, String username, Serializable targetId,
+                                        String targetType, String permission) {
+        if (hasGlobalPermission(authentication, username, permission)) {
+            return true;
+        }
+        return targetId != null && targetType != null
+                && aclService.hasPermission(username, targetType, targetId, permission);
+    }
+
+    private boolean hasGlobalPermission(Authentication authentication, String username, String permission) {
+        TokenPermissions token = verifiedToken(authentication);
+        return token != null ? token.has(permission) : permissionService.hasPermission(username, permission);
+    }
+
+    private TokenPermissions verifiedToken(Authentication authentication) {
+        return tokenClaims != null ? tokenClaims.verify(authentication) : null;
+    }
+
+    private String authenticatedUsername(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return extractUsername(authentication);
     }
 
     /**
@@ -0,0 +1,54 @@
+package com.original.security.user.event;
+
+import com.original.security.user.entity.AclEntry;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * ACL 条目变更事件 (授予或撤销一条记录级权限)
+ */
+public class AclEntryChangedEvent extends ApplicationEvent {
+
+    private final String targetType;
+    private final String targetId;
+    private final AclEntry.PrincipalType principalType;
+    private final String principal;
+    private final String permission;
+    private final boolean granted;
+
+    public AclEntryChangedEvent(Object source, String targetType, String targetId,
+                                AclEntry.PrincipalType principalType, String principal,
+                                String permission, boolean granted) {
+        super(source);
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.principalType = principalType;
+        this.principal = principal;
+        this.permission = permission;
+        this.granted = granted;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public AclEntry.PrincipalType getPrincipalType() {
+        return principalType;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    /** true 表示授予，false 表示撤销 */
+    public boolean isGranted() {
+        return granted;
+    }
+}
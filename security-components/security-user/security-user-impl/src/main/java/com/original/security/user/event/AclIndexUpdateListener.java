@@ -0,0 +1,40 @@
+package com.original.security.user.event;
+
+import com.original.security.user.acl.AclIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * ACL 索引更新监听器
+ *
+ * <p>在 ACL 变更事务提交后清除内存索引中对应的记录，回滚的变更不会影响索引。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class AclIndexUpdateListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AclIndexUpdateListener.class);
+
+    private final AclIndex aclIndex;
+
+    public AclIndexUpdateListener(AclIndex aclIndex) {
+        this.aclIndex = aclIndex;
+    }
+
+    /**
+     * 事务提交后更新 ACL 索引
+     *
+     * @param event ACL 条目变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAclEntryChanged(AclEntryChangedEvent event) {
+        log.debug("Evicting ACL index entry after {}: {}:{} {} {}", event.isGranted() ? "grant" : "revoke",
+                event.getTargetType(), event.getTargetId(), event.getPrincipal(), event.getPermission());
+        aclIndex.evict(event.getTargetType(), event.getTargetId());
+    }
+}
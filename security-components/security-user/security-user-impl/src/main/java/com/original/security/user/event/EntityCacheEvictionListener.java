@@ -0,0 +1,86 @@
+package com.original.security.user.event;
+
+import com.original.security.user.authorization.invalidation.InvalidationBatch;
+import com.original.security.user.authorization.invalidation.RemoteInvalidationListener;
+import com.original.security.user.entity.EntityCacheRegions;
+import com.original.security.user.entity.Role;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 角色/权限实体二级缓存失效监听器
+ *
+ * <p>经由 JPA 的修改由 Hibernate 自动维护二级缓存；批量权限变更直接以 JDBC 写入 {@code role_permissions}，
+ * 绕过了 Hibernate，因此在事务提交后清除角色权限集合区域。两类权限变更都同时清除参考数据查询区域，
+ * 使按名称查询角色等缓存查询重新读取数据库。仅在启用 {@code security.user.entity-cache.enabled} 时注册。
+ *
+ * <p>二级缓存是每个节点各自的进程内缓存，Hibernate 只维护本节点。其他节点的角色权限变更经由
+ * {@link com.original.security.user.authorization.invalidation.InvalidationTransport} 送达后，
+ * 同样清除角色权限集合与参考数据查询区域；未配置失效传输时其他节点最长在 {@code ttl-minutes} 后可见。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.entity-cache", name = "enabled", havingValue = "true")
+public class EntityCacheEvictionListener implements RemoteInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheEvictionListener.class);
+
+    /**
+     * {@link Role#getPermissions()} 集合在 Hibernate 中的角色名
+     */
+    static final String ROLE_PERMISSIONS_COLLECTION = Role.class.getName() + ".permissions";
+
+    private final Cache cache;
+
+    public EntityCacheEvictionListener(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * 单个角色分配权限后清除参考数据查询缓存
+     *
+     * @param event 角色权限分配事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPermissionAssigned(RolePermissionAssignedEvent event) {
+        log.debug("Evicting reference query cache after permission assignment to role: {}", event.getRoleName());
+        cache.evictQueryRegion(EntityCacheRegions.REFERENCE_QUERIES);
+    }
+
+    /**
+     * 批量权限变更后清除角色权限集合与参考数据查询缓存
+     *
+     * @param event 批量角色权限变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPermissionsChanged(RolePermissionsChangedEvent event) {
+        log.debug("Evicting role permission collection cache after bulk change: {}", event.getChanges());
+        cache.evictCollectionData(ROLE_PERMISSIONS_COLLECTION);
+        cache.evictQueryRegion(EntityCacheRegions.REFERENCE_QUERIES);
+    }
+
+    /**
+     * 其他节点变更角色权限后清除角色权限集合与参考数据查询缓存；只涉及用户的批次不处理
+     *
+     * @param batch 其他节点的失效批次
+     */
+    @Override
+    public void onRemoteInvalidation(InvalidationBatch batch) {
+        if (!batch.isAll() && batch.getRoleNames().isEmpty()) {
+            return;
+        }
+        log.debug("Evicting role permission collection cache after remote invalidation: {}", batch);
+        cache.evictCollectionData(ROLE_PERMISSIONS_COLLECTION);
+        cache.evictQueryRegion(EntityCacheRegions.REFERENCE_QUERIES);
+    }
+}
@@ -1,7 +1,6 @@
 package com.original.security.user.event;
 
-import com.original.security.user.service.PermissionService;
-import com.original.security.user.service.RoleService;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -11,7 +10,8 @@ import org.springframework.transaction.event.TransactionalEventListener;
 /**
  * 角色缓存失效监听器
  *
- * <p>在角色权限变更事务提交后清理角色缓存和权限缓存，确保后续查询读取到最新数据。
+ * <p>在角色权限变更事务提交后递增该角色的代数，拥有该角色的用户快照在下次访问时重新加载，
+ * 确保后续查询读取到最新数据；其他节点通过 {@link AuthorizationInvalidationBroadcaster} 收到同一条角色级失效消息。
  * 与 {@link RolePermissionAssignedEventListener}（审计日志）分离，遵循单一职责原则。
  *
  * @author Original Security Team
@@ -22,40 +22,51 @@ public class RoleCacheEvictionListener {
 
     private static final Logger log = LoggerFactory.getLogger(RoleCacheEvictionListener.class);
 
-    private final RoleService roleService;
-    private final PermissionService permissionService;
-    private final com.original.security.user.repository.UserRepository userRepository;
+    private final AuthorizationInvalidationBroadcaster invalidationBroadcaster;
 
-    public RoleCacheEvictionListener(RoleService roleService,
-                                     PermissionService permissionService,
-                                     com.original.security.user.repository.UserRepository userRepository) {
-        this.roleService = roleService;
-        this.permissionService = permissionService;
-        this.userRepository = userRepository;
+    public RoleCacheEvictionListener(AuthorizationInvalidationBroadcaster invalidationBroadcaster) {
+        this.invalidationBroadcaster = invalidationBroadcaster;
     }
 
     /**
-     * 事务提交后清理受影响用户的权限/角色缓存。
+     * 事务提交后使受影响用户的权限/角色缓存过期。
      *
-     * <p>不再调用 clearAllCache() 以避免 Thunder Herd 效益。
-     * 只查找并清理属于该角色的特定用户的缓存。
+     * <p>不再调用 clearAllCache() 以避免 Thunder Herd 效益，也不再查询角色下的用户：
+     * 写入时只记录角色代数 (O(1))，重新加载分散到后续的读取中。
      *
      * @param event 角色权限分配事件
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onPermissionAssigned(RolePermissionAssignedEvent event) {
-        String roleName = event.getRoleName();
-        log.debug("Finding users affected by role: {} for granular cache eviction", roleName);
-        
-        java.util.List<com.original.security.user.entity.User> affectedUsers = userRepository.findByRoles_Name(roleName);
-        
-        for (com.original.security.user.entity.User user : affectedUsers) {
-            String username = user.getUsername();
-            log.trace("Evicting cache for user: {}", username);
-            roleService.clearCache(username);
-            permissionService.clearCache(username);
+        log.debug("Invalidating authorization snapshots for role: {}", event.getRoleName());
+        invalidationBroadcaster.evictRole(event.getRoleName());
+    }
+
+    /**
+     * 批量变更事务提交后按差异更新各角色的缓存权限。
+     *
+     * <p>本节点的快照在内存中重新组合，不产生重新加载；其他节点收到角色级失效消息。
+     *
+     * @param event 批量角色权限变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPermissionsChanged(RolePermissionsChangedEvent event) {
+        log.debug("Patching authorization snapshots for role changes: {}", event.getChanges());
+        for (RolePermissionsChangedEvent.Change change : event.getChanges()) {
+            invalidationBroadcaster.patchRole(change.getRoleName(),
+                    change.getAddedPermissions(), change.getRemovedPermissions());
         }
-        
-        log.debug("Granular eviction complete. {} users affected.", affectedUsers.size());
+    }
+
+    /**
+     * 继承关系变更事务提交后重新加载角色继承闭包。
+     *
+     * @param event 角色继承关系变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onHierarchyChanged(RoleHierarchyChangedEvent event) {
+        log.debug("Reloading role hierarchy after {} {} -> {}",
+                event.isAdded() ? "adding" : "removing", event.getParentRoleName(), event.getRoleName());
+        invalidationBroadcaster.evictRoleHierarchy();
     }
 }
@@ -0,0 +1,33 @@
+package com.original.security.user.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 角色继承关系变更事件（新增或删除一条继承边）
+ */
+public class RoleHierarchyChangedEvent extends ApplicationEvent {
+
+    private final String roleName;
+    private final String parentRoleName;
+    private final boolean added;
+
+    public RoleHierarchyChangedEvent(Object source, String roleName, String parentRoleName, boolean added) {
+        super(source);
+        this.roleName = roleName;
+        this.parentRoleName = parentRoleName;
+        this.added = added;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public String getParentRoleName() {
+        return parentRoleName;
+    }
+
+    /** true 表示新增继承边，false 表示删除 */
+    public boolean isAdded() {
+        return added;
+    }
+}
@@ -33,4 +33,17 @@ public class RolePermissionAssignedEventListener {
                 event.getPermissionIds(),
                 event.getAssignedAt());
     }
+
+    /**
+     * 处理批量角色权限变更事件，记录审计日志（FR15）。
+     *
+     * @param event 批量角色权限变更事件
+     */
+    @EventListener
+    @Async
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        log.info("[AUDIT] Role permission bulk change: changes={}, timestamp={}",
+                event.getChanges(),
+                event.getChangedAt());
+    }
 }
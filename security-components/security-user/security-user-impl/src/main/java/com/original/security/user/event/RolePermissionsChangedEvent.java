@@ -0,0 +1,64 @@
+package com.original.security.user.event;
+
+import org.springframework.context.ApplicationEvent;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 批量角色权限变更事件（一次批量变更只发布一个，FR15 审计日志与缓存更新的触发源）
+ */
+public class RolePermissionsChangedEvent extends ApplicationEvent {
+
+    private final List<Change> changes;
+    private final LocalDateTime changedAt;
+
+    public RolePermissionsChangedEvent(Object source, List<Change> changes) {
+        super(source);
+        this.changes = Collections.unmodifiableList(changes);
+        this.changedAt = LocalDateTime.now();
+    }
+
+    /** 返回不可变的各角色实际变更列表，只包含确有新增或移除的角色 */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * 单个角色实际新增与移除的权限名称
+     */
+    public static final class Change {
+
+        private final String roleName;
+        private final Set<String> addedPermissions;
+        private final Set<String> removedPermissions;
+
+        public Change(String roleName, Set<String> addedPermissions, Set<String> removedPermissions) {
+            this.roleName = roleName;
+            this.addedPermissions = Collections.unmodifiableSet(addedPermissions);
+            this.removedPermissions = Collections.unmodifiableSet(removedPermissions);
+        }
+
+        public String getRoleName() {
+            return roleName;
+        }
+
+        public Set<String> getAddedPermissions() {
+            return addedPermissions;
+        }
+
+        public Set<String> getRemovedPermissions() {
+            return removedPermissions;
+        }
+
+        @Override
+        public String toString() {
+            return roleName + "{+" + addedPermissions + ", -" + removedPermissions + "}";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.original.security.user.event;
+
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 用户创建缓存监听器
+ *
+ * <p>用户创建事务提交后清除该用户名的授权快照 (包括负向缓存中的空快照)，
+ * 同时将其加入已存在用户名过滤器；其他节点通过 {@link AuthorizationInvalidationBroadcaster}
+ * 收到同一条用户级失效消息后做相同处理。与 {@link UserCreatedEvent} 的审计用途分离。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+public class UserCreatedCacheListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCreatedCacheListener.class);
+
+    private final AuthorizationInvalidationBroadcaster invalidationBroadcaster;
+
+    public UserCreatedCacheListener(AuthorizationInvalidationBroadcaster invalidationBroadcaster) {
+        this.invalidationBroadcaster = invalidationBroadcaster;
+    }
+
+    /**
+     * 事务提交后登记新用户名并清除其快照
+     *
+     * @param event 用户创建事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        log.debug("Registering created user for authorization caches: {}", event.getUsername());
+        invalidationBroadcaster.evictUser(event.getUsername());
+    }
+}
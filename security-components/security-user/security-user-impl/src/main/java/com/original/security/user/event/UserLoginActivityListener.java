@@ -0,0 +1,48 @@
+package com.original.security.user.event;
+
+import com.original.security.user.entity.UserLoginActivity;
+import com.original.security.user.repository.UserLoginActivityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户登录活跃度记录监听器
+ *
+ * <p>认证成功后更新 {@link UserLoginActivity}，为启动预热提供最近活跃用户列表。
+ * 仅在启用授权缓存预热时注册，记录失败只打印日志，不影响登录流程。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.user.warmup", name = "enabled", havingValue = "true")
+public class UserLoginActivityListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLoginActivityListener.class);
+
+    private final UserLoginActivityRepository loginActivityRepository;
+
+    public UserLoginActivityListener(UserLoginActivityRepository loginActivityRepository) {
+        this.loginActivityRepository = loginActivityRepository;
+    }
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        String username = event.getAuthentication().getName();
+        if (username == null || username.isEmpty()) {
+            return;
+        }
+        try {
+            loginActivityRepository.save(new UserLoginActivity(username, LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to record login activity for user: {}", username, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.AclEntry;
+
+/**
+ * ACL 授权的幂等写入
+ *
+ * <p>作为 {@link AclEntryRepository} 的片段，直接以 JDBC 语句写入 {@code acl_entries}，
+ * 由 {@code uk_acl_entries_grant} 唯一约束保证同一授权只写入一次。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface AclEntryGrantRepository {
+
+    /**
+     * 写入一条授权，授权已存在 (包括被并发事务先一步写入) 时不做任何修改
+     *
+     * @return true 如果写入了新行，false 如果授权已存在
+     */
+    boolean insertGrant(String targetType, String targetId, AclEntry.PrincipalType principalType,
+                        String principal, String permission);
+}
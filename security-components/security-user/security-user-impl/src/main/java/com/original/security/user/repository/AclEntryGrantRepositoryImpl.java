@@ -0,0 +1,40 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.AclEntry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+/**
+ * {@link AclEntryGrantRepository} 的 JDBC 实现
+ * <p>
+ * 与 JPA 共用同一事务管理器，语句在调用方的事务中执行。唯一约束冲突只回滚该语句本身 (MySQL InnoDB、H2)，
+ * 不会把调用方的事务标记为仅回滚，也不影响同一连接上的 Hibernate 会话。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class AclEntryGrantRepositoryImpl implements AclEntryGrantRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO acl_entries "
+            + "(target_type, target_id, principal_type, principal, permission, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AclEntryGrantRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertGrant(String targetType, String targetId, AclEntry.PrincipalType principalType,
+                               String principal, String permission) {
+        try {
+            return jdbcTemplate.update(INSERT_SQL, targetType, targetId, principalType.name(), principal, permission,
+                    new Timestamp(System.currentTimeMillis())) > 0;
+        } catch (DuplicateKeyException e) {
+            // 授权已存在，或并发授予同一条目的事务先一步写入
+            return false;
+        }
+    }
+}
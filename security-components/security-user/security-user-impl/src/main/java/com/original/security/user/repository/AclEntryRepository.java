@@ -0,0 +1,46 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.AclEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ACL 条目 Repository
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Repository
+public interface AclEntryRepository extends JpaRepository<AclEntry, Long>, AclEntryGrantRepository {
+
+    /**
+     * 批量查询同一类型多条记录的 ACL 条目 (用于 ACL 索引填充)
+     * <p>
+     * 调用方负责控制 IN 列表大小，避免超出数据库参数上限。
+     *
+     * @param targetType 记录类型
+     * @param targetIds  记录 ID 集合
+     * @return ACL 条目列表
+     */
+    List<AclEntry> findByTargetTypeAndTargetIdIn(String targetType, Collection<String> targetIds);
+
+    /**
+     * 删除一条授权
+     *
+     * @return 删除的行数
+     */
+    @Modifying
+    @Query("DELETE FROM AclEntry e WHERE e.targetType = :targetType AND e.targetId = :targetId " +
+           "AND e.principalType = :principalType AND e.principal = :principal AND e.permission = :permission")
+    int deleteGrant(@Param("targetType") String targetType,
+                    @Param("targetId") String targetId,
+                    @Param("principalType") AclEntry.PrincipalType principalType,
+                    @Param("principal") String principal,
+                    @Param("permission") String permission);
+}
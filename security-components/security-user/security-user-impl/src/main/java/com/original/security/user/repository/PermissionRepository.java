@@ -1,9 +1,12 @@
 package com.original.security.user.repository;
 
+import com.original.security.user.entity.EntityCacheRegions;
 import com.original.security.user.entity.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +34,17 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
      * @return 权限列表
      */
     List<Permission> findAllByName(String name);
+
+    /**
+     * 按 ID 批量查询权限 (分配权限时校验 ID)，启用二级缓存时结果进入查询缓存
+     *
+     * @param ids 权限 ID
+     * @return 存在的权限
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = EntityCacheRegions.REFERENCE_QUERIES)
+    })
+    List<Permission> findAllById(Iterable<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.original.security.user.repository;
+
+/**
+ * 角色闭包表的一行：祖先角色经过 {@code depth} 条继承边可达后代角色
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class RoleClosureRow {
+
+    private final Long ancestorId;
+    private final Long descendantId;
+    private final int depth;
+
+    public RoleClosureRow(Long ancestorId, Long descendantId, int depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
@@ -0,0 +1,86 @@
+package com.original.security.user.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 角色继承边与闭包表的读写
+ *
+ * <p>作为 {@link RoleRepository} 的片段，以 JDBC 访问 {@code role_parents} 与 {@code role_closure}。
+ * 继承边 (role, parent) 表示父角色继承该角色的全部权限；闭包表保存每对 (祖先, 后代) 的最短深度，
+ * 不含深度为 0 的自身行。
+ *
+ * <p>编辑继承边时的查询均为加锁读取 ({@code FOR UPDATE})，读到最新提交的数据而不是事务快照。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface RoleHierarchyRepository {
+
+    /**
+     * 按 ID 顺序锁定角色行，直到事务结束
+     *
+     * @param roleIds 角色 ID
+     * @return 实际存在并已锁定的角色 ID
+     */
+    Set<Long> lockRoles(Collection<Long> roleIds);
+
+    /**
+     * 新增继承边
+     *
+     * @param roleId       被继承的角色 ID
+     * @param parentRoleId 父角色 ID
+     * @return true 如果写入了新边，边已存在时返回 false
+     */
+    boolean insertParentRole(Long roleId, Long parentRoleId);
+
+    /**
+     * 删除继承边
+     *
+     * @param roleId       被继承的角色 ID
+     * @param parentRoleId 父角色 ID
+     * @return true 如果删除了已有的边
+     */
+    boolean deleteParentRole(Long roleId, Long parentRoleId);
+
+    /**
+     * 逐层查询指定角色下方子树的继承边，按父角色分组
+     *
+     * @param roleIds 子树的根角色 ID
+     * @return 子树内父角色 ID 到其直接子角色 ID 的映射
+     */
+    Map<Long, Set<Long>> findChildRoleIdsBelow(Collection<Long> roleIds);
+
+    /**
+     * 查询角色的所有祖先 (直接或间接继承该角色的角色)
+     *
+     * @param roleId 角色 ID
+     * @return 祖先角色 ID 集合，不含自身
+     */
+    Set<Long> findAncestorRoleIds(Long roleId);
+
+    /**
+     * 查询角色的所有后代 (该角色直接或间接继承的角色)
+     *
+     * @param roleId 角色 ID
+     * @return 后代角色 ID 集合，不含自身
+     */
+    Set<Long> findDescendantRoleIds(Long roleId);
+
+    /**
+     * 替换指定祖先的全部闭包行
+     *
+     * @param ancestorIds 需要重新计算的祖先角色 ID
+     * @param rows        这些祖先的新闭包行
+     */
+    void replaceClosure(Collection<Long> ancestorIds, List<RoleClosureRow> rows);
+
+    /**
+     * 查询完整的闭包表，以角色名称表示
+     *
+     * @return 祖先角色名称到其所有后代角色名称的映射
+     */
+    Map<String, Set<String>> findReachableRoleNames();
+}
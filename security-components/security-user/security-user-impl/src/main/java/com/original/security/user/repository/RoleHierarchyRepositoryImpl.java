@@ -0,0 +1,116 @@
+package com.original.security.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link RoleHierarchyRepository} 的 JDBC 实现
+ * <p>
+ * 与 JPA 共用同一事务管理器，语句在调用方的事务中执行。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class RoleHierarchyRepositoryImpl implements RoleHierarchyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public RoleHierarchyRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public Set<Long> lockRoles(Collection<Long> roleIds) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT id FROM roles WHERE id IN (:roleIds) ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("roleIds", roleIds), Long.class));
+    }
+
+    @Override
+    public boolean insertParentRole(Long roleId, Long parentRoleId) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM role_parents WHERE role_id = ? AND parent_role_id = ?",
+                Integer.class, roleId, parentRoleId);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        jdbcTemplate.update("INSERT INTO role_parents (role_id, parent_role_id) VALUES (?, ?)", roleId, parentRoleId);
+        return true;
+    }
+
+    @Override
+    public boolean deleteParentRole(Long roleId, Long parentRoleId) {
+        return jdbcTemplate.update("DELETE FROM role_parents WHERE role_id = ? AND parent_role_id = ?",
+                roleId, parentRoleId) > 0;
+    }
+
+    @Override
+    public Map<Long, Set<Long>> findChildRoleIdsBelow(Collection<Long> roleIds) {
+        Map<Long, Set<Long>> children = new HashMap<>();
+        Set<Long> visited = new HashSet<>(roleIds);
+        Collection<Long> frontier = roleIds;
+        while (!frontier.isEmpty()) {
+            Set<Long> next = new HashSet<>();
+            namedJdbcTemplate.query("SELECT role_id, parent_role_id FROM role_parents " +
+                    "WHERE parent_role_id IN (:parentIds) FOR UPDATE",
+                    new MapSqlParameterSource("parentIds", frontier), rs -> {
+                        long child = rs.getLong("role_id");
+                        children.computeIfAbsent(rs.getLong("parent_role_id"), id -> new HashSet<>()).add(child);
+                        if (visited.add(child)) {
+                            next.add(child);
+                        }
+                    });
+            frontier = next;
+        }
+        return children;
+    }
+
+    @Override
+    public Set<Long> findAncestorRoleIds(Long roleId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT ancestor_id FROM role_closure WHERE descendant_id = ? FOR UPDATE", Long.class, roleId));
+    }
+
+    @Override
+    public Set<Long> findDescendantRoleIds(Long roleId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT descendant_id FROM role_closure WHERE ancestor_id = ? FOR UPDATE", Long.class, roleId));
+    }
+
+    @Override
+    public void replaceClosure(Collection<Long> ancestorIds, List<RoleClosureRow> rows) {
+        if (!ancestorIds.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM role_closure WHERE ancestor_id IN (:ancestorIds)",
+                    new MapSqlParameterSource("ancestorIds", ancestorIds));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (RoleClosureRow row : rows) {
+            args.add(new Object[]{row.getAncestorId(), row.getDescendantId(), row.getDepth()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO role_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)", args);
+    }
+
+    @Override
+    public Map<String, Set<String>> findReachableRoleNames() {
+        Map<String, Set<String>> reachable = new HashMap<>();
+        jdbcTemplate.query("SELECT a.name AS ancestor, d.name AS descendant FROM role_closure c " +
+                "JOIN roles a ON a.id = c.ancestor_id JOIN roles d ON d.id = c.descendant_id", rs -> {
+            reachable.computeIfAbsent(rs.getString("ancestor"), name -> new HashSet<>()).add(rs.getString("descendant"));
+        });
+        return reachable;
+    }
+}
@@ -0,0 +1,33 @@
+package com.original.security.user.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 角色-权限关联表的批量写入
+ *
+ * <p>作为 {@link RoleRepository} 的片段，直接以 JDBC 批量语句写入 {@code role_permissions}，
+ * 不加载也不修改 {@link com.original.security.user.entity.Role#getPermissions()} 集合。
+ * 调用方负责在写入前确认关联是否已存在，并注意同一持久化上下文中已初始化的集合不会反映这些写入。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface RolePermissionBatchRepository {
+
+    /**
+     * 批量新增角色-权限关联
+     *
+     * @param permissionIdsByRoleId 角色 ID 到待新增权限 ID 的映射，关联不得已存在
+     * @return 写入的行数
+     */
+    int insertRolePermissions(Map<Long, ? extends Collection<Long>> permissionIdsByRoleId);
+
+    /**
+     * 批量删除角色-权限关联
+     *
+     * @param permissionIdsByRoleId 角色 ID 到待删除权限 ID 的映射
+     * @return 删除的行数
+     */
+    int deleteRolePermissions(Map<Long, ? extends Collection<Long>> permissionIdsByRoleId);
+}
@@ -0,0 +1,58 @@
+package com.original.security.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RolePermissionBatchRepository} 的 JDBC 实现
+ * <p>
+ * 与 JPA 共用同一事务管理器，批量语句在调用方的事务中执行。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class RolePermissionBatchRepositoryImpl implements RolePermissionBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+
+    private static final String DELETE_SQL = "DELETE FROM role_permissions WHERE role_id = ? AND permission_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RolePermissionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertRolePermissions(Map<Long, ? extends Collection<Long>> permissionIdsByRoleId) {
+        return batchUpdate(INSERT_SQL, permissionIdsByRoleId);
+    }
+
+    @Override
+    public int deleteRolePermissions(Map<Long, ? extends Collection<Long>> permissionIdsByRoleId) {
+        return batchUpdate(DELETE_SQL, permissionIdsByRoleId);
+    }
+
+    private int batchUpdate(String sql, Map<Long, ? extends Collection<Long>> permissionIdsByRoleId) {
+        List<Object[]> rows = new ArrayList<>();
+        permissionIdsByRoleId.forEach((roleId, permissionIds) -> {
+            for (Long permissionId : permissionIds) {
+                rows.add(new Object[]{roleId, permissionId});
+            }
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, rows)) {
+            // 部分驱动在批量模式下返回 SUCCESS_NO_INFO (-2)，按一行计
+            updated += count > 0 ? count : (count == Statement.SUCCESS_NO_INFO ? 1 : 0);
+        }
+        return updated;
+    }
+}
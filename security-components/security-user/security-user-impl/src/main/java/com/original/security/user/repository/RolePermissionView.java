@@ -0,0 +1,50 @@
+package com.original.security.user.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 角色-权限投影行
+ *
+ * <p>由 {@link RoleRepository#findPermissionsByRoleIdIn} 返回，每行对应一个 (角色, 权限) 组合，
+ * 用于分页列出角色时一次取回整页角色的权限，而不逐个初始化 LAZY 集合。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class RolePermissionView {
+
+    private final Long roleId;
+    private final Long permissionId;
+    private final String permissionName;
+    private final String permissionDescription;
+    private final LocalDateTime permissionCreatedAt;
+
+    public RolePermissionView(Long roleId, Long permissionId, String permissionName,
+                              String permissionDescription, LocalDateTime permissionCreatedAt) {
+        this.roleId = roleId;
+        this.permissionId = permissionId;
+        this.permissionName = permissionName;
+        this.permissionDescription = permissionDescription;
+        this.permissionCreatedAt = permissionCreatedAt;
+    }
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public Long getPermissionId() {
+        return permissionId;
+    }
+
+    public String getPermissionName() {
+        return permissionName;
+    }
+
+    public String getPermissionDescription() {
+        return permissionDescription;
+    }
+
+    public LocalDateTime getPermissionCreatedAt() {
+        return permissionCreatedAt;
+    }
+}
@@ -1,9 +1,17 @@
 package com.original.security.user.repository;
 
+import com.original.security.user.entity.EntityCacheRegions;
 import com.original.security.user.entity.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,13 +21,40 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, RolePermissionBatchRepository,
+        RoleHierarchyRepository {
 
     /**
-     * 根据名称查询角色
+     * 根据名称查询角色，启用二级缓存时结果进入查询缓存
      *
      * @param name 角色名称
      * @return 角色信息
      */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = EntityCacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Role> findByName(String name);
+
+    /**
+     * 根据 ID 查询角色，并在同一条 SQL 中取回其权限
+     *
+     * @param id 角色 ID
+     * @return 角色信息，权限集合已初始化
+     */
+    @EntityGraph(attributePaths = "permissions")
+    Optional<Role> findWithPermissionsById(Long id);
+
+    /**
+     * 批量查询多个角色的权限 (用于分页列出角色)
+     * <p>
+     * 一次取回整页角色的 (角色, 权限) 组合，避免逐个初始化 LAZY 集合产生的 N + 1 次查询；
+     * 没有权限的角色不返回任何行。调用方负责控制 IN 列表大小。
+     *
+     * @param roleIds 角色 ID 集合
+     * @return 投影行列表，按角色 ID 区分
+     */
+    @Query("SELECT new com.original.security.user.repository.RolePermissionView(r.id, p.id, p.name, p.description, p.createdAt) " +
+           "FROM Role r JOIN r.permissions p WHERE r.id IN :roleIds")
+    List<RolePermissionView> findPermissionsByRoleIdIn(@Param("roleIds") Collection<Long> roleIds);
 }
@@ -0,0 +1,28 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.UserLoginActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 用户最近登录记录 Repository
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@Repository
+public interface UserLoginActivityRepository extends JpaRepository<UserLoginActivity, String> {
+
+    /**
+     * 按最近登录时间倒序查询用户名
+     *
+     * @param pageable 分页参数，用于限制返回数量
+     * @return 用户名列表
+     */
+    @Query("SELECT a.username FROM UserLoginActivity a ORDER BY a.lastLoginAt DESC")
+    List<String> findRecentUsernames(Pageable pageable);
+}
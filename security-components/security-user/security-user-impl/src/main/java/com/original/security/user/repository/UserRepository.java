@@ -5,10 +5,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 用户 Repository
@@ -52,12 +57,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     /**
-     * 根据角色名称查找用户 (用于缓存精确失效)
+     * 查询给定用户名中实际存在的部分 (用于用户名过滤器之外的存在性检查)
      *
-     * @param roleName 角色名称
-     * @return 关联该角色的用户列表
+     * @param usernames 用户名集合
+     * @return 存在的用户名
      */
-    java.util.List<User> findByRoles_Name(String roleName);
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 以流的方式读取全部用户名 (用于构建用户名过滤器)
+     * <p>
+     * 只投影用户名，不加载 User 实体；驱动按 fetch size 分批拉取。调用方必须在只读事务内消费并关闭流。
+     * MySQL Connector/J 需开启 {@code useCursorFetch=true} 才会按 fetch size 分批读取。
+     *
+     * @return 用户名流
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+
+    /**
+     * 单次查询加载启用用户的 (角色, 权限) 组合 (用于授权缓存填充)
+     * <p>
+     * 通过 JOIN 一次取回角色与权限，避免遍历 LAZY 集合产生的 1 + 1 + R 次查询。
+     * 用户不存在或已禁用时返回空列表；未分配权限的角色以 {@code permissionName = null} 的行返回。
+     *
+     * @param username 用户名
+     * @return 投影行列表
+     */
+    @Query("SELECT new com.original.security.user.repository.UserRolePermissionView(u.username, r.name, p.name) " +
+           "FROM User u JOIN u.roles r LEFT JOIN r.permissions p " +
+           "WHERE u.username = :username AND u.enabled = true")
+    List<UserRolePermissionView> findRolePermissionsByUsername(@Param("username") String username);
+
+    /**
+     * 批量加载多个启用用户的 (角色, 权限) 组合
+     * <p>
+     * 调用方负责控制 IN 列表大小，避免超出数据库参数上限。
+     *
+     * @param usernames 用户名集合
+     * @return 投影行列表，按用户名区分
+     */
+    @Query("SELECT new com.original.security.user.repository.UserRolePermissionView(u.username, r.name, p.name) " +
+           "FROM User u JOIN u.roles r LEFT JOIN r.permissions p " +
+           "WHERE u.username IN :usernames AND u.enabled = true")
+    List<UserRolePermissionView> findRolePermissionsByUsernameIn(@Param("usernames") Collection<String> usernames);
 
     /**
      * 根据用户名模糊查询和启用状态筛选用户列表
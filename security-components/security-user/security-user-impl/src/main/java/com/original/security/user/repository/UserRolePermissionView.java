@@ -0,0 +1,35 @@
+package com.original.security.user.repository;
+
+/**
+ * 用户-角色-权限投影行
+ *
+ * <p>由 {@link UserRepository} 的授权投影查询返回，每行对应一个 (用户, 角色, 权限) 组合。
+ * 角色未分配任何权限时 {@code permissionName} 为 null。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class UserRolePermissionView {
+
+    private final String username;
+    private final String roleName;
+    private final String permissionName;
+
+    public UserRolePermissionView(String username, String roleName, String permissionName) {
+        this.username = username;
+        this.roleName = roleName;
+        this.permissionName = permissionName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public String getPermissionName() {
+        return permissionName;
+    }
+}
@@ -1,45 +1,47 @@
 package com.original.security.user.service.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.original.security.config.SecurityProperties;
-import com.original.security.user.entity.Permission;
-import com.original.security.user.entity.Role;
-import com.original.security.user.entity.User;
-import com.original.security.user.repository.UserRepository;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
+import com.original.security.user.authorization.AuthorizationSnapshot;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
 import com.original.security.user.service.PermissionService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
 
 /**
  * 权限服务实现
+ * <p>
+ * 权限数据来自 {@link AuthorizationSnapshotCache} 中的用户授权快照，与角色服务共享同一份缓存。
+ * 缓存清理经由 {@link AuthorizationInvalidationBroadcaster}，同时通知其他节点。
+ * 批量检查只解析一次快照与权限 ID，多用户检查合并为一次批量加载。
+ * 逐对检查时每个不同的用户只解析一次快照，每个不同的权限只解析一次 ID。
+ * 精确授权未命中时再匹配快照中的通配符授权 (如 {@code user:*})，见 {@link com.original.security.user.authorization.PermissionTrie}。
  */
 @Service
 public class PermissionServiceImpl implements PermissionService {
 
-    private final UserRepository userRepository;
-    private final SecurityProperties securityProperties;
-
-    /**
-     * 用户权限缓存
-     */
-    private final Cache<String, Set<String>> permissionCache;
-
-    public PermissionServiceImpl(UserRepository userRepository, SecurityProperties securityProperties) {
-        this.userRepository = userRepository;
-        this.securityProperties = securityProperties;
-        
-        SecurityProperties.Cache cacheConfig = securityProperties.getCache();
-        this.permissionCache = Caffeine.newBuilder()
-                .maximumSize(cacheConfig.getMaximumSize())
-                .expireAfterWrite(cacheConfig.getTtlMinutes(), java.util.concurrent.TimeUnit.MINUTES)
-                .build();
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final AuthorizationInvalidationBroadcaster invalidationBroadcaster;
+
+    public PermissionServiceImpl(AuthorizationSnapshotCache snapshotCache,
+                                 AuthorizationInvalidationBroadcaster invalidationBroadcaster) {
+        this.snapshotCache = snapshotCache;
+        this.invalidationBroadcaster = invalidationBroadcaster;
     }
 
     @Override
@@ -49,44 +51,141 @@ public class PermissionServiceImpl implements PermissionService {
             return false;
         }
 
-        Set<String> userPermissions = getOrLoadPermissions(username);
-        return userPermissions.contains(permission);
+        return snapshotCache.get(username)
+                .hasPermission(snapshotCache.getPermissionCatalog().idOf(permission), permission);
     }
 
-    private Set<String> getOrLoadPermissions(String username) {
-        return permissionCache.get(username, key -> {
-            Optional<User> userOpt = userRepository.findByUsername(key);
-            // 负向缓存：如果用户不存在或已禁用，返回一个空集（不可变），而不是 null。
-            // Caffeine 会缓存此空集，从而避免频繁查库。
-            if (!userOpt.isPresent() || !userOpt.get().isEnabled()) {
-                return Collections.emptySet();
+    @Override
+    @Transactional(readOnly = true)
+    public BitSet check(String username, Collection<String> permissions) {
+        if (username == null || username.trim().isEmpty() || permissions == null || permissions.isEmpty()) {
+            return new BitSet();
+        }
+        AuthorizationSnapshot snapshot = snapshotCache.get(username);
+        String[] names = permissions.toArray(new String[0]);
+        return check(snapshot, toPermissionIds(names), names);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, BitSet> checkAll(Collection<String> usernames, Collection<String> permissions) {
+        Map<String, BitSet> result = new LinkedHashMap<>();
+        if (usernames == null || usernames.isEmpty()) {
+            return result;
+        }
+        Set<String> valid = new LinkedHashSet<>();
+        for (String username : usernames) {
+            if (username != null && !username.trim().isEmpty()) {
+                valid.add(username);
             }
-            return Collections.unmodifiableSet(loadPermissionsFromUser(userOpt.get()));
-        });
+        }
+        boolean nothingToCheck = permissions == null || permissions.isEmpty() || valid.isEmpty();
+        Map<String, AuthorizationSnapshot> snapshots = nothingToCheck
+                ? Collections.emptyMap() : snapshotCache.getAll(valid);
+        // 权限 ID 在快照加载时登记，必须在加载之后解析
+        String[] names = nothingToCheck ? new String[0] : permissions.toArray(new String[0]);
+        int[] ids = toPermissionIds(names);
+        for (String username : usernames) {
+            AuthorizationSnapshot snapshot = snapshots.get(username);
+            result.put(username, snapshot != null ? check(snapshot, ids, names) : new BitSet());
+        }
+        return result;
     }
 
-    private Set<String> loadPermissionsFromUser(User user) {
-        Set<String> permissions = new HashSet<>();
-        for (Role role : user.getRoles()) {
-            Set<Permission> rolePermissions = role.getPermissions();
-            if (rolePermissions != null) {
-                permissions.addAll(rolePermissions.stream()
-                        .map(Permission::getName)
-                        .collect(Collectors.toSet()));
+    @Override
+    @Transactional(readOnly = true)
+    public BitSet checkPairs(List<String> usernames, List<String> permissions) {
+        if (usernames.size() != permissions.size()) {
+            throw new IllegalArgumentException("usernames and permissions must have the same size");
+        }
+        BitSet granted = new BitSet(usernames.size());
+        Set<String> valid = new LinkedHashSet<>();
+        for (String username : usernames) {
+            if (username != null && !username.trim().isEmpty()) {
+                valid.add(username);
             }
         }
-        return permissions;
+        if (valid.isEmpty()) {
+            return granted;
+        }
+        Map<String, AuthorizationSnapshot> snapshots = snapshotCache.getAll(valid);
+        // 权限 ID 在快照加载时登记，必须在加载之后解析
+        PermissionCatalog catalog = snapshotCache.getPermissionCatalog();
+        Map<String, Integer> permissionIds = new HashMap<>();
+        for (int i = 0; i < usernames.size(); i++) {
+            AuthorizationSnapshot snapshot = snapshots.get(usernames.get(i));
+            String permission = permissions.get(i);
+            if (snapshot == null || permission == null) {
+                continue;
+            }
+            int id = permissionIds.computeIfAbsent(permission, catalog::idOf);
+            if (snapshot.hasPermission(id, permission)) {
+                granted.set(i);
+            }
+        }
+        return granted;
+    }
+
+    @Override
+    public PermissionManifestDTO getPermissionManifest(String username) {
+        // 不开启事务：快照命中缓存时既不查询数据库也不获取连接
+        AuthorizationSnapshot snapshot = snapshotCache.get(username);
+        PermissionManifestDTO manifest = new PermissionManifestDTO();
+        manifest.setUsername(username);
+        manifest.setVersion(snapshot.getVersion());
+        manifest.setRoles(new TreeSet<>(snapshot.getExpandedRoles()));
+        manifest.setPermissions(new TreeSet<>(snapshot.getPermissions().toNames(snapshotCache.getPermissionCatalog())));
+        return manifest;
+    }
+
+    @Override
+    public String getPermissionManifestDigest(String username) {
+        AuthorizationSnapshot snapshot = snapshotCache.get(username);
+        String[] roles = snapshot.getExpandedRoles().toArray(new String[0]);
+        String[] permissions = snapshot.getPermissions().toNames(snapshotCache.getPermissionCatalog())
+                .toArray(new String[0]);
+        Arrays.sort(roles);
+        Arrays.sort(permissions);
+        // 以 NUL 分隔名称，以 SOH 分隔角色与权限两段，避免不同拆分得到相同输入
+        StringBuilder content = new StringBuilder(username).append('\0');
+        for (String role : roles) {
+            content.append(role).append('\0');
+        }
+        content.append('\1');
+        for (String permission : permissions) {
+            content.append(permission).append('\0');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
     public void clearCache(String username) {
         if (username != null) {
-            permissionCache.invalidate(username);
+            invalidationBroadcaster.evictUser(username);
         }
     }
 
     @Override
     public void clearAllCache() {
-        permissionCache.invalidateAll();
+        invalidationBroadcaster.evictAll();
+    }
+
+    private int[] toPermissionIds(String[] permissions) {
+        PermissionCatalog catalog = snapshotCache.getPermissionCatalog();
+        int[] ids = new int[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            ids[i] = permissions[i] != null ? catalog.idOf(permissions[i]) : PermissionCatalog.UNKNOWN;
+        }
+        return ids;
+    }
+
+    private static BitSet check(AuthorizationSnapshot snapshot, int[] ids, String[] names) {
+        BitSet granted = new BitSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (snapshot.hasPermission(ids[i], names[i])) {
+                granted.set(i);
+            }
+        }
+        return granted;
     }
-}
\ No newline at end of file
+}
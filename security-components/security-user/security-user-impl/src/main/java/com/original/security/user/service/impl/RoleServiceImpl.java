@@ -1,37 +1,40 @@
 package com.original.security.user.service.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.original.security.config.SecurityProperties;
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
+import com.original.security.user.api.dto.request.RolePermissionChange;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.PermissionDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.UserProperties;
 import com.original.security.user.entity.Permission;
 import com.original.security.user.entity.Role;
-import com.original.security.user.entity.User;
 import com.original.security.user.event.RolePermissionAssignedEvent;
+import com.original.security.user.event.RoleHierarchyChangedEvent;
+import com.original.security.user.event.RolePermissionsChangedEvent;
 import com.original.security.user.repository.PermissionRepository;
+import com.original.security.user.repository.RoleClosureRow;
+import com.original.security.user.repository.RolePermissionView;
 import com.original.security.user.repository.RoleRepository;
-import com.original.security.user.repository.UserRepository;
 import com.original.security.user.service.RoleService;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.lang.Nullable;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -41,36 +44,25 @@ import java.util.stream.Collectors;
 @Service
 public class RoleServiceImpl implements RoleService {
 
-    private final UserRepository userRepository;
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final AuthorizationInvalidationBroadcaster invalidationBroadcaster;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
-    private final RoleHierarchy roleHierarchy;
     private final ApplicationEventPublisher eventPublisher;
-    private final SecurityProperties securityProperties;
+    private final UserProperties.RoleListing roleListing;
 
-    /**
-     * 用户角色缓存
-     */
-    private final Cache<String, Set<String>> roleCache;
-
-    public RoleServiceImpl(UserRepository userRepository,
+    public RoleServiceImpl(AuthorizationSnapshotCache snapshotCache,
+                           AuthorizationInvalidationBroadcaster invalidationBroadcaster,
                            RoleRepository roleRepository,
                            PermissionRepository permissionRepository,
                            ApplicationEventPublisher eventPublisher,
-                           SecurityProperties securityProperties,
-                           @Nullable RoleHierarchy roleHierarchy) {
-        this.userRepository = userRepository;
+                           UserProperties userProperties) {
+        this.snapshotCache = snapshotCache;
+        this.invalidationBroadcaster = invalidationBroadcaster;
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.eventPublisher = eventPublisher;
-        this.securityProperties = securityProperties;
-        this.roleHierarchy = roleHierarchy;
-
-        SecurityProperties.Cache cacheConfig = securityProperties.getCache();
-        this.roleCache = Caffeine.newBuilder()
-                .maximumSize(cacheConfig.getMaximumSize())
-                .expireAfterWrite(cacheConfig.getTtlMinutes(), java.util.concurrent.TimeUnit.MINUTES)
-                .build();
+        this.roleListing = userProperties.getRoleListing();
     }
 
     @Override
@@ -80,57 +72,19 @@ public class RoleServiceImpl implements RoleService {
             return false;
         }
 
-        Set<String> userRoles = getOrLoadRoles(username);
-        return matchesRole(userRoles, role);
-    }
-
-    private Set<String> getOrLoadRoles(String username) {
-        return roleCache.get(username, key -> {
-            Optional<User> userOpt = userRepository.findByUsername(key);
-            if (!userOpt.isPresent() || !userOpt.get().isEnabled()) {
-                return Collections.emptySet();
-            }
-            return Collections.unmodifiableSet(loadRolesFromUser(userOpt.get()));
-        });
-    }
-
-    private boolean matchesRole(Set<String> userRoles, String role) {
-        if (userRoles.contains(role)) {
-            return true;
-        }
-
-        if (roleHierarchy != null) {
-            Collection<GrantedAuthority> authorities = userRoles.stream()
-                    .map(r -> new SimpleGrantedAuthority(r.startsWith("ROLE_") ? r : "ROLE_" + r))        
-                    .collect(Collectors.toList());
-
-            Collection<? extends GrantedAuthority> reachableAuthorities =
-                    roleHierarchy.getReachableGrantedAuthorities(authorities);
-            String searchRole = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-
-            return reachableAuthorities.stream()
-                    .anyMatch(a -> a.getAuthority().equals(searchRole));
-        }
-
-        return false;
-    }
-
-    private Set<String> loadRolesFromUser(User user) {
-        return user.getRoles().stream()
-                .map(Role::getName)
-                .collect(Collectors.toSet());
+        return snapshotCache.get(username).hasRole(role);
     }
 
     @Override
     public void clearCache(String username) {
         if (username != null) {
-            roleCache.invalidate(username);
+            invalidationBroadcaster.evictUser(username);
         }
     }
 
     @Override
     public void clearAllCache() {
-        roleCache.invalidateAll();
+        invalidationBroadcaster.evictAll();
     }
 
     @Override
@@ -174,10 +128,165 @@ public class RoleServiceImpl implements RoleService {
         eventPublisher.publishEvent(new RolePermissionAssignedEvent(this, role.getName(), requestedIds)); 
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>角色、权限与现有关联各一次查询；新增与移除分别以一条 JDBC 批量语句写入 {@code role_permissions}。
+     * 同一角色出现多次时按请求顺序依次应用，最终只写入与现有关联的差异。
+     */
+    @Override
+    @Transactional
+    public void changePermissions(RolePermissionBulkRequest request) {
+        Set<Long> roleIds = new LinkedHashSet<>();
+        Set<Long> permissionIds = new HashSet<>();
+        for (RolePermissionChange change : request.getChanges()) {
+            roleIds.add(change.getRoleId());
+            permissionIds.addAll(idsOf(change.getAddPermissionIds()));
+            permissionIds.addAll(idsOf(change.getRemovePermissionIds()));
+        }
+
+        Map<Long, String> roleNames = roleRepository.findAllById(roleIds).stream()
+                .collect(Collectors.toMap(Role::getId, Role::getName));
+        if (roleNames.size() != roleIds.size()) {
+            throw new IllegalArgumentException("Role IDs not found: " + missingIds(roleIds, roleNames.keySet()));
+        }
+        Map<Long, String> permissionNames = permissionIds.isEmpty() ? new HashMap<>()
+                : permissionRepository.findAllById(permissionIds).stream()
+                        .collect(Collectors.toMap(Permission::getId, Permission::getName));
+        if (permissionNames.size() != permissionIds.size()) {
+            throw new IllegalArgumentException("Permission IDs not found: "
+                    + missingIds(permissionIds, permissionNames.keySet()));
+        }
+
+        Map<Long, Set<Long>> current = new HashMap<>();
+        for (RolePermissionView row : roleRepository.findPermissionsByRoleIdIn(roleIds)) {
+            current.computeIfAbsent(row.getRoleId(), id -> new HashSet<>()).add(row.getPermissionId());
+        }
+        Map<Long, Set<Long>> target = new LinkedHashMap<>();
+        for (Long roleId : roleIds) {
+            target.put(roleId, new HashSet<>(current.getOrDefault(roleId, Collections.emptySet())));
+        }
+        for (RolePermissionChange change : request.getChanges()) {
+            List<Long> additions = idsOf(change.getAddPermissionIds());
+            List<Long> removals = idsOf(change.getRemovePermissionIds());
+            if (!Collections.disjoint(additions, removals)) {
+                throw new IllegalArgumentException("Permission both added and removed for role: " + change.getRoleId());
+            }
+            Set<Long> permissions = target.get(change.getRoleId());
+            permissions.removeAll(removals);
+            permissions.addAll(additions);
+        }
+
+        Map<Long, Set<Long>> added = new LinkedHashMap<>();
+        Map<Long, Set<Long>> removed = new LinkedHashMap<>();
+        List<RolePermissionsChangedEvent.Change> changes = new ArrayList<>();
+        target.forEach((roleId, permissions) -> {
+            Set<Long> before = current.getOrDefault(roleId, Collections.emptySet());
+            Set<Long> roleAdded = permissions.stream().filter(id -> !before.contains(id)).collect(Collectors.toSet());
+            Set<Long> roleRemoved = before.stream().filter(id -> !permissions.contains(id)).collect(Collectors.toSet());
+            if (roleAdded.isEmpty() && roleRemoved.isEmpty()) {
+                return;
+            }
+            added.put(roleId, roleAdded);
+            removed.put(roleId, roleRemoved);
+            changes.add(new RolePermissionsChangedEvent.Change(roleNames.get(roleId),
+                    namesOf(roleAdded, permissionNames), namesOf(roleRemoved, permissionNames)));
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        roleRepository.deleteRolePermissions(removed);
+        roleRepository.insertRolePermissions(added);
+
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent(this, changes));
+    }
+
+    @Override
+    @Transactional
+    public void addParentRole(Long roleId, Long parentRoleId) {
+        lockHierarchy(roleId, parentRoleId);
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleId));
+        Role parent = roleRepository.findById(parentRoleId)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + parentRoleId));
+        if (roleId.equals(parentRoleId) || roleRepository.findAncestorRoleIds(parentRoleId).contains(roleId)) {
+            throw new IllegalArgumentException("Role hierarchy cycle: " + role.getName() + " already inherits " + parent.getName());
+        }
+        if (roleRepository.insertParentRole(roleId, parentRoleId)) {
+            rebuildClosure(parentRoleId);
+            eventPublisher.publishEvent(new RoleHierarchyChangedEvent(this, role.getName(), parent.getName(), true));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeParentRole(Long roleId, Long parentRoleId) {
+        lockHierarchy(roleId, parentRoleId);
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleId));
+        Role parent = roleRepository.findById(parentRoleId)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + parentRoleId));
+        if (roleRepository.deleteParentRole(roleId, parentRoleId)) {
+            rebuildClosure(parentRoleId);
+            eventPublisher.publishEvent(new RoleHierarchyChangedEvent(this, role.getName(), parent.getName(), false));
+        }
+    }
+
+    /**
+     * 锁定一条继承边涉及的角色：边的两端、父角色的祖先与子角色的后代。
+     * 并发的边变更若可能共同构成环或重写同一祖先的闭包行，两者的锁定集合必有交集，因而串行执行。
+     * 等待锁期间其他事务可能扩大了这些集合，因此重复读取直到没有新的角色需要锁定。
+     */
+    private void lockHierarchy(Long roleId, Long parentRoleId) {
+        Set<Long> locked = new HashSet<>(Arrays.asList(roleId, parentRoleId));
+        roleRepository.lockRoles(locked);
+        while (true) {
+            Set<Long> involved = roleRepository.findAncestorRoleIds(parentRoleId);
+            involved.addAll(roleRepository.findDescendantRoleIds(roleId));
+            involved.removeAll(locked);
+            if (involved.isEmpty()) {
+                return;
+            }
+            roleRepository.lockRoles(involved);
+            locked.addAll(involved);
+        }
+    }
+
+    /**
+     * 增量更新闭包表：一条继承边的变化只影响父角色及其祖先的可达集合，
+     * 逐个从这些角色下方子树的继承边重新计算其后代 (广度优先，得到最短深度) 并替换其闭包行。
+     * 父角色的祖先集合不受其下方边变化的影响，因此可以直接从现有闭包表读取。
+     */
+    private void rebuildClosure(Long parentRoleId) {
+        Set<Long> ancestors = roleRepository.findAncestorRoleIds(parentRoleId);
+        ancestors.add(parentRoleId);
+        Map<Long, Set<Long>> children = roleRepository.findChildRoleIdsBelow(ancestors);
+        List<RoleClosureRow> rows = new ArrayList<>();
+        for (Long ancestor : ancestors) {
+            Set<Long> visited = new HashSet<>();
+            visited.add(ancestor);
+            List<Long> frontier = Collections.singletonList(ancestor);
+            for (int depth = 1; !frontier.isEmpty(); depth++) {
+                List<Long> next = new ArrayList<>();
+                for (Long roleId : frontier) {
+                    for (Long child : children.getOrDefault(roleId, Collections.emptySet())) {
+                        if (visited.add(child)) {
+                            rows.add(new RoleClosureRow(ancestor, child, depth));
+                            next.add(child);
+                        }
+                    }
+                }
+                frontier = next;
+            }
+        }
+        roleRepository.replaceClosure(ancestors, rows);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public RoleDTO getRole(Long roleId) {
-        Role role = roleRepository.findById(roleId)
+        Role role = roleRepository.findWithPermissionsById(roleId)
                 .orElseThrow(() -> new IllegalArgumentException("Role not found"));
         return convertToDTO(role);
     }
@@ -192,13 +301,64 @@ public class RoleServiceImpl implements RoleService {
             throw new IllegalArgumentException("Page size must be between 1 and 100, got: " + size);      
         }
         Page<Role> rolePage = roleRepository.findAll(PageRequest.of(page, size));
+        Map<Long, List<PermissionDTO>> permissionsByRole = roleListing.isIncludePermissions()
+                ? findPermissionsByRole(rolePage.getContent()) : null;
         List<RoleDTO> content = rolePage.getContent().stream()
-                .map(this::convertToDTO)
+                .map(role -> convertToListDTO(role, permissionsByRole))
                 .collect(Collectors.toList());
         return new PageDTO<>(content, rolePage.getTotalElements(), rolePage.getTotalPages(),
                              rolePage.getSize(), rolePage.getNumber());
     }
 
+    /**
+     * 一次批量查询取回整页角色的权限，不触碰各角色的 LAZY 集合
+     */
+    private Map<Long, List<PermissionDTO>> findPermissionsByRole(List<Role> roles) {
+        Map<Long, List<PermissionDTO>> permissionsByRole = new HashMap<>();
+        if (roles.isEmpty()) {
+            return permissionsByRole;
+        }
+        List<Long> roleIds = roles.stream().map(Role::getId).collect(Collectors.toList());
+        for (RolePermissionView row : roleRepository.findPermissionsByRoleIdIn(roleIds)) {
+            PermissionDTO pd = new PermissionDTO();
+            pd.setId(row.getPermissionId());
+            pd.setName(row.getPermissionName());
+            pd.setDescription(row.getPermissionDescription());
+            pd.setCreatedAt(row.getPermissionCreatedAt());
+            permissionsByRole.computeIfAbsent(row.getRoleId(), id -> new ArrayList<>()).add(pd);
+        }
+        return permissionsByRole;
+    }
+
+    private static List<Long> idsOf(List<Long> ids) {
+        return ids != null ? ids : Collections.emptyList();
+    }
+
+    private static List<Long> missingIds(Set<Long> requested, Set<Long> found) {
+        return requested.stream()
+                .filter(id -> !found.contains(id))
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> namesOf(Set<Long> permissionIds, Map<Long, String> permissionNames) {
+        return permissionIds.stream().map(permissionNames::get).collect(Collectors.toSet());
+    }
+
+    /**
+     * 列表视图的角色 DTO，权限来自批量查询结果；未查询权限时 {@code permissions} 为 null
+     */
+    private RoleDTO convertToListDTO(Role role, Map<Long, List<PermissionDTO>> permissionsByRole) {
+        RoleDTO dto = new RoleDTO();
+        dto.setId(role.getId());
+        dto.setName(role.getName());
+        dto.setDescription(role.getDescription());
+        dto.setCreatedAt(role.getCreatedAt());
+        if (permissionsByRole != null) {
+            dto.setPermissions(permissionsByRole.getOrDefault(role.getId(), new ArrayList<>()));
+        }
+        return dto;
+    }
+
     private RoleDTO convertToDTO(Role role) {
         RoleDTO dto = new RoleDTO();
         dto.setId(role.getId());
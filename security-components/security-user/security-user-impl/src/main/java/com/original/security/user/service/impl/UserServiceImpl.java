@@ -2,6 +2,7 @@ package com.original.security.user.service.impl;
 
 import com.original.security.user.api.dto.request.UserCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
 import com.original.security.user.api.dto.response.UserDTO;
 import com.original.security.user.config.UserProperties;
 import com.original.security.user.entity.Role;
@@ -13,6 +14,7 @@ import com.original.security.user.exception.UserDisabledException;
 import com.original.security.user.exception.UserNotFoundException;
 import com.original.security.user.repository.RoleRepository;
 import com.original.security.user.repository.UserRepository;
+import com.original.security.user.service.PermissionService;
 import com.original.security.user.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,17 +59,20 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
     private final UserProperties userProperties;
+    private final PermissionService permissionService;
 
     public UserServiceImpl(UserRepository userRepository,
                           RoleRepository roleRepository,
                           PasswordEncoder passwordEncoder,
                           ApplicationEventPublisher eventPublisher,
-                          UserProperties userProperties) {
+                          UserProperties userProperties,
+                          PermissionService permissionService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.eventPublisher = eventPublisher;
         this.userProperties = userProperties;
+        this.permissionService = permissionService;
     }
 
     @Override
@@ -136,21 +141,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDTO getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        // 验证认证状态
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            log.warn("未授权的访问尝试: 获取当前用户");
-            throw new IllegalStateException("用户未认证");
-        }
-
-        String username = authentication.getName();
-
-        // 验证用户名有效性
-        if (username == null || username.trim().isEmpty()) {
-            log.warn("认证上下文中用户名为空");
-            throw new IllegalStateException("用户未认证");
-        }
+        String username = currentUsername();
 
         // 查找用户
         User user = userRepository.findByUsername(username)
@@ -169,6 +160,17 @@ public class UserServiceImpl implements UserService {
         return toDTO(user);
     }
 
+    @Override
+    public PermissionManifestDTO getCurrentUserPermissions() {
+        // 直接读取授权快照，不查询用户表
+        return permissionService.getPermissionManifest(currentUsername());
+    }
+
+    @Override
+    public String getCurrentUserPermissionsDigest() {
+        return permissionService.getPermissionManifestDigest(currentUsername());
+    }
+
     @Override
     public UserDTO getUser(Long userId) {
         User user = userRepository.findById(userId)
@@ -226,6 +228,30 @@ public class UserServiceImpl implements UserService {
         return savedRole;
     }
 
+    /**
+     * 从安全上下文中获取当前认证用户名
+     *
+     * @throws IllegalStateException 未认证或用户名为空时抛出
+     */
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // 验证认证状态
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            log.warn("未授权的访问尝试: 获取当前用户");
+            throw new IllegalStateException("用户未认证");
+        }
+
+        String username = authentication.getName();
+
+        // 验证用户名有效性
+        if (username == null || username.trim().isEmpty()) {
+            log.warn("认证上下文中用户名为空");
+            throw new IllegalStateException("用户未认证");
+        }
+        return username;
+    }
+
     /**
      * 转换 User 实体为 UserDTO
      */
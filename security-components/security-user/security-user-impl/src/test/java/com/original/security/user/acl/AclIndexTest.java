@@ -0,0 +1,143 @@
+package com.original.security.user.acl;
+
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.entity.AclEntry;
+import com.original.security.user.repository.AclEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * AclIndex 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class AclIndexTest {
+
+    private static final List<String> NO_ROLES = Collections.emptyList();
+
+    @Mock
+    private AclEntryRepository aclEntryRepository;
+
+    private PermissionCatalog catalog;
+
+    private AclIndex aclIndex;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new PermissionCatalog();
+        aclIndex = new AclIndex(aclEntryRepository, catalog, new UserProperties());
+    }
+
+    @Test
+    void testGet_UserAndRoleEntries_GrantedFromMemoryAfterFirstLoad() {
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn("Document", Collections.singletonList("42")))
+                .thenReturn(Arrays.asList(
+                        new AclEntry("Document", "42", AclEntry.PrincipalType.USER, "alice", "doc:write"),
+                        new AclEntry("Document", "42", AclEntry.PrincipalType.ROLE, "EDITOR", "doc:read")));
+
+        AclTargetPermissions acl = aclIndex.get("Document", "42");
+        int write = catalog.idOf("doc:write");
+        int read = catalog.idOf("doc:read");
+
+        assertTrue(acl.isGranted("alice", NO_ROLES, write));
+        assertFalse(acl.isGranted("alice", NO_ROLES, read));
+        assertTrue(acl.isGranted("bob", Collections.singleton("EDITOR"), read));
+        assertFalse(acl.isGranted("bob", Collections.singleton("EDITOR"), write));
+        assertSame(acl, aclIndex.get("Document", "42"));
+        verify(aclEntryRepository, times(1)).findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection());
+    }
+
+    @Test
+    void testGet_NoEntries_CachedAsEmpty() {
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        assertSame(AclTargetPermissions.EMPTY, aclIndex.get("Document", "7"));
+        assertSame(AclTargetPermissions.EMPTY, aclIndex.get("Document", "7"));
+        verify(aclEntryRepository, times(1)).findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection());
+    }
+
+    @Test
+    void testGetAll_ManyTargets_LoadedInChunkedBatches() {
+        List<String> ids = IntStream.range(0, AclIndex.BATCH_SIZE + 10).mapToObj(String::valueOf)
+                .collect(Collectors.toList());
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> chunk = invocation.getArgument(1);
+            return chunk.stream().filter(id -> id.equals("3"))
+                    .map(id -> new AclEntry("Document", id, AclEntry.PrincipalType.USER, "alice", "doc:read"))
+                    .collect(Collectors.toList());
+        });
+
+        Map<String, AclTargetPermissions> acls = aclIndex.getAll("Document", ids);
+
+        assertEquals(ids.size(), acls.size());
+        assertTrue(acls.get("3").isGranted("alice", NO_ROLES, catalog.idOf("doc:read")));
+        assertTrue(acls.get("4").isEmpty());
+        verify(aclEntryRepository, times(2)).findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection());
+    }
+
+    @Test
+    void testEvict_CachedTargetReloadedOnNextAccess() {
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(
+                        new AclEntry("Document", "42", AclEntry.PrincipalType.USER, "alice", "doc:write")));
+        aclIndex.get("Document", "42");
+        long changes = aclIndex.getChangeCount();
+
+        aclIndex.evict("Document", "42");
+
+        assertEquals(changes + 1, aclIndex.getChangeCount());
+        assertTrue(aclIndex.get("Document", "42").isGranted("alice", NO_ROLES, catalog.idOf("doc:write")));
+        verify(aclEntryRepository, times(2)).findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection());
+    }
+
+    @Test
+    void testGet_ManyTargetTypes_IndexesBounded() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.getAcl().setMaximumTargetTypes(2);
+        AclIndex boundedIndex = new AclIndex(aclEntryRepository, catalog, userProperties);
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(anyString(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        for (int i = 0; i < 50; i++) {
+            assertSame(AclTargetPermissions.EMPTY, boundedIndex.get("Type" + i, "42"));
+        }
+
+        assertTrue(boundedIndex.getCacheMetrics().getEstimatedSize() <= 2);
+    }
+
+    @Test
+    void testGetAll_ChangeDuringLoad_LoadedTargetsNotKept() {
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection())).thenAnswer(invocation -> {
+            // 模拟加载期间另一事务提交了授权
+            aclIndex.evict("Document", "42");
+            return Collections.emptyList();
+        });
+
+        aclIndex.getAll("Document", Arrays.asList("42", "43"));
+        aclIndex.getAll("Document", Arrays.asList("42", "43"));
+
+        verify(aclEntryRepository, times(2)).findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection());
+    }
+}
@@ -0,0 +1,104 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.repository.UserLoginActivityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthorizationCacheWarmer 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthorizationCacheWarmerTest {
+
+    @Mock
+    private AuthorizationSnapshotCache snapshotCache;
+
+    @Mock
+    private UserLoginActivityRepository loginActivityRepository;
+
+    private UserProperties userProperties;
+
+    private AuthorizationCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.getWarmup().setEnabled(true);
+        userProperties.getWarmup().setMaxUsers(5);
+        userProperties.getWarmup().setBatchSize(2);
+        warmer = new AuthorizationCacheWarmer(snapshotCache, loginActivityRepository, userProperties);
+    }
+
+    @Test
+    void testWarmUp_RecentUsers_LoadsInBatches() {
+        when(loginActivityRepository.findRecentUsernames(any(Pageable.class)))
+                .thenReturn(Arrays.asList("u1", "u2", "u3", "u4", "u5"));
+
+        warmer.warmUp();
+
+        verify(loginActivityRepository).findRecentUsernames(argThat(p -> p.getPageSize() == 5));
+        verify(snapshotCache).getAll(Arrays.asList("u1", "u2"));
+        verify(snapshotCache).getAll(Arrays.asList("u3", "u4"));
+        verify(snapshotCache).getAll(Collections.singletonList("u5"));
+        assertEquals(AuthorizationCacheWarmer.State.COMPLETED, warmer.getState());
+        assertEquals(5, warmer.getWarmedUsers());
+        assertEquals(5, warmer.getTotalUsers());
+    }
+
+    @Test
+    void testWarmUp_BudgetExhausted_StopsBeforeNextBatch() {
+        userProperties.getWarmup().setTimeBudgetSeconds(0);
+        when(loginActivityRepository.findRecentUsernames(any(Pageable.class)))
+                .thenReturn(Arrays.asList("u1", "u2", "u3"));
+
+        warmer.warmUp();
+
+        verify(snapshotCache, never()).getAll(anyCollection());
+        assertEquals(AuthorizationCacheWarmer.State.BUDGET_EXCEEDED, warmer.getState());
+        assertTrue(warmer.isFinished());
+    }
+
+    @Test
+    void testWarmUp_LoadFails_ReportsFailedWithoutThrowing() {
+        when(loginActivityRepository.findRecentUsernames(any(Pageable.class)))
+                .thenReturn(Arrays.asList("u1", "u2", "u3"));
+        when(snapshotCache.getAll(anyCollection())).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertDoesNotThrow(() -> warmer.warmUp());
+
+        assertEquals(AuthorizationCacheWarmer.State.FAILED, warmer.getState());
+        assertEquals(0, warmer.getWarmedUsers());
+    }
+
+    @Test
+    void testHealthIndicator_ReportsOutOfServiceUntilFinished() {
+        AuthorizationWarmupHealthIndicator indicator = new AuthorizationWarmupHealthIndicator(warmer);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        when(loginActivityRepository.findRecentUsernames(any(Pageable.class))).thenReturn(Collections.singletonList("u1"));
+        warmer.warmUp();
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(AuthorizationCacheWarmer.State.COMPLETED, health.getDetails().get("state"));
+        assertEquals(1, health.getDetails().get("warmedUsers"));
+    }
+}
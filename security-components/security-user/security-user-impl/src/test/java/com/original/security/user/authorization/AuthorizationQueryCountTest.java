@@ -0,0 +1,190 @@
+package com.original.security.user.authorization;
+
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.TestSecurityConfig;
+import com.original.security.user.config.UserConfig;
+import com.original.security.user.entity.Permission;
+import com.original.security.user.entity.Role;
+import com.original.security.user.entity.User;
+import com.original.security.user.service.impl.PermissionServiceImpl;
+import com.original.security.user.service.impl.RoleServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 授权数据加载的 SQL 次数测试
+ * <p>
+ * 通过 Hibernate Statistics 锁定每次缓存未命中只执行 1 条查询。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, AuthorizationLoader.class, PermissionCatalog.class, AuthorizationSnapshotCache.class,
+        UserConfig.class, AuthorizationInvalidationBroadcaster.class, PermissionServiceImpl.class, RoleServiceImpl.class})
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class AuthorizationQueryCountTest {
+
+    /**
+     * TestEntityManager - Spring Boot 测试框架特有的，必须使用 @Autowired 字段注入
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final AuthorizationLoader authorizationLoader;
+    private final AuthorizationSnapshotCache snapshotCache;
+    private final PermissionServiceImpl permissionService;
+    private final RoleServiceImpl roleService;
+    private final Statistics statistics;
+
+    AuthorizationQueryCountTest(AuthorizationLoader authorizationLoader,
+                                AuthorizationSnapshotCache snapshotCache,
+                                PermissionServiceImpl permissionService,
+                                RoleServiceImpl roleService,
+                                EntityManagerFactory entityManagerFactory) {
+        this.authorizationLoader = authorizationLoader;
+        this.snapshotCache = snapshotCache;
+        this.permissionService = permissionService;
+        this.roleService = roleService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Permission read = entityManager.persist(new Permission("user:read", "Read users"));
+        Permission write = entityManager.persist(new Permission("user:write", "Write users"));
+        Permission audit = entityManager.persist(new Permission("audit:read", "Read audit log"));
+
+        Role admin = new Role("ADMIN", "Admin role");
+        admin.addPermission(read);
+        admin.addPermission(write);
+        entityManager.persist(admin);
+        Role auditor = new Role("AUDITOR", "Auditor role");
+        auditor.addPermission(audit);
+        entityManager.persist(auditor);
+        Role guest = entityManager.persist(new Role("GUEST", "Role without permissions"));
+
+        User alice = new User("alice", "pwd", "alice@test.com");
+        alice.addRole(admin);
+        alice.addRole(auditor);
+        alice.addRole(guest);
+        entityManager.persist(alice);
+
+        User bob = new User("bob", "pwd", "bob@test.com");
+        bob.addRole(auditor);
+        entityManager.persist(bob);
+
+        User carol = new User("carol", "pwd", "carol@test.com");
+        carol.addRole(admin);
+        carol.setEnabled(false);
+        entityManager.persist(carol);
+
+        // 写入并清空持久化上下文，确保后续读取真正访问数据库
+        entityManager.flush();
+        entityManager.clear();
+        permissionService.clearAllCache();
+        roleService.clearAllCache();
+        statistics.clear();
+    }
+
+    @Test
+    void testHasPermission_CacheMiss_ExecutesSingleQuery() {
+        assertTrue(permissionService.hasPermission("alice", "user:write"));
+        assertTrue(permissionService.hasPermission("alice", "audit:read"));
+        assertFalse(permissionService.hasPermission("alice", "user:delete"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testHasRole_AfterPermissionMiss_FilledFromSameQuery() {
+        assertTrue(permissionService.hasPermission("alice", "user:read"));
+        assertTrue(roleService.hasRole("alice", "ADMIN"));
+        assertTrue(roleService.hasRole("alice", "GUEST"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testHasPermission_AfterRoleMiss_FilledFromSameQuery() {
+        assertTrue(roleService.hasRole("bob", "AUDITOR"));
+        assertTrue(permissionService.hasPermission("bob", "audit:read"));
+        assertFalse(permissionService.hasPermission("bob", "user:read"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testHasPermission_DisabledOrUnknownUser_SingleQueryEachAndNegativeCached() {
+        assertFalse(permissionService.hasPermission("carol", "user:read"));
+        assertFalse(roleService.hasRole("carol", "ADMIN"));
+        assertFalse(permissionService.hasPermission("nobody", "user:read"));
+        assertFalse(permissionService.hasPermission("nobody", "user:write"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testLoadAll_MultipleUsers_ExecutesSingleQuery() {
+        Map<String, AuthorizationData> loaded = authorizationLoader.loadAll(
+                Arrays.asList("alice", "bob", "carol", "nobody"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, loaded.size());
+        assertEquals(3, loaded.get("alice").getRoles().size());
+        assertEquals(3, union(loaded.get("alice")).cardinality());
+        assertTrue(union(loaded.get("bob"))
+                .contains(authorizationLoader.getPermissionCatalog().idOf("audit:read")));
+        assertSame(AuthorizationData.EMPTY, loaded.get("carol"));
+        assertSame(AuthorizationData.EMPTY, loaded.get("nobody"));
+    }
+
+    @Test
+    void testClearCache_EitherService_EvictsSharedSnapshot() {
+        assertTrue(permissionService.hasPermission("alice", "user:read"));
+        long version = snapshotCache.get("alice").getVersion();
+
+        roleService.clearCache("alice");
+
+        assertTrue(permissionService.hasPermission("alice", "user:read"));
+        assertTrue(snapshotCache.get("alice").getVersion() > version);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetAll_PartiallyCached_LoadsMissingUsersInSingleQuery() {
+        assertTrue(roleService.hasRole("alice", "ADMIN"));
+
+        Map<String, AuthorizationSnapshot> snapshots = snapshotCache.getAll(Arrays.asList("alice", "bob", "nobody"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(3, snapshots.size());
+        assertTrue(snapshots.get("bob").hasRole("AUDITOR"));
+        assertTrue(snapshots.get("nobody").isEmpty());
+        assertTrue(roleService.hasRole("bob", "AUDITOR"));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private static PermissionBitmap union(AuthorizationData data) {
+        PermissionBitmap union = PermissionBitmap.EMPTY;
+        for (RolePermissions role : data.getRolePermissions().values()) {
+            union = union.or(role.getPermissions());
+        }
+        return union;
+    }
+}
@@ -0,0 +1,335 @@
+package com.original.security.user.authorization;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthorizationSnapshotCache 提前刷新单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthorizationSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Queue<Runnable> reloadTasks = new ArrayDeque<>();
+
+    private AuthorizationSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getCache().setTtlMinutes(30);
+        properties.getCache().setRefreshMinutes(20);
+        Executor manualExecutor = reloadTasks::add;
+        snapshotCache = new AuthorizationSnapshotCache(new AuthorizationLoader(userRepository, new PermissionCatalog()),
+                properties, null, manualExecutor, nanos::get);
+    }
+
+    @Test
+    void testGet_AfterRefreshInterval_ServesStaleSnapshotUntilReloadCompletes() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(rows("alice", "USER"));
+        AuthorizationSnapshot first = snapshotCache.get("alice");
+
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenReturn(rows("alice", "ADMIN"));
+        advanceMinutes(21);
+
+        // 刷新期间返回旧快照，请求线程不访问数据库
+        assertSame(first, snapshotCache.get("alice"));
+        verify(userRepository, never()).findRolePermissionsByUsernameIn(anyCollection());
+        assertEquals(1, reloadTasks.size());
+
+        runReloads();
+
+        AuthorizationSnapshot reloaded = snapshotCache.get("alice");
+        assertTrue(reloaded.hasRole("ADMIN"));
+        assertTrue(reloaded.getVersion() > first.getVersion());
+        verify(userRepository, times(1)).findRolePermissionsByUsername("alice");
+    }
+
+    @Test
+    void testGet_ManyKeysDueTogether_ReloadedInSingleBatch() {
+        when(userRepository.findRolePermissionsByUsername(anyString())).thenAnswer(invocation ->
+                rows(invocation.getArgument(0), "USER"));
+        List<String> usernames = Arrays.asList("u1", "u2", "u3", "u4");
+        usernames.forEach(snapshotCache::get);
+
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> batch = invocation.getArgument(0);
+            return batch.stream().map(u -> new UserRolePermissionView(u, "ADMIN", null))
+                    .collect(java.util.stream.Collectors.toList());
+        });
+        advanceMinutes(21);
+        usernames.forEach(snapshotCache::get);
+
+        assertEquals(1, reloadTasks.size(), "Keys coming due together should share one reload task");
+        runReloads();
+
+        verify(userRepository, times(1)).findRolePermissionsByUsernameIn(anyCollection());
+        usernames.forEach(u -> assertTrue(snapshotCache.get(u).hasRole("ADMIN")));
+    }
+
+    @Test
+    void testGet_ReloadFails_KeepsServingStaleSnapshot() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(rows("alice", "USER"));
+        AuthorizationSnapshot first = snapshotCache.get("alice");
+
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        advanceMinutes(21);
+        snapshotCache.get("alice");
+        runReloads();
+
+        assertSame(first, snapshotCache.get("alice"));
+    }
+
+    @Test
+    void testGet_AfterTtl_LoadsSynchronously() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(rows("alice", "USER"));
+        AuthorizationSnapshot first = snapshotCache.get("alice");
+
+        advanceMinutes(31);
+
+        assertNotSame(first, snapshotCache.get("alice"));
+        assertTrue(reloadTasks.isEmpty());
+        verify(userRepository, times(2)).findRolePermissionsByUsername("alice");
+    }
+
+    @Test
+    void testInvalidateRole_OnlySnapshotsHoldingRoleReloaded() {
+        when(userRepository.findRolePermissionsByUsername("editor")).thenReturn(rows("editor", "EDITOR"));
+        when(userRepository.findRolePermissionsByUsername("viewer")).thenReturn(rows("viewer", "VIEWER"));
+        AuthorizationSnapshot editor = snapshotCache.get("editor");
+        AuthorizationSnapshot viewer = snapshotCache.get("viewer");
+
+        snapshotCache.invalidateRole("EDITOR");
+
+        assertNotSame(editor, snapshotCache.get("editor"));
+        assertSame(viewer, snapshotCache.get("viewer"));
+        AuthorizationSnapshot reloaded = snapshotCache.get("editor");
+        assertSame(reloaded, snapshotCache.get("editor"), "Snapshot loaded after the bump must stay current");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("editor");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("viewer");
+    }
+
+    @Test
+    void testGet_UsernameRejectedByFilter_LoadedAtLimitedRateIntoNegativeCache() {
+        snapshotCache.getKnownUsernames().build(1, java.util.stream.Stream.of("alice"));
+        when(userRepository.findRolePermissionsByUsername(anyString())).thenReturn(Collections.emptyList());
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenReturn(Collections.emptyList());
+        List<String> scanned = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            scanned.add("scanner-" + i);
+        }
+
+        scanned.subList(0, 5).forEach(snapshotCache::get);
+        java.util.Map<String, AuthorizationSnapshot> batch = snapshotCache.getAll(scanned.subList(5, 15));
+
+        assertTrue(batch.values().stream().allMatch(AuthorizationSnapshot::isEmpty));
+        assertEquals(0, snapshotCache.getCacheMetrics().getEstimatedSize());
+        // 默认每秒 10 次：5 次单个加载 + 1 次包含 5 个用户名的批量加载，其余 5 个合并为一次存在性检查
+        verify(userRepository, times(5)).findRolePermissionsByUsername(anyString());
+        verify(userRepository).findRolePermissionsByUsernameIn(argThat(names -> names.size() == 5));
+        verify(userRepository).findExistingUsernames(argThat(names -> names.size() == 5));
+
+        // 加载过或确认不存在的用户名都由负向缓存应答，不再查库
+        snapshotCache.get("scanner-0");
+        snapshotCache.get("scanner-14");
+        verify(userRepository, times(5)).findRolePermissionsByUsername(anyString());
+        verify(userRepository, times(1)).findExistingUsernames(anyCollection());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        snapshotCache.get("scanner-15");
+        verify(userRepository, times(6)).findRolePermissionsByUsername(anyString());
+    }
+
+    @Test
+    void testGet_LoadLimitExhausted_ExistingUserStillLoaded() {
+        snapshotCache.getKnownUsernames().build(1, java.util.stream.Stream.of("alice"));
+        when(userRepository.findRolePermissionsByUsername(anyString())).thenReturn(Collections.emptyList());
+        for (int i = 0; i < 10; i++) {
+            snapshotCache.get("scanner-" + i);
+        }
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Collections.singletonList("remote-user"));
+        when(userRepository.findRolePermissionsByUsername("remote-user")).thenReturn(rows("remote-user", "USER"));
+
+        assertTrue(snapshotCache.get("remote-user").hasRole("USER"));
+        assertTrue(snapshotCache.getKnownUsernames().mightExist("remote-user"));
+    }
+
+    @Test
+    void testGet_ExistingUserMissingFromFilter_LoadedAndRegistered() {
+        snapshotCache.getKnownUsernames().build(1, java.util.stream.Stream.of("alice"));
+        when(userRepository.findRolePermissionsByUsername("inserted-by-sql")).thenReturn(rows("inserted-by-sql", "USER"));
+
+        assertTrue(snapshotCache.get("inserted-by-sql").hasRole("USER"));
+        assertTrue(snapshotCache.getKnownUsernames().mightExist("inserted-by-sql"));
+    }
+
+    @Test
+    void testGet_UserWithoutRoles_KeptInShortLivedNegativeCache() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(rows("alice", "USER"));
+        when(userRepository.findRolePermissionsByUsername("ghost")).thenReturn(Collections.emptyList());
+        snapshotCache.get("alice");
+
+        assertTrue(snapshotCache.get("ghost").getRoles().isEmpty());
+        assertTrue(snapshotCache.get("ghost").getRoles().isEmpty());
+
+        // 负向条目不占用主缓存
+        assertEquals(1, snapshotCache.getCacheMetrics().getEstimatedSize());
+        verify(userRepository, times(1)).findRolePermissionsByUsername("ghost");
+
+        advanceMinutes(2);
+        snapshotCache.get("ghost");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("ghost");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("alice");
+    }
+
+    @Test
+    void testGetAll_UsersWithoutRoles_ServedFromNegativeCache() {
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenReturn(rows("alice", "USER"));
+
+        java.util.Map<String, AuthorizationSnapshot> first = snapshotCache.getAll(Arrays.asList("alice", "ghost"));
+        java.util.Map<String, AuthorizationSnapshot> second = snapshotCache.getAll(Arrays.asList("alice", "ghost"));
+
+        assertTrue(first.get("alice").hasRole("USER"));
+        assertTrue(first.get("ghost").getRoles().isEmpty());
+        assertSame(first.get("ghost"), second.get("ghost"));
+        verify(userRepository, times(1)).findRolePermissionsByUsernameIn(anyCollection());
+    }
+
+    @Test
+    void testEvict_RegistersUsernameWithFilter() {
+        snapshotCache.getKnownUsernames().build(1, java.util.stream.Stream.of("alice"));
+
+        snapshotCache.evict("newcomer");
+
+        assertTrue(snapshotCache.getKnownUsernames().mightExist("newcomer"));
+    }
+
+    @Test
+    void testGet_SameRoleCombination_SharesRolesAndPermissions() {
+        when(userRepository.findRolePermissionsByUsername(anyString())).thenAnswer(invocation -> Arrays.asList(
+                new UserRolePermissionView(invocation.getArgument(0), "EDITOR", "doc:write"),
+                new UserRolePermissionView(invocation.getArgument(0), "VIEWER", "doc:read")));
+        when(userRepository.findRolePermissionsByUsername("carol")).thenReturn(Collections.singletonList(
+                new UserRolePermissionView("carol", "VIEWER", "doc:read")));
+
+        AuthorizationSnapshot alice = snapshotCache.get("alice");
+        AuthorizationSnapshot bob = snapshotCache.get("bob");
+        AuthorizationSnapshot carol = snapshotCache.get("carol");
+
+        assertSame(alice.getRoles(), bob.getRoles());
+        assertSame(alice.getPermissions(), bob.getPermissions());
+        assertEquals(2, alice.getPermissions().cardinality());
+        assertNotSame(alice.getPermissions(), carol.getPermissions());
+        assertEquals(2, snapshotCache.getRolePermissionSets().roleCount());
+    }
+
+    @Test
+    void testInvalidateRole_OtherHoldersRecomposedFromReloadedRoleWithoutQuery() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(
+                Collections.singletonList(new UserRolePermissionView("alice", "EDITOR", "doc:read")));
+        when(userRepository.findRolePermissionsByUsername("bob")).thenReturn(
+                Collections.singletonList(new UserRolePermissionView("bob", "EDITOR", "doc:read")));
+        snapshotCache.get("alice");
+        AuthorizationSnapshot staleBob = snapshotCache.get("bob");
+
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(Arrays.asList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read"),
+                new UserRolePermissionView("alice", "EDITOR", "doc:write")));
+        snapshotCache.invalidateRole("EDITOR");
+
+        AuthorizationSnapshot alice = snapshotCache.get("alice");
+        AuthorizationSnapshot bob = snapshotCache.get("bob");
+
+        assertNotSame(staleBob, bob);
+        assertTrue(bob.getVersion() > staleBob.getVersion());
+        assertSame(alice.getPermissions(), bob.getPermissions());
+        assertEquals(2, bob.getPermissions().cardinality());
+        assertSame(bob, snapshotCache.get("bob"), "Recomposed snapshot must stay current");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("alice");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("bob");
+    }
+
+    @Test
+    void testPatchRole_HoldersRecomposedFromDiffWithoutAnyQuery() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(Arrays.asList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read"),
+                new UserRolePermissionView("alice", "EDITOR", "doc:delete")));
+        when(userRepository.findRolePermissionsByUsername("bob")).thenReturn(Arrays.asList(
+                new UserRolePermissionView("bob", "EDITOR", "doc:read"),
+                new UserRolePermissionView("bob", "EDITOR", "doc:delete")));
+        AuthorizationSnapshot staleAlice = snapshotCache.get("alice");
+        snapshotCache.get("bob");
+
+        assertTrue(snapshotCache.patchRole("EDITOR",
+                Arrays.asList("doc:write", "doc:*"), Collections.singletonList("doc:delete")));
+
+        AuthorizationSnapshot alice = snapshotCache.get("alice");
+        AuthorizationSnapshot bob = snapshotCache.get("bob");
+
+        assertTrue(alice.getVersion() > staleAlice.getVersion());
+        PermissionCatalog catalog = snapshotCache.getPermissionCatalog();
+        assertTrue(alice.hasPermission(catalog.idOf("doc:write"), "doc:write"));
+        assertFalse(alice.getPermissions().toNames(catalog).contains("doc:delete"));
+        assertTrue(alice.hasPermission(catalog.idOf("doc:export"), "doc:export"),
+                "Added wildcard must be compiled into the recomposed snapshot");
+        assertSame(alice.getPermissions(), bob.getPermissions());
+        verify(userRepository, times(1)).findRolePermissionsByUsername("alice");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("bob");
+    }
+
+    @Test
+    void testPatchRole_NoCachedRoleEntry_FallsBackToReload() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(rows("alice", "EDITOR"));
+        snapshotCache.get("alice");
+
+        assertFalse(snapshotCache.patchRole("AUDITOR", Collections.singletonList("audit:read"), Collections.emptyList()));
+        snapshotCache.evictAll();
+        assertFalse(snapshotCache.patchRole("EDITOR", Collections.singletonList("doc:read"), Collections.emptyList()));
+
+        snapshotCache.get("alice");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("alice");
+    }
+
+    private void advanceMinutes(long minutes) {
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    private void runReloads() {
+        Runnable task;
+        while ((task = reloadTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static List<UserRolePermissionView> rows(String username, String role) {
+        return Collections.singletonList(new UserRolePermissionView(username, role, null));
+    }
+}
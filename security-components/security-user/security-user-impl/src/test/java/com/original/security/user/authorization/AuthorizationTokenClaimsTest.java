@@ -0,0 +1,156 @@
+package com.original.security.user.authorization;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.core.authentication.token.ClaimsAuthenticationToken;
+import com.original.security.user.authorization.invalidation.InvalidationTransport;
+import com.original.security.user.authorization.invalidation.LoopbackInvalidationTransport;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationTokenClaimsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthorizationSnapshotCache snapshotCache;
+
+    private AuthorizationTokenClaims tokenClaims;
+
+    @BeforeEach
+    void setUp() {
+        snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), new SecurityProperties(), null);
+        tokenClaims = new AuthorizationTokenClaims(snapshotCache, transport(new LoopbackInvalidationTransport()));
+        lenient().when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(Arrays.asList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read"),
+                new UserRolePermissionView("alice", "EDITOR", "report:*")));
+    }
+
+    @Test
+    void testGetClaims_EmbedsPermissionsRolesAndVersion() {
+        Map<String, Object> claims = tokenClaims.getClaims("alice");
+
+        assertEquals(Arrays.asList("doc:read", "report:*"), claims.get(AuthorizationTokenClaims.CLAIM_PERMISSIONS));
+        assertEquals(Collections.singletonList("EDITOR"), claims.get(AuthorizationTokenClaims.CLAIM_ROLES));
+        assertEquals(snapshotCache.get("alice").getVersion(), claims.get(AuthorizationTokenClaims.CLAIM_VERSION));
+    }
+
+    @Test
+    void testGetClaims_UnknownUser_NoClaims() {
+        when(userRepository.findRolePermissionsByUsername("ghost")).thenReturn(Collections.emptyList());
+
+        assertTrue(tokenClaims.getClaims("ghost").isEmpty());
+    }
+
+    @Test
+    void testVerify_CurrentToken_AuthorizesWithoutLoadingSnapshots() {
+        ClaimsAuthenticationToken token = token("alice", tokenClaims.getClaims("alice"));
+        snapshotCache.evict("bob");
+
+        AuthorizationTokenClaims.TokenPermissions permissions = tokenClaims.verify(token);
+
+        assertNotNull(permissions);
+        assertTrue(permissions.has("doc:read"));
+        assertTrue(permissions.has("report:sales:export"));
+        assertFalse(permissions.has("doc:write"));
+        verify(userRepository, times(1)).findRolePermissionsByUsername("alice");
+    }
+
+    @Test
+    void testVerify_NamesContainingCommas_RoundTrip() {
+        when(userRepository.findRolePermissionsByUsername("carol")).thenReturn(Collections.singletonList(
+                new UserRolePermissionView("carol", "OPS,EU", "report:eu,west:read")));
+
+        Map<String, Object> claims = tokenClaims.getClaims("carol");
+        AuthorizationTokenClaims.TokenPermissions permissions = tokenClaims.verify(token("carol", claims));
+
+        assertNotNull(permissions);
+        assertTrue(permissions.has("report:eu,west:read"));
+        assertFalse(permissions.has("report:eu"));
+        snapshotCache.invalidateRole("OPS");
+        assertNotNull(tokenClaims.verify(token("carol", claims)));
+        snapshotCache.invalidateRole("OPS,EU");
+        assertNull(tokenClaims.verify(token("carol", claims)));
+    }
+
+    @Test
+    void testVerify_LegacyCommaJoinedClaims_ReturnsNull() {
+        Map<String, Object> claims = new java.util.HashMap<>(tokenClaims.getClaims("alice"));
+        claims.put(AuthorizationTokenClaims.CLAIM_PERMISSIONS, "doc:read,report:*");
+        claims.put(AuthorizationTokenClaims.CLAIM_ROLES, "EDITOR");
+
+        assertNull(tokenClaims.verify(token("alice", claims)));
+    }
+
+    @Test
+    void testVerify_RoleOrUserInvalidated_FallsBack() {
+        Map<String, Object> claims = tokenClaims.getClaims("alice");
+        assertNotNull(tokenClaims.verify(token("alice", claims)));
+
+        snapshotCache.invalidateRole("VIEWER");
+        assertNotNull(tokenClaims.verify(token("alice", claims)), "Unrelated role must not invalidate the token");
+
+        snapshotCache.invalidateRole("EDITOR");
+        assertNull(tokenClaims.verify(token("alice", claims)));
+
+        Map<String, Object> reissued = tokenClaims.getClaims("alice");
+        assertNotNull(tokenClaims.verify(token("alice", reissued)));
+        snapshotCache.evict("alice");
+        assertNull(tokenClaims.verify(token("alice", reissued)));
+
+        Map<String, Object> afterEvict = tokenClaims.getClaims("alice");
+        assertNotNull(tokenClaims.verify(token("alice", afterEvict)));
+        snapshotCache.evictAll();
+        assertNull(tokenClaims.verify(token("alice", afterEvict)));
+    }
+
+    @Test
+    void testVerify_TokenIssuedBeforeNodeStarted_FallsBack() {
+        Map<String, Object> claims = tokenClaims.getClaims("alice");
+
+        AuthorizationSnapshotCache restarted = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), new SecurityProperties(), null);
+        AuthorizationTokenClaims restartedClaims = new AuthorizationTokenClaims(restarted,
+                transport(new LoopbackInvalidationTransport()));
+
+        assertNull(restartedClaims.verify(token("alice", claims)));
+        assertNotNull(restartedClaims.verify(token("alice", restartedClaims.getClaims("alice"))));
+    }
+
+    @Test
+    void testConstructor_NoInvalidationTransport_Refused() {
+        assertThrows(IllegalStateException.class, () -> new AuthorizationTokenClaims(snapshotCache, transport(null)));
+    }
+
+    @Test
+    void testVerify_TokenWithoutAuthorizationClaims_ReturnsNull() {
+        assertNull(tokenClaims.verify(token("alice", Collections.<String, Object>emptyMap())));
+        assertNull(tokenClaims.verify(new UsernamePasswordAuthenticationToken("alice", null, Collections.emptyList())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<InvalidationTransport> transport(InvalidationTransport transport) {
+        ObjectProvider<InvalidationTransport> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(transport);
+        return provider;
+    }
+
+    private static ClaimsAuthenticationToken token(String username, Map<String, Object> claims) {
+        return new ClaimsAuthenticationToken(username, Collections.emptyList(), claims);
+    }
+}
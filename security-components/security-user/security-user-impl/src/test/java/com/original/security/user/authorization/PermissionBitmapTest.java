@@ -0,0 +1,109 @@
+package com.original.security.user.authorization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionBitmap 与 PermissionCatalog 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+class PermissionBitmapTest {
+
+    @Test
+    void testIntern_SameName_ReturnsSameDenseId() {
+        PermissionCatalog catalog = new PermissionCatalog();
+
+        assertEquals(0, catalog.intern("user:read"));
+        assertEquals(1, catalog.intern("user:write"));
+        assertEquals(0, catalog.intern("user:read"));
+        assertEquals(2, catalog.size());
+        assertEquals("user:write", catalog.nameOf(1));
+    }
+
+    @Test
+    void testIdOf_UnknownPermission_ReturnsUnknownWithoutInterning() {
+        PermissionCatalog catalog = new PermissionCatalog();
+
+        assertEquals(PermissionCatalog.UNKNOWN, catalog.idOf("user:read"));
+        assertEquals(0, catalog.size());
+    }
+
+    @Test
+    void testContains_BitsAcrossWords_MatchesAddedIds() {
+        PermissionBitmap bitmap = new PermissionBitmap.Builder().add(0).add(63).add(64).add(200).build();
+
+        assertTrue(bitmap.contains(0));
+        assertTrue(bitmap.contains(63));
+        assertTrue(bitmap.contains(64));
+        assertTrue(bitmap.contains(200));
+        assertFalse(bitmap.contains(1));
+        assertFalse(bitmap.contains(1000));
+        assertFalse(bitmap.contains(PermissionCatalog.UNKNOWN));
+        assertEquals(4, bitmap.cardinality());
+    }
+
+    @Test
+    void testOr_UnionAcrossWords_ReusesOperandWhenItCoversTheOther() {
+        PermissionBitmap small = new PermissionBitmap.Builder().add(1).build();
+        PermissionBitmap large = new PermissionBitmap.Builder().add(1).add(130).build();
+        PermissionBitmap other = new PermissionBitmap.Builder().add(2).build();
+
+        assertSame(large, small.or(large));
+        assertSame(large, large.or(small));
+        assertSame(small, small.or(PermissionBitmap.EMPTY));
+
+        PermissionBitmap union = other.or(large);
+        assertEquals(3, union.cardinality());
+        assertTrue(union.contains(2) && union.contains(130));
+    }
+
+    @Test
+    void testBuild_NoBits_ReturnsEmptySingleton() {
+        assertSame(PermissionBitmap.EMPTY, new PermissionBitmap.Builder().build());
+        assertTrue(PermissionBitmap.EMPTY.isEmpty());
+    }
+
+    @Test
+    void testToNames_InternedPermissions_RoundTrips() {
+        PermissionCatalog catalog = new PermissionCatalog();
+        PermissionBitmap bitmap = new PermissionBitmap.Builder()
+                .add(catalog.intern("user:read"))
+                .add(catalog.intern("audit:read"))
+                .build();
+        catalog.intern("user:delete");
+
+        assertEquals(new HashSet<>(Arrays.asList("user:read", "audit:read")), bitmap.toNames(catalog));
+    }
+
+    @Test
+    void testEquals_SameBits_AreEqual() {
+        PermissionBitmap a = new PermissionBitmap.Builder().add(3).add(70).build();
+        PermissionBitmap b = new PermissionBitmap.Builder().add(70).add(3).build();
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, new PermissionBitmap.Builder().add(3).build());
+    }
+
+    @Test
+    void testWithAndWithout_ReturnNewBitmapsAndTrimEmptyWords() {
+        PermissionBitmap base = new PermissionBitmap.Builder().add(1).build();
+
+        PermissionBitmap added = base.with(130);
+        assertTrue(added.contains(1));
+        assertTrue(added.contains(130));
+        assertFalse(base.contains(130), "Original bitmap must stay unchanged");
+        assertSame(added, added.with(130));
+
+        PermissionBitmap removed = added.without(130);
+        assertEquals(base, removed);
+        assertSame(PermissionBitmap.EMPTY, removed.without(1));
+        assertSame(removed, removed.without(99));
+    }
+}
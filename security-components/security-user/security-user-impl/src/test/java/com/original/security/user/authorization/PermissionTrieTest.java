@@ -0,0 +1,60 @@
+package com.original.security.user.authorization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionTrieTest {
+
+    @Test
+    void testCompile_NoWildcardGrants_ReturnsEmpty() {
+        assertSame(PermissionTrie.EMPTY, PermissionTrie.compile(Arrays.asList("user:read", "user:write")));
+        assertFalse(PermissionTrie.EMPTY.matches("user:read"));
+    }
+
+    @Test
+    void testMatches_TrailingWildcardCoversOneOrMoreSegments() {
+        PermissionTrie trie = PermissionTrie.compile(Arrays.asList("user:*", "report:read:*"));
+
+        assertTrue(trie.matches("user:read"));
+        assertTrue(trie.matches("user:read:own"));
+        assertTrue(trie.matches("report:read:sales"));
+        assertFalse(trie.matches("user"));
+        assertFalse(trie.matches("report:read"));
+        assertFalse(trie.matches("report:write:sales"));
+        assertFalse(trie.matches("users:read"));
+    }
+
+    @Test
+    void testMatches_MiddleWildcardCoversExactlyOneSegment() {
+        PermissionTrie trie = PermissionTrie.compile(Collections.singletonList("report:*:read"));
+
+        assertTrue(trie.matches("report:sales:read"));
+        assertFalse(trie.matches("report:sales:write"));
+        assertFalse(trie.matches("report:sales:eu:read"));
+        assertFalse(trie.matches("report:read"));
+    }
+
+    @Test
+    void testMatches_SingleWildcardCoversEverything() {
+        PermissionTrie trie = PermissionTrie.compile(Collections.singletonList("*"));
+
+        assertTrue(trie.matches("anything"));
+        assertTrue(trie.matches("a:b:c"));
+        assertFalse(trie.matches(""));
+        assertFalse(trie.matches(null));
+    }
+
+    @Test
+    void testMatches_SharedPrefixesBacktrackAcrossBranches() {
+        PermissionTrie trie = PermissionTrie.compile(Arrays.asList("doc:shared:archive:*", "doc:*:read"));
+
+        assertTrue(trie.matches("doc:shared:read"));
+        assertTrue(trie.matches("doc:shared:archive:restore"));
+        assertTrue(trie.matches("doc:private:read"));
+        assertFalse(trie.matches("doc:shared:write"));
+    }
+}
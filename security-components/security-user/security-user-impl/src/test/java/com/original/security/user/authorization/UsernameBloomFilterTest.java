@@ -0,0 +1,55 @@
+package com.original.security.user.authorization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsernameBloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegativesAndBoundedFalsePositives() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i));
+
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(filter.mightContain("user" + i)));
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("scanner-" + i))
+                .count();
+        assertTrue(falsePositives < 2_000, "False positive rate too high: " + falsePositives + "/100000");
+    }
+
+    @Test
+    void testKnownUsernames_BeforeBuild_EverythingMightExist() {
+        KnownUsernames knownUsernames = new KnownUsernames();
+
+        assertFalse(knownUsernames.isBuilt());
+        assertTrue(knownUsernames.mightExist("anyone"));
+    }
+
+    @Test
+    void testKnownUsernames_AddsBeforeBuildAreMerged() {
+        KnownUsernames knownUsernames = new KnownUsernames();
+        knownUsernames.add("created-during-startup");
+
+        assertTrue(knownUsernames.build(2, Stream.of("alice", "bob")));
+
+        assertTrue(knownUsernames.mightExist("alice"));
+        assertTrue(knownUsernames.mightExist("created-during-startup"));
+        assertFalse(knownUsernames.mightExist("mallory"));
+
+        knownUsernames.add("mallory");
+        assertTrue(knownUsernames.mightExist("mallory"));
+    }
+
+    @Test
+    void testKnownUsernames_Abandoned_NeverFilters() {
+        KnownUsernames knownUsernames = new KnownUsernames();
+        knownUsernames.abandon();
+
+        assertFalse(knownUsernames.build(1, Stream.of("alice")));
+        assertTrue(knownUsernames.mightExist("mallory"));
+    }
+}
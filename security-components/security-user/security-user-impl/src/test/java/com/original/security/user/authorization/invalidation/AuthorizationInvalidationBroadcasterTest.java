@@ -0,0 +1,233 @@
+package com.original.security.user.authorization.invalidation;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.DatabaseRoleHierarchy;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthorizationInvalidationBroadcaster 单元测试
+ * <p>
+ * 两个节点共享同一个进程内传输；合并窗口设得足够大，由测试手动调用 {@code flush()} 控制发送时机。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthorizationInvalidationBroadcasterTest {
+
+    private static final long NEVER = 60_000L;
+
+    @Mock
+    private AuthorizationSnapshotCache cacheA;
+
+    @Mock
+    private AuthorizationSnapshotCache cacheB;
+
+    @Mock
+    private DatabaseRoleHierarchy hierarchyA;
+
+    @Mock
+    private DatabaseRoleHierarchy hierarchyB;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final List<InvalidationBatch> published = new ArrayList<>();
+
+    private AuthorizationInvalidationBroadcaster nodeA;
+    private AuthorizationInvalidationBroadcaster nodeB;
+
+    @BeforeEach
+    void setUp() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        transport.subscribe(published::add);
+        nodeA = new AuthorizationInvalidationBroadcaster(cacheA, transport, "node-a", NEVER);
+        nodeB = new AuthorizationInvalidationBroadcaster(cacheB, transport, "node-b", NEVER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    @Test
+    void testEvictUser_AppliesLocallyAndOnRemoteNodeAfterFlush() {
+        nodeA.evictUser("alice");
+
+        verify(cacheA).evict("alice");
+        verifyNoInteractions(cacheB);
+
+        nodeA.flush();
+
+        verify(cacheB).evict("alice");
+        verify(cacheA, times(1)).evict("alice");
+    }
+
+    @Test
+    void testEvictUser_RepeatedWithinWindow_CoalescedIntoOneMessage() {
+        nodeA.evictUser("alice");
+        nodeA.evictUser("alice");
+        nodeA.evictUser("bob");
+        nodeA.evictRole("EDITOR");
+
+        nodeA.flush();
+
+        assertEquals(1, published.size());
+        InvalidationBatch batch = published.get(0);
+        assertEquals("node-a", batch.getOriginNodeId());
+        assertEquals(2, batch.getUsernames().size());
+        assertTrue(batch.getRoleNames().contains("EDITOR"));
+        verify(cacheB).evict("alice");
+        verify(cacheB).evict("bob");
+        verify(cacheB).invalidateRole("EDITOR");
+    }
+
+    @Test
+    void testEvictAll_SupersedesPendingKeys() {
+        nodeA.evictUser("alice");
+        nodeA.evictAll();
+        nodeA.evictUser("bob");
+
+        nodeA.flush();
+
+        assertEquals(1, published.size());
+        assertTrue(published.get(0).isAll());
+        verify(cacheB).evictAll();
+        verify(cacheB, never()).evict(anyString());
+    }
+
+    @Test
+    void testEvictRole_BumpsGenerationLocallyAndRemotely() {
+        nodeA.evictRole("EDITOR");
+
+        verify(cacheA).invalidateRole("EDITOR");
+        nodeA.flush();
+
+        verify(cacheB).invalidateRole("EDITOR");
+        verify(cacheB, never()).evictAll();
+    }
+
+    @Test
+    void testFlush_NothingPending_PublishesNothing() {
+        nodeA.flush();
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testEvictUser_WithoutTransport_OnlyEvictsLocally() {
+        AuthorizationInvalidationBroadcaster local = new AuthorizationInvalidationBroadcaster(cacheA, null, "local", 0);
+
+        local.evictUser("alice");
+        local.flush();
+
+        verify(cacheA).evict("alice");
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testEvictRoleHierarchy_ReloadsLocallyAndOnRemoteNode() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        AuthorizationInvalidationBroadcaster local = new AuthorizationInvalidationBroadcaster(
+                cacheA, transport, "local", NEVER, hierarchyA, Collections.emptyList());
+        AuthorizationInvalidationBroadcaster remote = new AuthorizationInvalidationBroadcaster(
+                cacheB, transport, "remote", NEVER, hierarchyB, Collections.emptyList());
+        try {
+            local.evictRoleHierarchy();
+
+            verify(hierarchyA).reload();
+            verify(cacheA).setRoleHierarchy(hierarchyA);
+            verify(cacheA, never()).evictAll();
+
+            local.flush();
+
+            InOrder remoteOrder = inOrder(hierarchyB, cacheB);
+            remoteOrder.verify(hierarchyB).reload();
+            remoteOrder.verify(cacheB).setRoleHierarchy(hierarchyB);
+        } finally {
+            local.destroy();
+            remote.destroy();
+        }
+    }
+
+    @Test
+    void testEvictRoleHierarchy_LocalAndRemoteNodeRejectIssuedVersionsAlike() {
+        when(userRepository.findRolePermissionsByUsername("alice")).thenReturn(Collections.singletonList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read")));
+        when(userRepository.findRolePermissionsByUsername("ghost")).thenReturn(Collections.emptyList());
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        AuthorizationSnapshotCache localCache = newCache();
+        AuthorizationSnapshotCache remoteCache = newCache();
+        AuthorizationInvalidationBroadcaster local = new AuthorizationInvalidationBroadcaster(
+                localCache, transport, "local", NEVER, hierarchyA, Collections.emptyList());
+        AuthorizationInvalidationBroadcaster remote = new AuthorizationInvalidationBroadcaster(
+                remoteCache, transport, "remote", NEVER, hierarchyB, Collections.emptyList());
+        try {
+            long localVersion = localCache.get("alice").getVersion();
+            long remoteVersion = remoteCache.get("alice").getVersion();
+            localCache.get("ghost");
+            remoteCache.get("ghost");
+
+            local.evictRoleHierarchy();
+            local.flush();
+
+            List<String> roles = Collections.singletonList("EDITOR");
+            assertFalse(localCache.isCurrent("alice", roles, localVersion));
+            assertFalse(remoteCache.isCurrent("alice", roles, remoteVersion));
+            // 负向缓存同样清除，两个节点各自重新加载一次
+            localCache.get("ghost");
+            remoteCache.get("ghost");
+            verify(userRepository, times(4)).findRolePermissionsByUsername("ghost");
+        } finally {
+            local.destroy();
+            remote.destroy();
+        }
+    }
+
+    @Test
+    void testRemoteBatch_NotifiesRemoteListenersOnlyOnReceivingNode() {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        List<InvalidationBatch> localNotified = new ArrayList<>();
+        List<InvalidationBatch> remoteNotified = new ArrayList<>();
+        AuthorizationInvalidationBroadcaster local = new AuthorizationInvalidationBroadcaster(
+                cacheA, transport, "local", NEVER, null, Collections.singletonList(localNotified::add));
+        AuthorizationInvalidationBroadcaster remote = new AuthorizationInvalidationBroadcaster(
+                cacheB, transport, "remote", NEVER, null, Collections.singletonList(remoteNotified::add));
+        try {
+            local.evictRole("EDITOR");
+            local.flush();
+
+            assertTrue(localNotified.isEmpty());
+            assertEquals(1, remoteNotified.size());
+            assertEquals(Collections.singleton("EDITOR"), remoteNotified.get(0).getRoleNames());
+            verify(cacheB).invalidateRole("EDITOR");
+        } finally {
+            local.destroy();
+            remote.destroy();
+        }
+    }
+
+    private AuthorizationSnapshotCache newCache() {
+        return new AuthorizationSnapshotCache(new AuthorizationLoader(userRepository, new PermissionCatalog()),
+                new SecurityProperties(), null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.original.security.user.authorization.invalidation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcPollingInvalidationTransport 集成测试
+ * <p>
+ * 两个传输实例共享同一数据库，模拟两个节点；轮询由测试直接调用 {@code poll()} 触发。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class JdbcPollingInvalidationTransportTest {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JdbcPollingInvalidationTransportTest(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testPoll_EventsPublishedByOtherNode_DeliveredAsOneBatch() {
+        JdbcPollingInvalidationTransport nodeA = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        List<InvalidationBatch> received = new ArrayList<>();
+        nodeB.subscribe(received::add);
+
+        nodeA.publish(new InvalidationBatch("node-a",
+                new HashSet<>(Arrays.asList("alice", "bob")), Collections.singleton("EDITOR"), false));
+
+        assertEquals(3, nodeB.poll());
+        assertEquals(1, received.size());
+        InvalidationBatch batch = received.get(0);
+        assertEquals("node-a", batch.getOriginNodeId());
+        assertEquals(new HashSet<>(Arrays.asList("alice", "bob")), batch.getUsernames());
+        assertEquals(Collections.singleton("EDITOR"), batch.getRoleNames());
+
+        assertEquals(0, nodeB.poll(), "Already consumed events must not be delivered again");
+    }
+
+    @Test
+    void testPoll_EventsBeforeStartup_Ignored() {
+        JdbcPollingInvalidationTransport nodeA = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        nodeA.publish(new InvalidationBatch("node-a", Collections.emptySet(), Collections.emptySet(), true));
+
+        JdbcPollingInvalidationTransport lateNode = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+
+        assertEquals(0, lateNode.poll());
+    }
+
+    @Test
+    void testPoll_AllScope_DeliversEvictAllBatch() {
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        List<InvalidationBatch> received = new ArrayList<>();
+        nodeB.subscribe(received::add);
+
+        new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000)
+                .publish(new InvalidationBatch("node-a", Collections.emptySet(), Collections.emptySet(), true));
+        nodeB.poll();
+
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).isAll());
+    }
+
+    @Test
+    void testPoll_LowerIdCommittedLater_DeliveredOnNextPoll() {
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        List<InvalidationBatch> received = new ArrayList<>();
+        nodeB.subscribe(received::add);
+        long base = nextId();
+
+        // base 已分配但尚未提交，base + 1 先提交
+        insertEvent(base + 1, "bob");
+        assertEquals(1, nodeB.poll());
+        insertEvent(base, "alice");
+
+        assertEquals(1, nodeB.poll());
+        assertEquals(Collections.singleton("alice"), received.get(1).getUsernames());
+        assertEquals(0, nodeB.poll(), "Filled gap must not be delivered again");
+    }
+
+    @Test
+    void testPoll_GapOlderThanTimeout_NoLongerReread() {
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 0);
+        List<InvalidationBatch> received = new ArrayList<>();
+        nodeB.subscribe(received::add);
+        long base = nextId();
+
+        insertEvent(base + 1, "bob");
+        nodeB.poll();
+        insertEvent(base, "alice");
+
+        assertEquals(0, nodeB.poll());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testPurge_RemovesEventsOlderThanRetention() {
+        JdbcPollingInvalidationTransport transport = new JdbcPollingInvalidationTransport(jdbcTemplate, 0, 60, 10000);
+        jdbcTemplate.update("INSERT INTO authz_invalidation_events (node_id, scope, cache_key, created_at) "
+                + "VALUES (?, ?, ?, ?)", "node-a", "USER", "alice",
+                new Timestamp(System.currentTimeMillis() - 2 * 60 * 60 * 1000L));
+        transport.publish(new InvalidationBatch("node-a", Collections.singleton("bob"), Collections.emptySet(), false));
+
+        assertEquals(1, transport.purge());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM authz_invalidation_events", Integer.class));
+    }
+
+    private long nextId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM authz_invalidation_events", Long.class);
+        return (maxId != null ? maxId : 0L) + 1;
+    }
+
+    private void insertEvent(long id, String username) {
+        jdbcTemplate.update("INSERT INTO authz_invalidation_events (id, node_id, scope, cache_key, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)", id, "node-a", "USER", username, new Timestamp(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.original.security.user.authorization.metrics;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationCacheMeterBinderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthorizationSnapshotCache snapshotCache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), new SecurityProperties(), null);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("authorizationSnapshotCache", snapshotCache);
+        meterRegistry = new SimpleMeterRegistry();
+        new AuthorizationCacheMeterBinder(new CacheMetricsRegistry(beanFactory.getBeanProvider(CacheMetricsSource.class)))
+                .bindTo(meterRegistry);
+    }
+
+    @Test
+    void testBindTo_ReportsHitsMissesLoadsAndSize() {
+        when(userRepository.findRolePermissionsByUsername(anyString())).thenAnswer(invocation ->
+                Collections.singletonList(new UserRolePermissionView(invocation.getArgument(0), "USER", null)));
+
+        snapshotCache.get("alice");
+        snapshotCache.get("alice");
+        snapshotCache.get("alice");
+        snapshotCache.get("bob");
+
+        assertEquals(2.0, counter("gets", "result", "hit"));
+        assertEquals(2.0, counter("gets", "result", "miss"));
+        assertEquals(2.0, counter("loads", "result", "success"));
+        assertEquals(0.0, counter("loads", "result", "failure"));
+        assertEquals(2.0, meterRegistry.get("security.authz.cache.size")
+                .tag("cache", AuthorizationSnapshotCache.CACHE_NAME).gauge().value());
+        assertTrue(meterRegistry.get("security.authz.cache.load.duration")
+                .tags("cache", AuthorizationSnapshotCache.CACHE_NAME, "quantile", "0.99")
+                .timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(meterRegistry.get("security.authz.cache.saved")
+                .tag("cache", AuthorizationSnapshotCache.CACHE_NAME)
+                .timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testBindTo_ReportsLoadFailures() {
+        when(userRepository.findRolePermissionsByUsername("broken"))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> snapshotCache.get("broken"));
+
+        assertEquals(1.0, counter("loads", "result", "failure"));
+        assertEquals(0.0, meterRegistry.get("security.authz.cache.size")
+                .tag("cache", AuthorizationSnapshotCache.CACHE_NAME).gauge().value());
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get("security.authz.cache." + name)
+                .tags("cache", AuthorizationSnapshotCache.CACHE_NAME, tagKey, tagValue)
+                .functionCounter().count();
+    }
+}
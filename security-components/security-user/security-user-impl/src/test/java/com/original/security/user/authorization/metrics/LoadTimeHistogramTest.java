@@ -0,0 +1,43 @@
+package com.original.security.user.authorization.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTimeHistogramTest {
+
+    @Test
+    void testPercentile_Empty_ReturnsZero() {
+        assertEquals(0, new LoadTimeHistogram().percentile(0.99));
+    }
+
+    @Test
+    void testPercentile_BoundsRecordedValuesWithinBucketWidth() {
+        LoadTimeHistogram histogram = new LoadTimeHistogram();
+        for (long micros = 1; micros <= 100; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        assertWithinBucket(50_000, histogram.percentile(0.5));
+        assertWithinBucket(95_000, histogram.percentile(0.95));
+        assertWithinBucket(99_000, histogram.percentile(0.99));
+        assertWithinBucket(100_000, histogram.percentile(1.0));
+    }
+
+    @Test
+    void testIndexOf_EveryValueFallsBelowItsBucketUpperBound() {
+        long[] samples = {0, 1, 3, 4, 5, 7, 8, 1023, 1024, 1_000_000, Long.MAX_VALUE};
+        for (long value : samples) {
+            int index = LoadTimeHistogram.indexOf(value);
+            assertTrue(LoadTimeHistogram.upperBoundOf(index) >= value);
+            if (index > 0) {
+                assertTrue(LoadTimeHistogram.upperBoundOf(index - 1) < value);
+            }
+        }
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.25,
+                "expected ~" + expected + " but was " + actual);
+    }
+}
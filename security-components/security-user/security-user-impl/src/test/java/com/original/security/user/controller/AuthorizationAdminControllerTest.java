@@ -0,0 +1,43 @@
+package com.original.security.user.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.authorization.metrics.CacheMetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthorizationAdminController.class)
+class AuthorizationAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheMetricsRegistry cacheMetricsRegistry;
+
+    @Test
+    @WithMockUser
+    void testGetCacheMetrics_ReturnsOneEntryPerCache() throws Exception {
+        CacheStats stats = new CacheStats(9, 1, 1, 0, 2_000, 0, 0);
+        when(cacheMetricsRegistry.snapshot()).thenReturn(Collections.singletonList(
+                new CacheMetrics("authorization-snapshots", 1, stats, 1_000, 2_000, 3_000)));
+
+        mockMvc.perform(get("/api/authz/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[0].cacheName").value("authorization-snapshots"))
+                .andExpect(jsonPath("$.data[0].estimatedSize").value(1))
+                .andExpect(jsonPath("$.data[0].hitRate").value(0.9))
+                .andExpect(jsonPath("$.data[0].loadTimeP99Nanos").value(3000));
+    }
+}
@@ -0,0 +1,109 @@
+package com.original.security.user.controller;
+
+import com.original.security.config.MethodSecurityConfiguration;
+import com.original.security.user.acl.AclService;
+import com.original.security.user.service.PermissionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthorizationDecisionController.class)
+@Import(MethodSecurityConfiguration.class)
+class AuthorizationDecisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PermissionService permissionService;
+
+    @MockBean
+    private AclService aclService;
+
+    @Test
+    @WithMockUser(authorities = AuthorizationDecisionController.DECIDE_AUTHORITY)
+    void testDecide_ReturnsBitArrayAndFallsBackToAclPerGroup() throws Exception {
+        BitSet global = new BitSet();
+        global.set(0);
+        when(permissionService.checkPairs(
+                Arrays.asList("alice", "bob", "bob", "bob"),
+                Arrays.asList("doc:read", "doc:write", "doc:write", "doc:write"))).thenReturn(global);
+        when(aclService.filterPermitted("bob", "Document", Arrays.asList("42", "43"), "doc:write"))
+                .thenReturn(new LinkedHashSet<>(Collections.singletonList("43")));
+
+        // 结果位 0 (全局授权) 与位 2 (ACL 授权) 为 1：0b00000101
+        mockMvc.perform(post("/api/authz/decisions")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"subject\":\"alice\",\"permission\":\"doc:read\",\"extra\":{\"ignored\":[1]}},"
+                                + "{\"subject\":\"bob\",\"permission\":\"doc:write\",\"targetType\":\"Document\",\"targetId\":42},"
+                                + "{\"subject\":\"bob\",\"permission\":\"doc:write\",\"targetType\":\"Document\",\"targetId\":\"43\"},"
+                                + "{\"subject\":\"bob\",\"permission\":\"doc:write\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.count").value(4))
+                .andExpect(jsonPath("$.data.granted").value("BQ=="));
+
+        verify(aclService, times(1)).filterPermitted(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthorizationDecisionController.DECIDE_AUTHORITY)
+    void testDecide_TooManyTuples_Returns400WithoutEvaluating() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= AuthorizationDecisionController.MAX_DECISIONS; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"subject\":\"alice\",\"permission\":\"doc:read\"}");
+        }
+        body.append(']');
+
+        mockMvc.perform(post("/api/authz/decisions")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("At most 1000 decisions per request"));
+
+        verify(permissionService, never()).checkPairs(anyList(), anyList());
+    }
+
+    @Test
+    @WithMockUser
+    void testDecide_WithoutDecideAuthority_Returns403() throws Exception {
+        mockMvc.perform(post("/api/authz/decisions")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"subject\":\"alice\",\"permission\":\"doc:read\"}]"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(permissionService, aclService);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthorizationDecisionController.DECIDE_AUTHORITY)
+    void testDecide_MalformedBody_Returns400() throws Exception {
+        mockMvc.perform(post("/api/authz/decisions")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"subject\":\"alice\","))
+                .andExpect(jsonPath("$.code").value(400));
+
+        verifyNoInteractions(permissionService, aclService);
+    }
+}
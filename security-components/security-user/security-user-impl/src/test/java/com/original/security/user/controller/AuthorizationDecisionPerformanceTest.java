@@ -0,0 +1,159 @@
+package com.original.security.user.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.acl.AclIndex;
+import com.original.security.user.acl.AclService;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.entity.AclEntry;
+import com.original.security.user.repository.AclEntryRepository;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
+import com.original.security.user.service.impl.PermissionServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量授权判断接口吞吐基准测试
+ * <p>
+ * 每个请求 1000 个元组：100 个用户、10 个权限，其中一半带有记录 (需要 ACL 回退)。
+ * 快照与 ACL 索引预热后，每个 CPU 核一个线程并发提交请求，报告每核每秒的判断次数，
+ * 计时包含请求体解析与结果位数组的构建。
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthorizationDecisionPerformanceTest {
+
+    private static final int USERS = 100;
+    private static final int PERMISSIONS = 10;
+    private static final int REQUESTS_PER_THREAD = 300;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AclEntryRepository aclEntryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void testDecide_WarmCaches_ReportsDecisionsPerSecondPerCore() throws Exception {
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            List<UserRolePermissionView> rows = new ArrayList<>();
+            for (String username : usernames) {
+                // 每个用户拥有偶数编号的权限
+                for (int p = 0; p < PERMISSIONS; p += 2) {
+                    rows.add(new UserRolePermissionView(username, "ROLE_" + username, "perm:" + p));
+                }
+            }
+            return rows;
+        });
+        when(aclEntryRepository.findByTargetTypeAndTargetIdIn(eq("Document"), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(1);
+            List<AclEntry> entries = new ArrayList<>();
+            for (String id : ids) {
+                entries.add(new AclEntry("Document", id, AclEntry.PrincipalType.USER, "user" + id, "perm:1"));
+            }
+            return entries;
+        });
+
+        PermissionCatalog catalog = new PermissionCatalog();
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, catalog), new SecurityProperties(), null);
+        AclService aclService = new AclService(new AclIndex(aclEntryRepository, catalog, new UserProperties()),
+                snapshotCache, aclEntryRepository, eventPublisher);
+        AuthorizationDecisionController controller = new AuthorizationDecisionController(
+                new PermissionServiceImpl(snapshotCache,
+                        new AuthorizationInvalidationBroadcaster(snapshotCache, null, "bench", 0)),
+                aclService, new ObjectMapper());
+
+        byte[] body = requestBody();
+        BitSet expected = decide(controller, body);
+        assertEquals(expectedGranted(), expected.cardinality());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(cores);
+        long start = System.nanoTime();
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < cores; t++) {
+            results.add(executor.submit(() -> {
+                boolean consistent = true;
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    consistent &= expected.equals(decide(controller, body));
+                }
+                return consistent;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(60, TimeUnit.SECONDS));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+
+        long decisions = (long) cores * REQUESTS_PER_THREAD * AuthorizationDecisionController.MAX_DECISIONS;
+        double perCore = decisions / seconds / cores;
+        System.out.printf("Authorization decisions (%d cores, %d tuples/request): %.0f decisions/s/core%n",
+                cores, AuthorizationDecisionController.MAX_DECISIONS, perCore);
+        assertTrue(perCore > 50_000, "Expected over 50k decisions/s/core, but was " + perCore);
+    }
+
+    /**
+     * 第 i 个元组：用户 i % 100，权限 i % 10；奇数元组带有记录 i % 100，
+     * 记录的 ACL 只授予同编号用户 perm:1
+     */
+    private static byte[] requestBody() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < AuthorizationDecisionController.MAX_DECISIONS; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"subject\":\"user").append(i % USERS)
+                    .append("\",\"permission\":\"perm:").append(i % PERMISSIONS).append('"');
+            if ((i & 1) == 1) {
+                body.append(",\"targetType\":\"Document\",\"targetId\":").append(i % USERS);
+            }
+            body.append('}');
+        }
+        return body.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int expectedGranted() {
+        int granted = 0;
+        for (int i = 0; i < AuthorizationDecisionController.MAX_DECISIONS; i++) {
+            // 偶数权限全局授予；奇数元组权限为奇数，仅 perm:1 且用户与记录编号相同时由 ACL 授予
+            if (i % PERMISSIONS % 2 == 0 || i % PERMISSIONS == 1) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private static BitSet decide(AuthorizationDecisionController controller, byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/authz/decisions");
+        request.setContentType("application/json");
+        request.setContent(body);
+        return BitSet.valueOf(controller.decide(request).getBody().getGranted());
+    }
+}
@@ -3,6 +3,8 @@ package com.original.security.user.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
+import com.original.security.user.api.dto.request.RolePermissionChange;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
 import com.original.security.user.event.RoleCacheEvictionListener;
@@ -126,6 +128,54 @@ class RoleControllerTest {
         verify(roleService).assignPermissions(eq(1L), any(PermissionAssignRequest.class));
     }
 
+    @Test
+    @WithMockUser
+    void testChangePermissions_ValidRequest_ReturnsSuccess() throws Exception {
+        RolePermissionChange change = new RolePermissionChange();
+        change.setRoleId(1L);
+        change.setAddPermissionIds(Collections.singletonList(2L));
+        change.setRemovePermissionIds(Collections.singletonList(3L));
+        RolePermissionBulkRequest request = new RolePermissionBulkRequest();
+        request.setChanges(Collections.singletonList(change));
+
+        mockMvc.perform(post("/api/roles/permissions/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+
+        verify(roleService).changePermissions(any(RolePermissionBulkRequest.class));
+    }
+
+    @Test
+    @WithMockUser
+    void testChangePermissions_MissingRoleId_Returns400() throws Exception {
+        RolePermissionBulkRequest request = new RolePermissionBulkRequest();
+        request.setChanges(Collections.singletonList(new RolePermissionChange()));
+
+        mockMvc.perform(post("/api/roles/permissions/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(400));
+
+        verify(roleService, never()).changePermissions(any());
+    }
+
+    @Test
+    @WithMockUser
+    void testAddParentRole_Cycle_Returns400() throws Exception {
+        doThrow(new IllegalArgumentException("Role hierarchy cycle: ROLE_USER already inherits ROLE_ADMIN"))
+                .when(roleService).addParentRole(1L, 2L);
+
+        mockMvc.perform(put("/api/roles/1/parents/2").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("Role hierarchy cycle: ROLE_USER already inherits ROLE_ADMIN"));
+    }
+
     @Test
     @WithMockUser
     void testGetRole_ExistingRole_ReturnsRoleDetails() throws Exception {
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.original.security.user.api.dto.request.UserCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.UserDTO;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
 import com.original.security.user.config.TestSecurityConfig;
 import com.original.security.user.entity.Role;
 import com.original.security.user.entity.User;
@@ -55,6 +56,9 @@ class UserControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthorizationSnapshotCache snapshotCache;
+
     /**
      * 清理测试环境 - 确保每个测试前清空数据库
      */
@@ -508,6 +512,55 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value(containsString("已禁用")));
     }
 
+    /**
+     * 测试 GET /api/users/me/permissions - 带 ETag 返回清单，If-None-Match 匹配时返回 304 且不重新加载快照
+     */
+    @Test
+    void testGetCurrentUserPermissions_MatchingETag_Returns304WithoutReload() throws Exception {
+        // Given
+        SecurityContextHolder.clearContext();
+        createTestUser("manifestUser", "password", "manifest@example.com");
+        // 直接通过 Repository 创建的用户需登记到授权缓存，与用户创建流程一致
+        snapshotCache.evict("manifestUser");
+        setAuthenticatedUser("manifestUser");
+
+        // When - 首次请求返回完整清单与 ETag
+        MvcResult first = mockMvc.perform(get("/api/users/me/permissions"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.username").value("manifestUser"))
+                .andExpect(jsonPath("$.data.roles[0]").value("USER"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+        long loads = snapshotCache.getCacheMetrics().getLoadSuccessCount();
+
+        // Then - 携带相同 ETag 时返回 304，不含响应体，也不重新加载快照
+        mockMvc.perform(get("/api/users/me/permissions").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+        assertEquals(loads, snapshotCache.getCacheMetrics().getLoadSuccessCount());
+
+        // 快照重新加载但内容不变时 ETag 不变
+        snapshotCache.evict("manifestUser");
+        mockMvc.perform(get("/api/users/me/permissions").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        // 授权变更 (禁用后不再拥有角色) 后 ETag 失效，返回新的清单
+        User user = userRepository.findByUsername("manifestUser").orElseThrow(IllegalStateException::new);
+        user.setEnabled(false);
+        userRepository.save(user);
+        snapshotCache.evict("manifestUser");
+        mockMvc.perform(get("/api/users/me/permissions").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.data.username").value("manifestUser"))
+                .andExpect(jsonPath("$.data.roles", empty()));
+    }
+
     /**
      * 辅助方法：创建测试用户
      * 使用 PasswordEncoder 加密密码，与实际业务逻辑保持一致
@@ -0,0 +1,138 @@
+package com.original.security.user.evaluator;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.acl.AclIndex;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.metrics.CacheMetrics;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * PermissionDecisionCache 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class PermissionDecisionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AclIndex aclIndex;
+
+    private PermissionCatalog permissionCatalog;
+
+    private AuthorizationSnapshotCache snapshotCache;
+
+    private PermissionDecisionCache decisionCache;
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        permissionCatalog = new PermissionCatalog();
+        permissionCatalog.intern("doc:read");
+        permissionCatalog.intern("doc:write");
+        snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, permissionCatalog), new SecurityProperties(), null);
+        decisionCache = new PermissionDecisionCache(snapshotCache, aclIndex, new UserProperties());
+    }
+
+    @Test
+    void testHasPermission_EvaluatesRepeatedDecisionOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true)));
+        }
+
+        assertEquals(1, evaluations.get());
+        CacheMetrics metrics = decisionCache.getCacheMetrics();
+        assertEquals(PermissionDecisionCache.CACHE_NAME, metrics.getCacheName());
+        assertEquals(4, metrics.getHitCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(1, metrics.getLoadSuccessCount());
+        assertEquals(1, metrics.getEstimatedSize());
+        assertEquals(4 * metrics.getAverageLoadPenaltyNanos(), metrics.getEstimatedSavedNanos(), 0.001);
+    }
+
+    @Test
+    void testHasPermission_KeysByPrincipalPermissionAndTarget() {
+        decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true));
+        decisionCache.hasPermission("bob", "Document", 42L, "doc:read", counting(false));
+        decisionCache.hasPermission("alice", "Document", 43L, "doc:read", counting(false));
+        decisionCache.hasPermission("alice", "Folder", 42L, "doc:read", counting(false));
+        decisionCache.hasPermission("alice", "Document", 42L, "doc:write", counting(false));
+        decisionCache.hasPermission("alice", "Document", "42-draft", "doc:read", counting(false));
+        assertEquals(6, evaluations.get());
+
+        // Integer 与 Long 形式的同一记录 ID 命中同一条目
+        assertTrue(decisionCache.hasPermission("alice", "Document", 42, "doc:read", counting(false)));
+        assertFalse(decisionCache.hasPermission("bob", "Document", 42L, "doc:read", counting(true)));
+        assertEquals(6, evaluations.get());
+    }
+
+    @Test
+    void testHasPermission_RecomputesAfterRoleInvalidation() {
+        assertTrue(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true)));
+
+        snapshotCache.invalidateRole("EDITOR");
+
+        assertFalse(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(false)));
+        assertFalse(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true)));
+        assertEquals(2, evaluations.get());
+        assertEquals(2, decisionCache.getCacheMetrics().getMissCount());
+    }
+
+    @Test
+    void testHasPermission_RecomputesAfterAclChange() {
+        assertFalse(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(false)));
+
+        when(aclIndex.getChangeCount()).thenReturn(1L);
+
+        assertTrue(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true)));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void testHasPermission_UnknownPermission_EvaluatedWithoutCaching() {
+        assertFalse(decisionCache.hasPermission("alice", "Document", 42L, "doc:unknown", counting(false)));
+        assertFalse(decisionCache.hasPermission("alice", "Document", 42L, "doc:unknown", counting(false)));
+
+        assertEquals(2, evaluations.get());
+        assertEquals(PermissionCatalog.UNKNOWN, permissionCatalog.idOf("doc:unknown"));
+        assertEquals(0, decisionCache.getCacheMetrics().getEstimatedSize());
+    }
+
+    @Test
+    void testHasPermission_DoesNotCacheFailures() {
+        assertThrows(IllegalStateException.class, () -> decisionCache.hasPermission("alice", "Document", 42L,
+                "doc:read", () -> {
+                    throw new IllegalStateException("database unavailable");
+                }));
+
+        assertTrue(decisionCache.hasPermission("alice", "Document", 42L, "doc:read", counting(true)));
+        assertEquals(1, decisionCache.getCacheMetrics().getLoadFailureCount());
+        assertEquals(1, evaluations.get());
+    }
+
+    private BooleanSupplier counting(boolean granted) {
+        return () -> {
+            evaluations.incrementAndGet();
+            return granted;
+        };
+    }
+}
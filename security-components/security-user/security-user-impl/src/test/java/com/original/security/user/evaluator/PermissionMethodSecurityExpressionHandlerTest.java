@@ -0,0 +1,99 @@
+package com.original.security.user.evaluator;
+
+import com.original.security.core.authorization.expression.CompiledSecurityExpression;
+import com.original.security.user.acl.AclService;
+import com.original.security.user.service.PermissionService;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PermissionMethodSecurityExpressionHandler 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class PermissionMethodSecurityExpressionHandlerTest {
+
+    @Mock
+    private PermissionService permissionService;
+
+    private MethodInvocation invocation;
+
+    private PermissionMethodSecurityExpressionHandler handler;
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "alice", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        Object target = new Object();
+        invocation = new SimpleMethodInvocation(target, Object.class.getMethod("toString"));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("securityPermissionEvaluator", new SecurityPermissionEvaluator(permissionService,
+                mock(AclService.class), null, null));
+        ObjectProvider<SecurityPermissionEvaluator> evaluatorProvider =
+                beanFactory.getBeanProvider(SecurityPermissionEvaluator.class);
+        ObjectProvider<RoleHierarchy> roleHierarchyProvider = beanFactory.getBeanProvider(RoleHierarchy.class);
+        handler = new PermissionMethodSecurityExpressionHandler(evaluatorProvider, roleHierarchyProvider);
+    }
+
+    @Test
+    void testHasAnyPermission_EvaluatedWithOneBatchCheck() {
+        when(permissionService.hasAny("alice", Arrays.asList("doc:read", "doc:write"))).thenReturn(true);
+
+        assertTrue(evaluate("hasAnyPermission('doc:read', 'doc:write')"));
+        verify(permissionService, never()).hasPermission(anyString(), anyString());
+    }
+
+    @Test
+    void testHasAllPermissions_CombinedWithBuiltInExpressions() {
+        when(permissionService.hasAll("alice", Arrays.asList("doc:read", "doc:write"))).thenReturn(false);
+
+        assertFalse(evaluate("hasRole('USER') and hasAllPermissions('doc:read', 'doc:write')"));
+        assertTrue(evaluate("hasRole('USER') or hasAllPermissions('doc:read', 'doc:write')"));
+    }
+
+    @Test
+    void testHasPermission_StillRoutedToPermissionEvaluator() {
+        when(permissionService.hasPermission("alice", "doc:read")).thenReturn(true);
+
+        assertTrue(evaluate("hasPermission(null, 'doc:read')"));
+    }
+
+    @Test
+    void testConstantExpressions_CompiledAndStillRoutedToPermissionEvaluator() {
+        when(permissionService.hasPermission("alice", "doc:read")).thenReturn(true);
+        Expression compiled = handler.getExpressionParser().parseExpression("hasRole('USER') and hasPermission(null, 'doc:read')");
+
+        assertInstanceOf(CompiledSecurityExpression.class, compiled);
+        assertFalse(handler.getExpressionParser().parseExpression("hasAnyPermission('doc:read')")
+                instanceof CompiledSecurityExpression);
+        assertTrue(ExpressionUtils.evaluateAsBoolean(compiled, handler.createEvaluationContext(authentication, invocation)));
+    }
+
+    private boolean evaluate(String expressionString) {
+        Expression expression = handler.getExpressionParser().parseExpression(expressionString);
+        EvaluationContext context = handler.createEvaluationContext(authentication, invocation);
+        return ExpressionUtils.evaluateAsBoolean(expression, context);
+    }
+}
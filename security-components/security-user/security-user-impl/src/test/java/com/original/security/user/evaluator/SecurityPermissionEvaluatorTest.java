@@ -1,15 +1,30 @@
 package com.original.security.user.evaluator;
 
+import com.original.security.config.SecurityProperties;
+import com.original.security.core.authentication.token.ClaimsAuthenticationToken;
+import com.original.security.user.acl.AclIndex;
+import com.original.security.user.acl.AclService;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.AuthorizationTokenClaims;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.InvalidationTransport;
+import com.original.security.user.authorization.invalidation.LoopbackInvalidationTransport;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
 import com.original.security.user.service.PermissionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +36,9 @@ class SecurityPermissionEvaluatorTest {
     @Mock
     private PermissionService permissionService;
 
+    @Mock
+    private AclService aclService;
+
     @Mock
     private Authentication authentication;
 
@@ -28,7 +46,7 @@ class SecurityPermissionEvaluatorTest {
 
     @BeforeEach
     void setUp() {
-        evaluator = new SecurityPermissionEvaluator(permissionService);
+        evaluator = new SecurityPermissionEvaluator(permissionService, aclService, null, null);
     }
 
     @Test
@@ -75,4 +93,96 @@ class SecurityPermissionEvaluatorTest {
     void hasPermission_DomainObject_ShouldReturnFalse_WhenAuthenticationIsNull() {
         assertFalse(evaluator.hasPermission(null, new Object(), "user:read"));
     }
+
+    @Test
+    void hasAnyPermission_ShouldDelegateToBatchCheck() {
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("admin");
+        when(permissionService.hasAny("admin", Arrays.asList("user:read", "user:write"))).thenReturn(true);
+
+        assertTrue(evaluator.hasAnyPermission(authentication, Arrays.asList("user:read", "user:write")));
+        verify(permissionService, never()).hasPermission(anyString(), anyString());
+    }
+
+    @Test
+    void hasAllPermissions_ShouldReturnFalse_WhenNotAuthenticated() {
+        when(authentication.isAuthenticated()).thenReturn(false);
+
+        assertFalse(evaluator.hasAllPermissions(authentication, Collections.singletonList("user:read")));
+        verifyNoInteractions(permissionService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hasPermission_ShouldTrustCurrentTokenClaims_AndFallBackOnceStale() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findRolePermissionsByUsername("admin")).thenReturn(Collections.singletonList(
+                new UserRolePermissionView("admin", "ADMIN", "user:*")));
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), new SecurityProperties(), null);
+        ObjectProvider<InvalidationTransport> transportProvider = mock(ObjectProvider.class);
+        when(transportProvider.getIfAvailable()).thenReturn(new LoopbackInvalidationTransport());
+        AuthorizationTokenClaims tokenClaims = new AuthorizationTokenClaims(snapshotCache, transportProvider);
+        SecurityPermissionEvaluator tokenEvaluator = new SecurityPermissionEvaluator(permissionService, aclService,
+                tokenClaims, null);
+        ClaimsAuthenticationToken token = new ClaimsAuthenticationToken("admin", Collections.emptyList(),
+                tokenClaims.getClaims("admin"));
+
+        assertTrue(tokenEvaluator.hasPermission(token, new Object(), "user:delete"));
+        assertTrue(tokenEvaluator.hasAllPermissions(token, Arrays.asList("user:read", "user:write")));
+        assertFalse(tokenEvaluator.hasAnyPermission(token, Collections.singletonList("report:read")));
+        verifyNoInteractions(permissionService);
+
+        snapshotCache.invalidateRole("ADMIN");
+        when(permissionService.hasPermission("admin", "user:delete")).thenReturn(false);
+
+        assertFalse(tokenEvaluator.hasPermission(token, new Object(), "user:delete"));
+        verify(permissionService).hasPermission("admin", "user:delete");
+    }
+
+    @Test
+    void hasPermission_TargetId_ShouldFallBackToAcl_WhenGlobalPermissionMissing() {
+        SecurityPermissionEvaluator aclEvaluator = new SecurityPermissionEvaluator(permissionService, aclService, null, null);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("alice");
+        when(permissionService.hasPermission("alice", "doc:write")).thenReturn(false);
+        when(aclService.hasPermission("alice", "Document", 42L, "doc:write")).thenReturn(true);
+
+        assertTrue(aclEvaluator.hasPermission(authentication, 42L, "Document", "doc:write"));
+    }
+
+    @Test
+    void hasPermission_TargetId_ShouldSkipAcl_WhenGlobalPermissionGranted() {
+        SecurityPermissionEvaluator aclEvaluator = new SecurityPermissionEvaluator(permissionService, aclService, null, null);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("admin");
+        when(permissionService.hasPermission("admin", "doc:write")).thenReturn(true);
+
+        assertTrue(aclEvaluator.hasPermission(authentication, 42L, "Document", "doc:write"));
+        verifyNoInteractions(aclService);
+    }
+
+    @Test
+    void hasPermission_TargetId_ShouldReuseCachedDecision_UntilAclChanges() {
+        AclIndex aclIndex = mock(AclIndex.class);
+        PermissionCatalog permissionCatalog = new PermissionCatalog();
+        permissionCatalog.intern("doc:write");
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(mock(UserRepository.class), permissionCatalog), new SecurityProperties(), null);
+        UserProperties userProperties = new UserProperties();
+        userProperties.getDecisionCache().setEnabled(true);
+        SecurityPermissionEvaluator cachingEvaluator = new SecurityPermissionEvaluator(permissionService, aclService,
+                null, new PermissionDecisionCache(snapshotCache, aclIndex, userProperties));
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("alice");
+        when(aclService.hasPermission("alice", "Document", 42L, "doc:write")).thenReturn(true);
+
+        assertTrue(cachingEvaluator.hasPermission(authentication, 42L, "Document", "doc:write"));
+        assertTrue(cachingEvaluator.hasPermission(authentication, 42L, "Document", "doc:write"));
+        verify(aclService, times(1)).hasPermission("alice", "Document", 42L, "doc:write");
+
+        when(aclIndex.getChangeCount()).thenReturn(1L);
+        assertTrue(cachingEvaluator.hasPermission(authentication, 42L, "Document", "doc:write"));
+        verify(aclService, times(2)).hasPermission("alice", "Document", 42L, "doc:write");
+    }
 }
@@ -0,0 +1,70 @@
+package com.original.security.user.event;
+
+import com.original.security.user.authorization.invalidation.InvalidationBatch;
+import com.original.security.user.entity.EntityCacheRegions;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * EntityCacheEvictionListener 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EntityCacheEvictionListenerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private EntityCacheEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        listener = new EntityCacheEvictionListener(entityManagerFactory);
+    }
+
+    @Test
+    void testOnRemoteInvalidation_RoleChange_EvictsRolePermissionsAndReferenceQueries() {
+        listener.onRemoteInvalidation(new InvalidationBatch("node-b",
+                Collections.emptySet(), Collections.singleton("EDITOR"), false));
+
+        verify(cache).evictCollectionData(EntityCacheEvictionListener.ROLE_PERMISSIONS_COLLECTION);
+        verify(cache).evictQueryRegion(EntityCacheRegions.REFERENCE_QUERIES);
+    }
+
+    @Test
+    void testOnRemoteInvalidation_All_EvictsRolePermissionsAndReferenceQueries() {
+        listener.onRemoteInvalidation(new InvalidationBatch("node-b",
+                Collections.emptySet(), Collections.emptySet(), true));
+
+        verify(cache).evictCollectionData(EntityCacheEvictionListener.ROLE_PERMISSIONS_COLLECTION);
+        verify(cache).evictQueryRegion(EntityCacheRegions.REFERENCE_QUERIES);
+    }
+
+    @Test
+    void testOnRemoteInvalidation_UsersOnly_LeavesCacheUntouched() {
+        listener.onRemoteInvalidation(new InvalidationBatch("node-b",
+                Collections.singleton("alice"), Collections.emptySet(), false));
+
+        verifyNoInteractions(cache);
+    }
+}
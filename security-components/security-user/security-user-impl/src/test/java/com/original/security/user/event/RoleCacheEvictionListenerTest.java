@@ -0,0 +1,60 @@
+package com.original.security.user.event;
+
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * RoleCacheEvictionListener 单元测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleCacheEvictionListenerTest {
+
+    @Mock
+    private AuthorizationInvalidationBroadcaster invalidationBroadcaster;
+
+    @InjectMocks
+    private RoleCacheEvictionListener listener;
+
+    @Test
+    void testOnPermissionAssigned_InvalidatesRoleWithoutEnumeratingUsers() {
+        listener.onPermissionAssigned(new RolePermissionAssignedEvent(this, "USER", Collections.singletonList(1L)));
+
+        verify(invalidationBroadcaster).evictRole("USER");
+        verifyNoMoreInteractions(invalidationBroadcaster);
+    }
+
+    @Test
+    void testOnPermissionsChanged_PatchesEachChangedRole() {
+        listener.onPermissionsChanged(new RolePermissionsChangedEvent(this, Arrays.asList(
+                new RolePermissionsChangedEvent.Change("EDITOR",
+                        Collections.singleton("doc:write"), Collections.singleton("doc:delete")),
+                new RolePermissionsChangedEvent.Change("VIEWER",
+                        Collections.singleton("doc:read"), Collections.emptySet()))));
+
+        verify(invalidationBroadcaster).patchRole("EDITOR",
+                Collections.singleton("doc:write"), Collections.singleton("doc:delete"));
+        verify(invalidationBroadcaster).patchRole("VIEWER",
+                Collections.singleton("doc:read"), Collections.emptySet());
+        verifyNoMoreInteractions(invalidationBroadcaster);
+    }
+
+    @Test
+    void testOnHierarchyChanged_ReloadsRoleHierarchy() {
+        listener.onHierarchyChanged(new RoleHierarchyChangedEvent(this, "ROLE_USER", "ROLE_ADMIN", true));
+
+        verify(invalidationBroadcaster).evictRoleHierarchy();
+        verifyNoMoreInteractions(invalidationBroadcaster);
+    }
+}
@@ -0,0 +1,62 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.AclEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AclEntryRepository 集成测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class AclEntryRepositoryTest {
+
+    private final AclEntryRepository aclEntryRepository;
+
+    AclEntryRepositoryTest(AclEntryRepository aclEntryRepository) {
+        this.aclEntryRepository = aclEntryRepository;
+    }
+
+    @Test
+    void testFindByTargetTypeAndTargetIdIn_ReturnsEntriesOfRequestedTargetsOnly() {
+        aclEntryRepository.save(new AclEntry("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+        aclEntryRepository.save(new AclEntry("Document", "2", AclEntry.PrincipalType.ROLE, "EDITOR", "doc:write"));
+        aclEntryRepository.save(new AclEntry("Document", "3", AclEntry.PrincipalType.USER, "bob", "doc:read"));
+        aclEntryRepository.save(new AclEntry("Folder", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+
+        List<AclEntry> entries = aclEntryRepository.findByTargetTypeAndTargetIdIn("Document", Arrays.asList("1", "2"));
+
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(e -> "Document".equals(e.getTargetType())));
+    }
+
+    @Test
+    void testInsertGrant_DuplicateGrantIgnored() {
+        assertTrue(aclEntryRepository.insertGrant("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+        assertFalse(aclEntryRepository.insertGrant("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+        assertTrue(aclEntryRepository.insertGrant("Document", "1", AclEntry.PrincipalType.ROLE, "alice", "doc:read"));
+
+        assertEquals(2, aclEntryRepository.count());
+    }
+
+    @Test
+    void testDeleteGrant_MatchesExactGrant() {
+        aclEntryRepository.save(new AclEntry("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+        aclEntryRepository.save(new AclEntry("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:write"));
+
+        assertEquals(0, aclEntryRepository.deleteGrant("Document", "1", AclEntry.PrincipalType.ROLE, "alice", "doc:read"));
+        assertEquals(1, aclEntryRepository.deleteGrant("Document", "1", AclEntry.PrincipalType.USER, "alice", "doc:read"));
+        assertEquals(1, aclEntryRepository.count());
+    }
+}
@@ -105,6 +105,19 @@ public class RbacRepositoryTest {
         assertTrue(foundUser.getRoles().contains(userRole));
     }
 
+    @Test
+    public void testStreamAllUsernames() {
+        userRepository.save(new User("alice", "password", "alice@example.com"));
+        userRepository.save(new User("bob", "password", "bob@example.com"));
+        entityManager.flush();
+        entityManager.clear();
+
+        try (java.util.stream.Stream<String> usernames = userRepository.streamAllUsernames()) {
+            assertEquals(new java.util.HashSet<>(java.util.Arrays.asList("alice", "bob")),
+                    usernames.collect(java.util.stream.Collectors.toSet()));
+        }
+    }
+
     @Test
     public void testCascadeDelete() {
         Permission read = permissionRepository.save(new Permission("user:read", "Read users"));
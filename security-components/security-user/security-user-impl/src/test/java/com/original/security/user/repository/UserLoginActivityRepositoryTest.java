@@ -0,0 +1,54 @@
+package com.original.security.user.repository;
+
+import com.original.security.user.entity.UserLoginActivity;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserLoginActivityRepository 集成测试
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class UserLoginActivityRepositoryTest {
+
+    private final UserLoginActivityRepository loginActivityRepository;
+
+    UserLoginActivityRepositoryTest(UserLoginActivityRepository loginActivityRepository) {
+        this.loginActivityRepository = loginActivityRepository;
+    }
+
+    @Test
+    void testFindRecentUsernames_OrdersByLastLoginAndLimits() {
+        LocalDateTime now = LocalDateTime.now();
+        loginActivityRepository.save(new UserLoginActivity("old", now.minusDays(3)));
+        loginActivityRepository.save(new UserLoginActivity("recent", now.minusMinutes(5)));
+        loginActivityRepository.save(new UserLoginActivity("middle", now.minusHours(2)));
+
+        assertEquals(Arrays.asList("recent", "middle"),
+                loginActivityRepository.findRecentUsernames(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void testSave_ExistingUsername_UpdatesLastLogin() {
+        LocalDateTime now = LocalDateTime.now();
+        loginActivityRepository.save(new UserLoginActivity("alice", now.minusDays(1)));
+        loginActivityRepository.save(new UserLoginActivity("bob", now.minusHours(1)));
+        loginActivityRepository.save(new UserLoginActivity("alice", now));
+
+        assertEquals(2, loginActivityRepository.count());
+        assertEquals(Arrays.asList("alice", "bob"),
+                loginActivityRepository.findRecentUsernames(PageRequest.of(0, 10)));
+    }
+}
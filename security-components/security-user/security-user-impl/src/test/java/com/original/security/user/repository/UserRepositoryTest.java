@@ -1,7 +1,6 @@
 package com.original.security.user.repository;
 
 import com.original.security.user.entity.User;
-import com.original.security.user.entity.Role;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -100,23 +99,6 @@ class UserRepositoryTest {
         assertEquals("testuser", foundUser.get().getUsername());
     }
 
-    @Test
-    void testFindByRoles_Name() {
-        // 测试根据角色名称查找用户
-        // 注意：由于 Role 实体不在当前测试 scope，此测试需要依赖 Role 实体
-        // 如果 Role 类未正确配置，此测试可能失败
-
-        // 保存角色
-        Role role1 = new Role("ADMIN", "Administrator");
-        Role role2 = new Role("USER", "User");
-
-        // 由于 RoleRepository 未注入，跳过此测试
-        // 这个测试需要在一个更完整的集成测试中实现
-        // 暂时标记为跳过
-        org.junit.jupiter.api.Assumptions.assumeTrue(false,
-                "需要 RoleRepository 才能完整测试 findByRoles_Name() 方法");
-    }
-
     @Test
     void testDeleteById() {
         // 测试删除用户
@@ -0,0 +1,141 @@
+package com.original.security.user.service.impl;
+
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
+import com.original.security.user.api.dto.request.RolePermissionChange;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.EntityCacheConfig;
+import com.original.security.user.config.TestSecurityConfig;
+import com.original.security.user.config.UserConfig;
+import com.original.security.user.entity.Permission;
+import com.original.security.user.entity.Role;
+import com.original.security.user.event.EntityCacheEvictionListener;
+import com.original.security.user.event.RoleCacheEvictionListener;
+import com.original.security.user.repository.PermissionRepository;
+import com.original.security.user.repository.RoleRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 角色/权限实体二级缓存测试
+ * <p>
+ * 不使用测试事务，使每次仓库调用都在独立会话中执行；查询缓存在表被当前事务修改期间不会命中。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = {"security.user.entity-cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestSecurityConfig.class, AuthorizationLoader.class, PermissionCatalog.class, AuthorizationSnapshotCache.class,
+        UserConfig.class, AuthorizationInvalidationBroadcaster.class, RoleServiceImpl.class, EntityCacheConfig.class,
+        EntityCacheEvictionListener.class, RoleCacheEvictionListener.class})
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class EntityCacheTest {
+
+    private final RoleServiceImpl roleService;
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionFactory sessionFactory;
+    private final Statistics statistics;
+
+    private Long roleId;
+    private Permission read;
+    private Permission write;
+
+    EntityCacheTest(RoleServiceImpl roleService, RoleRepository roleRepository, PermissionRepository permissionRepository,
+                    JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                    EntityManagerFactory entityManagerFactory) {
+        this.roleService = roleService;
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        read = permissionRepository.save(new Permission("doc:read", "Read"));
+        write = permissionRepository.save(new Permission("doc:write", "Write"));
+        Role role = new Role("USER", "User");
+        role.addPermission(read);
+        roleId = roleRepository.save(role).getId();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM role_permissions");
+        jdbcTemplate.update("DELETE FROM roles");
+        jdbcTemplate.update("DELETE FROM permissions");
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void testFindByName_SecondLookupServedFromCache() {
+        assertTrue(roleRepository.findByName("USER").isPresent());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(roleId, roleRepository.findByName("USER").get().getId());
+        assertTrue(roleRepository.findById(roleId).isPresent());
+        assertEquals(2, permissionRepository.findAllById(Arrays.asList(read.getId(), write.getId())).size());
+        long afterWarmUp = statistics.getPrepareStatementCount();
+        assertEquals(2, permissionRepository.findAllById(Arrays.asList(read.getId(), write.getId())).size());
+
+        assertEquals(statements + 1, afterWarmUp, "Only the first findAllById should reach the database");
+        assertEquals(afterWarmUp, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 2);
+    }
+
+    @Test
+    void testChangePermissions_JdbcWriteEvictsCachedRolePermissions() {
+        assertEquals(Collections.singleton("doc:read"), permissionNames());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(Collections.singleton("doc:read"), permissionNames());
+        assertEquals(statements, statistics.getPrepareStatementCount(), "Role and its permissions must come from cache");
+
+        RolePermissionChange change = new RolePermissionChange();
+        change.setRoleId(roleId);
+        change.setAddPermissionIds(Collections.singletonList(write.getId()));
+        RolePermissionBulkRequest request = new RolePermissionBulkRequest();
+        request.setChanges(Collections.singletonList(change));
+        roleService.changePermissions(request);
+
+        assertEquals(new HashSet<>(Arrays.asList("doc:read", "doc:write")), permissionNames());
+    }
+
+    private Set<String> permissionNames() {
+        return transactionTemplate.execute(status -> roleRepository.findById(roleId).get().getPermissions().stream()
+                .map(Permission::getName)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -1,19 +1,27 @@
 package com.original.security.user.service.impl;
 
 import com.original.security.config.SecurityProperties;
-import com.original.security.user.entity.Permission;
-import com.original.security.user.entity.Role;
-import com.original.security.user.entity.User;
+import com.original.security.user.api.dto.response.PermissionManifestDTO;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.authorization.PermissionCatalog;
 import com.original.security.user.repository.UserRepository;
+import com.original.security.user.repository.UserRolePermissionView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,46 +38,43 @@ class PermissionServiceImplTest {
     @BeforeEach
     void setUp() {
         when(securityProperties.getCache()).thenReturn(new SecurityProperties.Cache());
-        permissionService = new PermissionServiceImpl(userRepository, securityProperties);
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), securityProperties, null);
+        permissionService = new PermissionServiceImpl(snapshotCache,
+                new AuthorizationInvalidationBroadcaster(snapshotCache, null, "test-node", 0));
     }
 
     @Test
     void hasPermission_ShouldReturnTrue_WhenUserHasPermission() {
-        User user = new User("admin", "pwd", "admin@test.com");
-        Role role = new Role("ADMIN", "Admin Role");
-        Permission perm = new Permission("user:read", "Read User");
-        role.addPermission(perm);
-        user.addRole(role);
-
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(rows("admin", "ADMIN", "user:read"));
 
         assertTrue(permissionService.hasPermission("admin", "user:read"));
 
         // 验证缓存生效，再次调用不会访问数据库
         assertTrue(permissionService.hasPermission("admin", "user:read"));
-        verify(userRepository, times(1)).findByUsername("admin");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("admin");
+        verify(userRepository, never()).findByUsername(any());
     }
 
     @Test
     void hasPermission_ShouldReturnFalse_WhenUserDoesNotHavePermission() {
-        User user = new User("user", "pwd", "user@test.com");
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("user")).thenReturn(rows("user", "USER"));
 
         assertFalse(permissionService.hasPermission("user", "user:read"));
     }
 
     @Test
     void hasPermission_ShouldReturnFalse_WhenUserIsDisabled() {
-        User user = new User("disabled_user", "pwd", "user@test.com");
-        user.setEnabled(false);
-        when(userRepository.findByUsername("disabled_user")).thenReturn(Optional.of(user));
+        // 投影查询只返回启用用户的行，禁用用户得到空结果
+        when(userRepository.findRolePermissionsByUsername("disabled_user")).thenReturn(Collections.emptyList());
 
         assertFalse(permissionService.hasPermission("disabled_user", "user:read"));
     }
 
     @Test
     void hasPermission_ShouldReturnFalse_WhenUserNotFound() {
-        when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+        when(userRepository.findRolePermissionsByUsername("unknown")).thenReturn(Collections.emptyList());
 
         assertFalse(permissionService.hasPermission("unknown", "user:read"));
     }
@@ -83,33 +88,26 @@ class PermissionServiceImplTest {
 
     @Test
     void clearCache_ShouldRemoveUserFromCache() {
-        User user = new User("admin", "pwd", "admin@test.com");
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("admin")).thenReturn(rows("admin", "ADMIN"));
 
         assertFalse(permissionService.hasPermission("admin", "user:read"));
 
         permissionService.clearCache("admin");
         assertFalse(permissionService.hasPermission("admin", "user:read"));
 
-        verify(userRepository, times(2)).findByUsername("admin");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("admin");
     }
 
     @Test
     void hasPermission_ShouldNegativeCacheDisabledUser_UntilCleared() {
         // 禁用用户应被负向缓存，以防止频繁查询 DB
-        User disabledUser = new User("target", "pwd", "target@test.com");
-        disabledUser.setEnabled(false);
-        when(userRepository.findByUsername("target")).thenReturn(Optional.of(disabledUser));
+        when(userRepository.findRolePermissionsByUsername("target")).thenReturn(Collections.emptyList());
 
         assertFalse(permissionService.hasPermission("target", "user:read"));
 
         // 模拟账户被启用
-        User enabledUser = new User("target", "pwd", "target@test.com");
-        Role role = new Role("ADMIN", "Admin Role");
-        Permission perm = new Permission("user:read", "Read User");
-        role.addPermission(perm);
-        enabledUser.addRole(role);
-        when(userRepository.findByUsername("target")).thenReturn(Optional.of(enabledUser));
+        when(userRepository.findRolePermissionsByUsername("target"))
+                .thenReturn(rows("target", "ADMIN", "user:read"));
 
         // 由于实施了负向缓存，必须手动清理或等待失效
         permissionService.clearCache("target");
@@ -117,15 +115,13 @@ class PermissionServiceImplTest {
         // 现在应该能正常授权
         assertTrue(permissionService.hasPermission("target", "user:read"));
         // 两次都查了数据库（因为中间手工清了缓存）
-        verify(userRepository, times(2)).findByUsername("target");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("target");
     }
 
     @Test
     void clearAllCache_ShouldForceReloadForAllUsers() {
-        User user1 = new User("user1", "pwd", "user1@test.com");
-        User user2 = new User("user2", "pwd", "user2@test.com");
-        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-        when(userRepository.findByUsername("user2")).thenReturn(Optional.of(user2));
+        when(userRepository.findRolePermissionsByUsername("user1")).thenReturn(rows("user1", "USER"));
+        when(userRepository.findRolePermissionsByUsername("user2")).thenReturn(rows("user2", "USER"));
 
         permissionService.hasPermission("user1", "x");
         permissionService.hasPermission("user2", "x");
@@ -136,19 +132,15 @@ class PermissionServiceImplTest {
         permissionService.hasPermission("user2", "x");
 
         // After clearing, DB should be queried again for both users
-        verify(userRepository, times(2)).findByUsername("user1");
-        verify(userRepository, times(2)).findByUsername("user2");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("user1");
+        verify(userRepository, times(2)).findRolePermissionsByUsername("user2");
     }
 
     @Test
     void hasPermission_CachedResultShouldBeReusedWithoutDbQuery() {
         // 验证双重检查锁定（DCL）：缓存填充后的后续调用应直接返回缓存结果，不再查询 DB
-        User user = new User("concurrent_user", "pwd", "cu@test.com");
-        Role role = new Role("USER", "User Role");
-        Permission perm = new Permission("data:read", "Read Data");
-        role.addPermission(perm);
-        user.addRole(role);
-        when(userRepository.findByUsername("concurrent_user")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("concurrent_user"))
+                .thenReturn(rows("concurrent_user", "USER", "data:read"));
 
         // 第一次调用：缓存未命中，查 DB 并填充缓存
         assertTrue(permissionService.hasPermission("concurrent_user", "data:read"));
@@ -158,6 +150,150 @@ class PermissionServiceImplTest {
         assertTrue(permissionService.hasPermission("concurrent_user", "data:read"));
 
         // DB 应只被查询一次
-        verify(userRepository, times(1)).findByUsername("concurrent_user");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("concurrent_user");
+    }
+
+    @Test
+    void hasPermission_RoleWithMultiplePermissions_AggregatesAllRows() {
+        when(userRepository.findRolePermissionsByUsername("multi")).thenReturn(Arrays.asList(
+                new UserRolePermissionView("multi", "ADMIN", "user:read"),
+                new UserRolePermissionView("multi", "ADMIN", "user:write"),
+                new UserRolePermissionView("multi", "AUDITOR", "audit:read"),
+                new UserRolePermissionView("multi", "EMPTY_ROLE", null)));
+
+        assertTrue(permissionService.hasPermission("multi", "user:read"));
+        assertTrue(permissionService.hasPermission("multi", "user:write"));
+        assertTrue(permissionService.hasPermission("multi", "audit:read"));
+        assertFalse(permissionService.hasPermission("multi", "audit:write"));
+        verify(userRepository, times(1)).findRolePermissionsByUsername("multi");
+    }
+
+    @Test
+    void check_ShouldReturnBitPerPermissionInIterationOrder() {
+        when(userRepository.findRolePermissionsByUsername("editor"))
+                .thenReturn(rows("editor", "EDITOR", "doc:read", "doc:write"));
+
+        BitSet granted = permissionService.check("editor",
+                Arrays.asList("doc:read", "doc:delete", "doc:write", "unknown:perm"));
+
+        assertEquals(BitSet.valueOf(new long[]{0b0101}), granted);
+        assertTrue(permissionService.hasAny("editor", Arrays.asList("doc:delete", "doc:write")));
+        assertFalse(permissionService.hasAll("editor", Arrays.asList("doc:read", "doc:delete")));
+        assertTrue(permissionService.hasAll("editor", Arrays.asList("doc:read", "doc:write")));
+        verify(userRepository, times(1)).findRolePermissionsByUsername("editor");
+    }
+
+    @Test
+    void check_ShouldReturnEmptyBitSet_WhenInputsAreInvalid() {
+        assertTrue(permissionService.check(null, Collections.singletonList("doc:read")).isEmpty());
+        assertTrue(permissionService.check("editor", Collections.emptyList()).isEmpty());
+        assertFalse(permissionService.hasAny("editor", Collections.emptyList()));
+        assertTrue(permissionService.hasAll("editor", Collections.emptyList()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkAll_ShouldResolveAllUsersInOneBatchedLoad() {
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenReturn(Arrays.asList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read"),
+                new UserRolePermissionView("alice", "EDITOR", "doc:write"),
+                new UserRolePermissionView("bob", "VIEWER", "doc:read")));
+
+        Map<String, BitSet> result = permissionService.checkAll(Arrays.asList("alice", "bob", "carol"),
+                Arrays.asList("doc:read", "doc:write"));
+
+        assertEquals(Arrays.asList("alice", "bob", "carol"), new java.util.ArrayList<>(result.keySet()));
+        assertEquals(2, result.get("alice").cardinality());
+        assertEquals(BitSet.valueOf(new long[]{0b01}), result.get("bob"));
+        assertTrue(result.get("carol").isEmpty());
+        verify(userRepository, times(1)).findRolePermissionsByUsernameIn(anyCollection());
+        verify(userRepository, never()).findRolePermissionsByUsername(anyString());
+    }
+
+    @Test
+    void checkPairs_ShouldResolveEachDistinctUserOnce() {
+        when(userRepository.findRolePermissionsByUsernameIn(anyCollection())).thenReturn(Arrays.asList(
+                new UserRolePermissionView("alice", "EDITOR", "doc:read"),
+                new UserRolePermissionView("alice", "EDITOR", "doc:write"),
+                new UserRolePermissionView("bob", "VIEWER", "doc:*")));
+
+        BitSet granted = permissionService.checkPairs(
+                Arrays.asList("alice", "bob", "alice", "carol", "bob", null),
+                Arrays.asList("doc:write", "doc:delete", "doc:delete", "doc:read", "user:read", "doc:read"));
+
+        assertEquals(BitSet.valueOf(new long[]{0b000011}), granted);
+        verify(userRepository, times(1)).findRolePermissionsByUsernameIn(anyCollection());
+        verify(userRepository, never()).findRolePermissionsByUsername(anyString());
+        assertThrows(IllegalArgumentException.class, () -> permissionService.checkPairs(
+                Collections.singletonList("alice"), Collections.emptyList()));
+    }
+
+    @Test
+    void getPermissionManifest_ShouldListSortedNamesAndKeepVersionWhileCached() {
+        when(userRepository.findRolePermissionsByUsername("editor"))
+                .thenReturn(rows("editor", "EDITOR", "doc:write", "doc:*", "doc:read"));
+
+        PermissionManifestDTO first = permissionService.getPermissionManifest("editor");
+        PermissionManifestDTO second = permissionService.getPermissionManifest("editor");
+
+        assertEquals("editor", first.getUsername());
+        assertEquals(Collections.singleton("EDITOR"), first.getRoles());
+        assertEquals(Arrays.asList("doc:*", "doc:read", "doc:write"), new java.util.ArrayList<>(first.getPermissions()));
+        assertEquals(first.getVersion(), second.getVersion());
+        verify(userRepository, times(1)).findRolePermissionsByUsername("editor");
+
+        permissionService.clearCache("editor");
+
+        assertTrue(permissionService.getPermissionManifest("editor").getVersion() > first.getVersion());
+    }
+
+    @Test
+    void getPermissionManifestDigest_ShouldSurviveReloadAndChangeWithContent() {
+        when(userRepository.findRolePermissionsByUsername("editor"))
+                .thenReturn(rows("editor", "EDITOR", "doc:write", "doc:read"))
+                .thenReturn(rows("editor", "EDITOR", "doc:read", "doc:write"))
+                .thenReturn(rows("editor", "EDITOR", "doc:read"));
+        when(userRepository.findRolePermissionsByUsername("other"))
+                .thenReturn(rows("other", "EDITOR", "doc:write", "doc:read"));
+
+        String digest = permissionService.getPermissionManifestDigest("editor");
+        permissionService.clearCache("editor");
+
+        // 重新加载后版本号变化，但内容相同、权限顺序不同时摘要不变
+        assertEquals(digest, permissionService.getPermissionManifestDigest("editor"));
+        assertNotEquals(digest, permissionService.getPermissionManifestDigest("other"));
+
+        permissionService.clearCache("editor");
+        assertNotEquals(digest, permissionService.getPermissionManifestDigest("editor"));
+    }
+
+    @Test
+    void hasPermission_WildcardGrantsMatchBySegment_ExactGrantsUnchanged() {
+        when(userRepository.findRolePermissionsByUsername("manager"))
+                .thenReturn(rows("manager", "MANAGER", "user:*", "report:*:read", "audit:read"));
+
+        assertTrue(permissionService.hasPermission("manager", "user:delete"));
+        assertTrue(permissionService.hasPermission("manager", "user:profile:edit"));
+        assertTrue(permissionService.hasPermission("manager", "report:sales:read"));
+        assertFalse(permissionService.hasPermission("manager", "report:sales:write"));
+        assertTrue(permissionService.hasPermission("manager", "audit:read"));
+        assertFalse(permissionService.hasPermission("manager", "audit:read:all"));
+        assertEquals(BitSet.valueOf(new long[]{0b011}), permissionService.check("manager",
+                Arrays.asList("user:read", "report:hr:read", "audit:write")));
+        verify(userRepository, times(1)).findRolePermissionsByUsername("manager");
+    }
+
+    /**
+     * 构造单个角色的投影行，未指定权限时模拟未分配权限的角色 (LEFT JOIN 产生的 null 行)
+     */
+    static List<UserRolePermissionView> rows(String username, String role, String... permissions) {
+        if (permissions.length == 0) {
+            return Collections.singletonList(new UserRolePermissionView(username, role, null));
+        }
+        UserRolePermissionView[] rows = new UserRolePermissionView[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            rows[i] = new UserRolePermissionView(username, role, permissions[i]);
+        }
+        return Arrays.asList(rows);
     }
 }
@@ -1,9 +1,10 @@
 package com.original.security.user.service.impl;
 
 import com.original.security.config.SecurityProperties;
-import com.original.security.user.entity.Permission;
-import com.original.security.user.entity.Role;
-import com.original.security.user.entity.User;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.authorization.PermissionCatalog;
 import com.original.security.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -35,18 +35,16 @@ class PermissionServicePerformanceTest {
     @BeforeEach
     void setUp() {
         when(securityProperties.getCache()).thenReturn(new SecurityProperties.Cache());
-        permissionService = new PermissionServiceImpl(userRepository, securityProperties);
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), securityProperties, null);
+        permissionService = new PermissionServiceImpl(snapshotCache,
+                new AuthorizationInvalidationBroadcaster(snapshotCache, null, "test-node", 0));
     }
 
     @Test
     void testHasPermission_ConcurrentPerformance_ShouldBeUnder5ms() throws InterruptedException {
-        User user = new User("admin", "pwd", "admin@test.com");
-        Role role = new Role("ADMIN", "Admin Role");
-        Permission perm = new Permission("user:read", "Read User");
-        role.addPermission(perm);
-        user.addRole(role);
-
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN", "user:read"));
 
         // Pre-warm cache and JIT/Mockito
         for (int i = 0; i < 10000; i++) {
@@ -0,0 +1,160 @@
+package com.original.security.user.service.impl;
+
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.DatabaseRoleHierarchy;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.TestSecurityConfig;
+import com.original.security.user.config.UserConfig;
+import com.original.security.user.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据库角色继承测试
+ * <p>
+ * 验证编辑继承边时闭包表的增量维护 (链、菱形、删除、环检测) 以及闭包加载为可达位图后的查询结果。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = "security.user.role-hierarchy.enabled=true")
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, AuthorizationLoader.class, PermissionCatalog.class, AuthorizationSnapshotCache.class,
+        UserConfig.class, AuthorizationInvalidationBroadcaster.class, DatabaseRoleHierarchy.class, RoleServiceImpl.class})
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class RoleHierarchyClosureTest {
+
+    /**
+     * TestEntityManager - Spring Boot 测试框架特有的，必须使用 @Autowired 字段注入
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final RoleServiceImpl roleService;
+    private final DatabaseRoleHierarchy roleHierarchy;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Long admin;
+    private Long editor;
+    private Long reviewer;
+    private Long user;
+
+    RoleHierarchyClosureTest(RoleServiceImpl roleService, DatabaseRoleHierarchy roleHierarchy, JdbcTemplate jdbcTemplate) {
+        this.roleService = roleService;
+        this.roleHierarchy = roleHierarchy;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    void setUp() {
+        admin = entityManager.persist(new Role("ROLE_ADMIN", "Admin")).getId();
+        editor = entityManager.persist(new Role("ROLE_EDITOR", "Editor")).getId();
+        reviewer = entityManager.persist(new Role("ROLE_REVIEWER", "Reviewer")).getId();
+        user = entityManager.persist(new Role("ROLE_USER", "User")).getId();
+        entityManager.flush();
+    }
+
+    @Test
+    void testAddParentRole_ChainMaterializedWithDepth() {
+        roleService.addParentRole(user, editor);
+        roleService.addParentRole(editor, admin);
+
+        Map<String, Integer> closure = closure();
+        assertEquals(3, closure.size());
+        assertEquals(1, closure.get("ROLE_EDITOR>ROLE_USER"));
+        assertEquals(1, closure.get("ROLE_ADMIN>ROLE_EDITOR"));
+        assertEquals(2, closure.get("ROLE_ADMIN>ROLE_USER"));
+    }
+
+    @Test
+    void testAddParentRole_Cycle_Rejected() {
+        roleService.addParentRole(user, editor);
+        roleService.addParentRole(editor, admin);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> roleService.addParentRole(admin, user));
+
+        assertEquals("Role hierarchy cycle: ROLE_ADMIN already inherits ROLE_USER", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> roleService.addParentRole(user, user));
+    }
+
+    @Test
+    void testAddParentRole_AncestorKeepsSiblingBranch() {
+        roleService.addParentRole(user, reviewer);
+        roleService.addParentRole(reviewer, admin);
+
+        roleService.addParentRole(editor, admin);
+
+        Map<String, Integer> closure = closure();
+        assertEquals(4, closure.size());
+        assertEquals(1, closure.get("ROLE_ADMIN>ROLE_EDITOR"));
+        assertEquals(1, closure.get("ROLE_ADMIN>ROLE_REVIEWER"));
+        assertEquals(2, closure.get("ROLE_ADMIN>ROLE_USER"));
+    }
+
+    @Test
+    void testRemoveParentRole_DiamondKeepsPathThroughOtherBranch() {
+        roleService.addParentRole(user, editor);
+        roleService.addParentRole(user, reviewer);
+        roleService.addParentRole(editor, admin);
+        roleService.addParentRole(reviewer, admin);
+
+        roleService.removeParentRole(user, editor);
+
+        Map<String, Integer> closure = closure();
+        assertFalse(closure.containsKey("ROLE_EDITOR>ROLE_USER"));
+        assertEquals(2, closure.get("ROLE_ADMIN>ROLE_USER"));
+        assertEquals(1, closure.get("ROLE_REVIEWER>ROLE_USER"));
+    }
+
+    @Test
+    void testReload_ReachableAuthoritiesFromBitmapWithoutRestart() {
+        roleService.addParentRole(user, editor);
+        roleService.addParentRole(editor, admin);
+        roleHierarchy.reload();
+
+        assertEquals(new HashSet<>(Arrays.asList("ROLE_ADMIN", "ROLE_EDITOR", "ROLE_USER")),
+                names(roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_ADMIN"))));
+        assertFalse(names(roleHierarchy.getReachableGrantedAuthorities(
+                AuthorityUtils.createAuthorityList("ROLE_USER"))).contains("ROLE_EDITOR"));
+
+        roleService.removeParentRole(editor, admin);
+        roleHierarchy.reload();
+
+        assertEquals(1, roleHierarchy.getReachableGrantedAuthorities(
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")).size());
+    }
+
+    private Map<String, Integer> closure() {
+        Map<String, Integer> closure = new HashMap<>();
+        jdbcTemplate.query("SELECT a.name AS ancestor, d.name AS descendant, c.depth FROM role_closure c " +
+                "JOIN roles a ON a.id = c.ancestor_id JOIN roles d ON d.id = c.descendant_id", rs -> {
+            closure.put(rs.getString("ancestor") + ">" + rs.getString("descendant"), rs.getInt("depth"));
+        });
+        return closure;
+    }
+
+    private static Set<String> names(Collection<? extends GrantedAuthority> authorities) {
+        return AuthorityUtils.authorityListToSet(authorities);
+    }
+}
@@ -0,0 +1,136 @@
+package com.original.security.user.service.impl;
+
+import com.original.security.config.SecurityProperties;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.repository.PermissionRepository;
+import com.original.security.user.repository.RoleRepository;
+import com.original.security.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * 角色继承闭包基准测试
+ * <p>
+ * 5 层、每层 8 个共 40 个角色的继承关系，上层角色包含下一层中相邻的两个角色。
+ * 对比每次调用 {@code RoleHierarchy#getReachableGrantedAuthorities} 与预计算闭包后的 {@code hasRole} 耗时。
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleHierarchyPerformanceTest {
+
+    private static final int LEVELS = 5;
+    private static final int ROLES_PER_LEVEL = 8;
+    private static final int ITERATIONS = 200_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SecurityProperties securityProperties;
+
+    @Test
+    void testHasRole_FiveLevelHierarchy_ClosureFasterThanPerCallExpansion() {
+        RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
+        roleHierarchy.setHierarchy(buildHierarchy());
+
+        when(securityProperties.getCache()).thenReturn(new SecurityProperties.Cache());
+        when(userRepository.findRolePermissionsByUsername("top"))
+                .thenReturn(PermissionServiceImplTest.rows("top", role(0, 0)));
+        AuthorizationSnapshotCache snapshotCache = new AuthorizationSnapshotCache(
+                new AuthorizationLoader(userRepository, new PermissionCatalog()), securityProperties, roleHierarchy);
+        RoleServiceImpl roleService = new RoleServiceImpl(snapshotCache,
+                new AuthorizationInvalidationBroadcaster(snapshotCache, null, "test-node", 0), roleRepository, permissionRepository, eventPublisher,
+                new UserProperties());
+
+        String[] targets = {role(1, 1), role(2, 2), role(3, 3), role(4, 4), role(4, 7)};
+        assertTrue(roleService.hasRole("top", role(4, 4)));
+        assertFalse(roleService.hasRole("top", role(4, 7)));
+
+        // 预热
+        perCallExpansion(roleHierarchy, role(0, 0), targets, ITERATIONS / 10);
+        closureLookup(roleService, targets, ITERATIONS / 10);
+
+        long start = System.nanoTime();
+        int perCallHits = perCallExpansion(roleHierarchy, role(0, 0), targets, ITERATIONS);
+        double perCallNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        start = System.nanoTime();
+        int closureHits = closureLookup(roleService, targets, ITERATIONS);
+        double closureNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        System.out.printf("hasRole with 5-level/40-role hierarchy: per-call expansion=%.1f ns, closure=%.1f ns%n",
+                perCallNanos, closureNanos);
+        assertEquals(perCallHits, closureHits, "Closure must give the same answers as per-call expansion");
+        assertTrue(closureNanos < perCallNanos,
+                "Closure lookup should be faster than per-call expansion, but was "
+                        + closureNanos + " vs " + perCallNanos + " ns");
+    }
+
+    /**
+     * 原实现：每次调用都重建权限列表并计算可达角色
+     */
+    private int perCallExpansion(RoleHierarchyImpl roleHierarchy, String userRole, String[] targets, int iterations) {
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            String searchRole = "ROLE_" + targets[i % targets.length];
+            List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userRole));
+            Collection<? extends GrantedAuthority> reachable = roleHierarchy.getReachableGrantedAuthorities(authorities);
+            if (reachable.stream().anyMatch(a -> a.getAuthority().equals(searchRole))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private int closureLookup(RoleServiceImpl roleService, String[] targets, int iterations) {
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (roleService.hasRole("top", targets[i % targets.length])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static String buildHierarchy() {
+        StringBuilder hierarchy = new StringBuilder();
+        for (int level = 0; level < LEVELS - 1; level++) {
+            for (int i = 0; i < ROLES_PER_LEVEL; i++) {
+                hierarchy.append("ROLE_").append(role(level, i)).append(" > ROLE_").append(role(level + 1, i)).append('\n');
+                hierarchy.append("ROLE_").append(role(level, i)).append(" > ROLE_")
+                        .append(role(level + 1, (i + 1) % ROLES_PER_LEVEL)).append('\n');
+            }
+        }
+        return hierarchy.toString();
+    }
+
+    private static String role(int level, int index) {
+        return "L" + level + "_" + index;
+    }
+}
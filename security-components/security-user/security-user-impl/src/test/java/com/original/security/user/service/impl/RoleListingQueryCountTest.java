@@ -0,0 +1,129 @@
+package com.original.security.user.service.impl;
+
+import com.original.security.user.api.dto.response.PageDTO;
+import com.original.security.user.api.dto.response.RoleDTO;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.TestSecurityConfig;
+import com.original.security.user.config.UserConfig;
+import com.original.security.user.config.UserProperties;
+import com.original.security.user.entity.Permission;
+import com.original.security.user.entity.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 角色列表的 SQL 次数测试
+ * <p>
+ * 通过 Hibernate Statistics 锁定分页列出角色的查询次数不随页内角色数增长。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, AuthorizationLoader.class, PermissionCatalog.class, AuthorizationSnapshotCache.class,
+        UserConfig.class, AuthorizationInvalidationBroadcaster.class, RoleServiceImpl.class})
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class RoleListingQueryCountTest {
+
+    private static final int ROLE_COUNT = 120;
+
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * TestEntityManager - Spring Boot 测试框架特有的，必须使用 @Autowired 字段注入
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final RoleServiceImpl roleService;
+    private final UserProperties userProperties;
+    private final Statistics statistics;
+
+    private Long firstRoleId;
+
+    RoleListingQueryCountTest(RoleServiceImpl roleService,
+                              UserProperties userProperties,
+                              EntityManagerFactory entityManagerFactory) {
+        this.roleService = roleService;
+        this.userProperties = userProperties;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permissions.add(entityManager.persist(new Permission("perm:" + i, "Permission " + i)));
+        }
+        for (int i = 0; i < ROLE_COUNT; i++) {
+            Role role = new Role("ROLE_" + i, "Role " + i);
+            role.addPermission(permissions.get(i % 10));
+            role.addPermission(permissions.get((i + 1) % 10));
+            entityManager.persist(role);
+            if (i == 0) {
+                firstRoleId = role.getId();
+            }
+        }
+
+        // 写入并清空持久化上下文，确保后续读取真正访问数据库
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userProperties.getRoleListing().setIncludePermissions(true);
+    }
+
+    @Test
+    void testListRoles_FullPageWithPermissions_PageCountAndOneBatchQuery() {
+        PageDTO<RoleDTO> page = roleService.listRoles(0, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(ROLE_COUNT, page.getTotalElements());
+        page.getContent().forEach(role -> assertEquals(2, role.getPermissions().size(), role.getName()));
+        // 分页查询 + COUNT + 权限批量查询
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testListRoles_PermissionsExcluded_OnlyPageAndCount() {
+        userProperties.getRoleListing().setIncludePermissions(false);
+
+        PageDTO<RoleDTO> page = roleService.listRoles(0, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        page.getContent().forEach(role -> assertNull(role.getPermissions()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetRole_LoadsRoleAndPermissionsInOneQuery() {
+        RoleDTO role = roleService.getRole(firstRoleId);
+
+        assertEquals("ROLE_0", role.getName());
+        assertEquals(2, role.getPermissions().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
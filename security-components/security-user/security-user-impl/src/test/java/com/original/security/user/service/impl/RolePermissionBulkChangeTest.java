@@ -0,0 +1,153 @@
+package com.original.security.user.service.impl;
+
+import com.original.security.user.api.dto.request.RolePermissionBulkRequest;
+import com.original.security.user.api.dto.request.RolePermissionChange;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.PermissionCatalog;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.config.TestSecurityConfig;
+import com.original.security.user.config.UserConfig;
+import com.original.security.user.entity.Permission;
+import com.original.security.user.entity.Role;
+import com.original.security.user.event.RolePermissionsChangedEvent;
+import com.original.security.user.repository.RolePermissionView;
+import com.original.security.user.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量角色权限变更测试
+ * <p>
+ * 验证批量新增/移除写入 {@code role_permissions}、只写入实际差异，且整批只发布一个事件。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@Import({TestSecurityConfig.class, AuthorizationLoader.class, PermissionCatalog.class, AuthorizationSnapshotCache.class,
+        UserConfig.class, AuthorizationInvalidationBroadcaster.class, RoleServiceImpl.class})
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class RolePermissionBulkChangeTest {
+
+    /**
+     * TestEntityManager - Spring Boot 测试框架特有的，必须使用 @Autowired 字段注入
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final RoleServiceImpl roleService;
+    private final RoleRepository roleRepository;
+
+    private Role editor;
+    private Role viewer;
+    private Permission read;
+    private Permission write;
+    private Permission delete;
+
+    RolePermissionBulkChangeTest(RoleServiceImpl roleService, RoleRepository roleRepository) {
+        this.roleService = roleService;
+        this.roleRepository = roleRepository;
+    }
+
+    @BeforeEach
+    void setUp() {
+        read = entityManager.persist(new Permission("doc:read", "Read"));
+        write = entityManager.persist(new Permission("doc:write", "Write"));
+        delete = entityManager.persist(new Permission("doc:delete", "Delete"));
+        editor = new Role("EDITOR", "Editor");
+        editor.addPermission(read);
+        editor.addPermission(delete);
+        editor = entityManager.persist(editor);
+        viewer = entityManager.persist(new Role("VIEWER", "Viewer"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testChangePermissions_AppliesAddsAndRemovesAndPublishesOneEvent(ApplicationEvents events) {
+        roleService.changePermissions(request(
+                change(editor.getId(), Arrays.asList(read.getId(), write.getId()), Collections.singletonList(delete.getId())),
+                change(viewer.getId(), Collections.singletonList(read.getId()), null)));
+
+        assertEquals(names("doc:read", "doc:write"), permissionsOf(editor));
+        assertEquals(names("doc:read"), permissionsOf(viewer));
+
+        List<RolePermissionsChangedEvent> published = events.stream(RolePermissionsChangedEvent.class)
+                .collect(Collectors.toList());
+        assertEquals(1, published.size());
+        List<RolePermissionsChangedEvent.Change> changes = published.get(0).getChanges();
+        assertEquals(2, changes.size());
+        assertEquals("EDITOR", changes.get(0).getRoleName());
+        assertEquals(names("doc:write"), changes.get(0).getAddedPermissions());
+        assertEquals(names("doc:delete"), changes.get(0).getRemovedPermissions());
+        assertEquals("VIEWER", changes.get(1).getRoleName());
+        assertEquals(names("doc:read"), changes.get(1).getAddedPermissions());
+    }
+
+    @Test
+    void testChangePermissions_NoEffectiveChange_NoEvent(ApplicationEvents events) {
+        roleService.changePermissions(request(
+                change(editor.getId(), Collections.singletonList(read.getId()), Collections.singletonList(write.getId()))));
+
+        assertEquals(names("doc:read", "doc:delete"), permissionsOf(editor));
+        assertEquals(0, events.stream(RolePermissionsChangedEvent.class).count());
+    }
+
+    @Test
+    void testChangePermissions_UnknownPermission_NothingWritten(ApplicationEvents events) {
+        RolePermissionBulkRequest request = request(
+                change(viewer.getId(), Collections.singletonList(read.getId()), null),
+                change(editor.getId(), Collections.singletonList(-1L), null));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> roleService.changePermissions(request));
+
+        assertEquals("Permission IDs not found: [-1]", e.getMessage());
+        assertTrue(permissionsOf(viewer).isEmpty());
+        assertEquals(0, events.stream(RolePermissionsChangedEvent.class).count());
+    }
+
+    private Set<String> permissionsOf(Role role) {
+        return roleRepository.findPermissionsByRoleIdIn(Collections.singletonList(role.getId())).stream()
+                .map(RolePermissionView::getPermissionName)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static RolePermissionChange change(Long roleId, List<Long> add, List<Long> remove) {
+        RolePermissionChange change = new RolePermissionChange();
+        change.setRoleId(roleId);
+        change.setAddPermissionIds(add);
+        change.setRemovePermissionIds(remove);
+        return change;
+    }
+
+    private static RolePermissionBulkRequest request(RolePermissionChange... changes) {
+        RolePermissionBulkRequest request = new RolePermissionBulkRequest();
+        request.setChanges(Arrays.asList(changes));
+        return request;
+    }
+}
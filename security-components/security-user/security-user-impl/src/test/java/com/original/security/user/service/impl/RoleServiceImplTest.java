@@ -1,13 +1,17 @@
 package com.original.security.user.service.impl;
 
 import com.original.security.config.SecurityProperties;
+import com.original.security.user.authorization.AuthorizationLoader;
+import com.original.security.user.authorization.AuthorizationSnapshotCache;
+import com.original.security.user.authorization.invalidation.AuthorizationInvalidationBroadcaster;
+import com.original.security.user.authorization.PermissionCatalog;
 import com.original.security.user.api.dto.request.PermissionAssignRequest;
 import com.original.security.user.api.dto.request.RoleCreateRequest;
 import com.original.security.user.api.dto.response.PageDTO;
 import com.original.security.user.api.dto.response.RoleDTO;
+import com.original.security.user.config.UserProperties;
 import com.original.security.user.entity.Permission;
 import com.original.security.user.entity.Role;
-import com.original.security.user.entity.User;
 import com.original.security.user.event.RolePermissionAssignedEvent;
 import com.original.security.user.repository.PermissionRepository;
 import com.original.security.user.repository.RoleRepository;
@@ -54,36 +58,43 @@ class RoleServiceImplTest {
     @Mock
     private SecurityProperties securityProperties;
 
+    private AuthorizationSnapshotCache snapshotCacheWithoutHierarchy;
     private RoleServiceImpl roleServiceWithHierarchy;
     private RoleServiceImpl roleServiceWithoutHierarchy;
 
     @BeforeEach
     void setUp() {
         when(securityProperties.getCache()).thenReturn(new SecurityProperties.Cache());
-        roleServiceWithHierarchy = new RoleServiceImpl(userRepository, roleRepository, permissionRepository, eventPublisher, securityProperties, roleHierarchy);
-        roleServiceWithoutHierarchy = new RoleServiceImpl(userRepository, roleRepository, permissionRepository, eventPublisher, securityProperties, null);
+        AuthorizationLoader authorizationLoader = new AuthorizationLoader(userRepository, new PermissionCatalog());
+        snapshotCacheWithoutHierarchy = new AuthorizationSnapshotCache(authorizationLoader, securityProperties, null);
+        AuthorizationSnapshotCache snapshotCacheWithHierarchy =
+                new AuthorizationSnapshotCache(authorizationLoader, securityProperties, roleHierarchy);
+        roleServiceWithHierarchy = new RoleServiceImpl(snapshotCacheWithHierarchy,
+                new AuthorizationInvalidationBroadcaster(snapshotCacheWithHierarchy, null, "test-node", 0),
+                roleRepository, permissionRepository, eventPublisher,
+                new UserProperties());
+        roleServiceWithoutHierarchy = new RoleServiceImpl(snapshotCacheWithoutHierarchy,
+                new AuthorizationInvalidationBroadcaster(snapshotCacheWithoutHierarchy, null, "test-node", 0),
+                roleRepository, permissionRepository, eventPublisher,
+                new UserProperties());
     }
 
     // NEW-MEDIUM-2: 所有测试方法遵循 test{MethodName}_{Scenario}_{ExpectedResult} 命名约定
 
     @Test
     void testHasRole_UserHasDirectRole_ReturnsTrue() {
-        User user = new User("admin", "pwd", "admin@test.com");
-        Role role = new Role("ADMIN", "Admin Role");
-        user.addRole(role);
-
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN"));
 
         assertTrue(roleServiceWithoutHierarchy.hasRole("admin", "ADMIN"));
         // 验证缓存生效：第二次调用不应再查询 DB
         assertTrue(roleServiceWithoutHierarchy.hasRole("admin", "ADMIN"));
-        verify(userRepository, times(1)).findByUsername("admin");
+        verify(userRepository, times(1)).findRolePermissionsByUsername("admin");
     }
 
     @Test
     void testHasRole_UserDoesNotHaveRole_ReturnsFalse() {
-        User user = new User("user", "pwd", "user@test.com");
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("user")).thenReturn(Collections.emptyList());
 
         assertFalse(roleServiceWithoutHierarchy.hasRole("user", "ADMIN"));
     }
@@ -91,11 +102,8 @@ class RoleServiceImplTest {
     @Test
     @SuppressWarnings("unchecked")
     void testHasRole_UserHasInheritedRole_ReturnsTrue() {
-        User user = new User("admin", "pwd", "admin@test.com");
-        Role role = new Role("ADMIN", "Admin Role");
-        user.addRole(role);
-
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN"));
 
         doReturn(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
                 .when(roleHierarchy).getReachableGrantedAuthorities(any());
@@ -103,6 +111,50 @@ class RoleServiceImplTest {
         assertTrue(roleServiceWithHierarchy.hasRole("admin", "USER"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHasRole_RepeatedChecks_ComputesHierarchyOncePerRole() {
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN"));
+        when(userRepository.findRolePermissionsByUsername("root"))
+                .thenReturn(PermissionServiceImplTest.rows("root", "ADMIN"));
+        doReturn(Arrays.asList(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")))
+                .when(roleHierarchy).getReachableGrantedAuthorities(any());
+
+        assertTrue(roleServiceWithHierarchy.hasRole("admin", "USER"));
+        assertTrue(roleServiceWithHierarchy.hasRole("admin", "ROLE_USER"));
+        assertFalse(roleServiceWithHierarchy.hasRole("admin", "GUEST"));
+        assertTrue(roleServiceWithHierarchy.hasRole("root", "USER"));
+
+        // 两个用户共享 ADMIN 的闭包，继承关系只计算一次
+        verify(roleHierarchy, times(1)).getReachableGrantedAuthorities(any());
+    }
+
+    @Test
+    void testHasRole_WithoutHierarchy_PrefixedNameDoesNotMatchRawRole() {
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN"));
+
+        assertTrue(roleServiceWithoutHierarchy.hasRole("admin", "ADMIN"));
+        assertFalse(roleServiceWithoutHierarchy.hasRole("admin", "ROLE_ADMIN"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSetRoleHierarchy_HierarchyInstalled_ReexpandsCachedSnapshots() {
+        when(userRepository.findRolePermissionsByUsername("admin"))
+                .thenReturn(PermissionServiceImplTest.rows("admin", "ADMIN"));
+        doReturn(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
+                .when(roleHierarchy).getReachableGrantedAuthorities(any());
+
+        assertFalse(roleServiceWithoutHierarchy.hasRole("admin", "USER"));
+
+        snapshotCacheWithoutHierarchy.setRoleHierarchy(roleHierarchy);
+
+        assertTrue(roleServiceWithoutHierarchy.hasRole("admin", "USER"));
+        verify(userRepository, times(2)).findRolePermissionsByUsername("admin");
+    }
+
     @Test
     void testCreateRole_UniqueRoleName_ReturnsCreatedRole() {
         RoleCreateRequest request = new RoleCreateRequest();
@@ -220,7 +272,7 @@ class RoleServiceImplTest {
         Role role = new Role("TEST_ROLE", "Desc");
         role.setId(1L);
 
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findWithPermissionsById(1L)).thenReturn(Optional.of(role));
 
         RoleDTO result = roleServiceWithoutHierarchy.getRole(1L);
 
@@ -13,6 +13,7 @@ import com.original.security.user.exception.UserNotFoundException;
 import com.original.security.user.event.UserCreatedEvent;
 import com.original.security.user.repository.RoleRepository;
 import com.original.security.user.repository.UserRepository;
+import com.original.security.user.service.PermissionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,6 +59,9 @@ class UserServiceImplTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private PermissionService permissionService;
+
     private UserServiceImpl userService;
 
     private UserProperties userProperties;
@@ -71,7 +75,8 @@ class UserServiceImplTest {
                 roleRepository,
                 passwordEncoder,
                 eventPublisher,
-                userProperties
+                userProperties,
+                permissionService
         );
 
         when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
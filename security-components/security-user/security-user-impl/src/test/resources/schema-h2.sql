@@ -48,6 +48,25 @@ CREATE TABLE IF NOT EXISTS role_permissions (
     CONSTRAINT fk_role_permissions_permission_id FOREIGN KEY (permission_id) REFERENCES permissions (id) ON DELETE CASCADE
 );
 
+-- Create role_parents table (role inheritance edges: parent role inherits the role)
+CREATE TABLE IF NOT EXISTS role_parents (
+    role_id BIGINT NOT NULL,
+    parent_role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, parent_role_id),
+    CONSTRAINT fk_role_parents_role_id FOREIGN KEY (role_id) REFERENCES roles (id) ON DELETE CASCADE,
+    CONSTRAINT fk_role_parents_parent_role_id FOREIGN KEY (parent_role_id) REFERENCES roles (id) ON DELETE CASCADE
+);
+
+-- Create role_closure table (materialized transitive closure of role_parents, depth >= 1)
+CREATE TABLE IF NOT EXISTS role_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_role_closure_ancestor_id FOREIGN KEY (ancestor_id) REFERENCES roles (id) ON DELETE CASCADE,
+    CONSTRAINT fk_role_closure_descendant_id FOREIGN KEY (descendant_id) REFERENCES roles (id) ON DELETE CASCADE
+);
+
 -- Create persistent_logins table (for Remember-Me functionality)
 CREATE TABLE IF NOT EXISTS persistent_logins (
     username VARCHAR(64) NOT NULL,
@@ -56,11 +75,42 @@ CREATE TABLE IF NOT EXISTS persistent_logins (
     last_used TIMESTAMP NOT NULL
 );
 
+-- Create user_login_activity table (for authorization cache warm-up)
+CREATE TABLE IF NOT EXISTS user_login_activity (
+    username VARCHAR(50) PRIMARY KEY,
+    last_login_at TIMESTAMP NOT NULL
+);
+
+-- Create authz_invalidation_events table (cross-node authorization cache invalidation)
+CREATE TABLE IF NOT EXISTS authz_invalidation_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    node_id VARCHAR(64) NOT NULL,
+    scope VARCHAR(8) NOT NULL,
+    cache_key VARCHAR(100),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Create acl_entries table (record-level access control)
+CREATE TABLE IF NOT EXISTS acl_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    target_type VARCHAR(50) NOT NULL,
+    target_id VARCHAR(64) NOT NULL,
+    principal_type VARCHAR(8) NOT NULL,
+    principal VARCHAR(100) NOT NULL,
+    permission VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_acl_entries_grant UNIQUE (target_type, target_id, principal_type, principal, permission)
+);
+
 -- Create indexes for foreign keys (if not automatically created)
 CREATE INDEX IF NOT EXISTS idx_user_roles_user_id ON user_roles(user_id);
 CREATE INDEX IF NOT EXISTS idx_user_roles_role_id ON user_roles(role_id);
 CREATE INDEX IF NOT EXISTS idx_role_permissions_role_id ON role_permissions(role_id);
 CREATE INDEX IF NOT EXISTS idx_role_permissions_permission_id ON role_permissions(permission_id);
+CREATE INDEX IF NOT EXISTS idx_role_parents_parent_role_id ON role_parents(parent_role_id);
+CREATE INDEX IF NOT EXISTS idx_role_closure_descendant_id ON role_closure(descendant_id);
 
 -- Create specific indexes required by architecture (idx_{table}_{column})
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_user_login_activity_last_login_at ON user_login_activity(last_login_at);
+CREATE INDEX IF NOT EXISTS idx_authz_invalidation_events_created_at ON authz_invalidation_events(created_at);
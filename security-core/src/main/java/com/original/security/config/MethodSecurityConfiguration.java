@@ -1,9 +1,13 @@
 package com.original.security.config;
 
+import com.original.security.core.authorization.expression.CompiledSecurityExpressionParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
 
 /**
  * 方法级安全配置类。
@@ -49,6 +53,10 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
  *     <li>{@code permitAll} / {@code denyAll} - 允许/拒绝所有访问</li>
  * </ul>
  *
+ * <p>以上表达式的参数为常量时 (及其 {@code and}/{@code or}/{@code not} 组合)，在启动解析阶段由
+ * {@link CompiledSecurityExpressionParser} 编译为直接判定，调用时不经过 SpEL 求值；
+ * 容器中声明了自定义 {@link MethodSecurityExpressionHandler} 时由该处理器自行决定解析方式。
+ *
  * @author Original Security Team
  * @since 1.0.0
  * @see org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity
@@ -59,11 +67,20 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
     securedEnabled = true,   // 启用 @Secured 注解
     jsr250Enabled = true     // 启用 @RolesAllowed, @PermitAll, @DenyAll 注解
 )
-public class MethodSecurityConfiguration {
+public class MethodSecurityConfiguration extends GlobalMethodSecurityConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(MethodSecurityConfiguration.class);
 
     public MethodSecurityConfiguration() {
         log.info("Method security configuration: Enabled @PreAuthorize, @PostAuthorize, @PreFilter, @PostFilter, @Secured, @RolesAllowed annotations");
     }
+
+    @Override
+    protected MethodSecurityExpressionHandler createExpressionHandler() {
+        MethodSecurityExpressionHandler handler = super.createExpressionHandler();
+        if (handler instanceof DefaultMethodSecurityExpressionHandler) {
+            ((DefaultMethodSecurityExpressionHandler) handler).setExpressionParser(new CompiledSecurityExpressionParser());
+        }
+        return handler;
+    }
 }
@@ -23,6 +23,7 @@ import com.original.security.handler.FrameAuthenticationEntryPoint;
 import com.original.security.plugin.SecurityFilterPlugin;
 
 import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.session.InvalidSessionStrategy;
 import org.springframework.security.web.session.SessionInformationExpiredStrategy;
 
@@ -128,6 +129,7 @@ public class SecurityAutoConfiguration {
             ObjectProvider<SessionRegistry> sessionRegistryProvider,
             ObjectProvider<SessionInformationExpiredStrategy> sessionExpiredStrategyProvider,
             ObjectProvider<InvalidSessionStrategy> invalidSessionStrategyProvider,
+            ObjectProvider<SecurityContextRepository> securityContextRepositoryProvider,
             ObjectProvider<RememberMeProperties> rememberMePropertiesProvider,
             ObjectProvider<org.springframework.security.core.userdetails.UserDetailsService> userDetailsServiceProvider,
             ObjectProvider<org.springframework.security.web.authentication.rememberme.PersistentTokenRepository> persistentTokenRepositoryProvider,
@@ -213,6 +215,10 @@ public class SecurityAutoConfiguration {
         SessionProperties sessionProperties = sessionPropertiesProvider.getIfAvailable();
         if (sessionProperties != null) {
             log.info("Security auto-configuration: Configuring stateful session management");
+            SecurityContextRepository securityContextRepository = securityContextRepositoryProvider.getIfAvailable();
+            if (securityContextRepository != null) {
+                http.securityContext().securityContextRepository(securityContextRepository);
+            }
             http.sessionManagement(session -> {
                 session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED);
                 
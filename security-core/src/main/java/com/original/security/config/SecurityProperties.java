@@ -87,6 +87,45 @@ public class SecurityProperties {
          */
         private long ttlMinutes = 30;
 
+        /**
+         * Minutes after a write at which an entry is reloaded in the background
+         * while the stale value keeps being served. Only takes effect when lower
+         * than {@code ttlMinutes}; 0 disables refresh-ahead.
+         * Default is 20 minutes.
+         */
+        private long refreshMinutes = 20;
+
+        /**
+         * Maximum number of background reload batches running concurrently.
+         * Default is 2.
+         */
+        private int reloadParallelism = 2;
+
+        /**
+         * Time-to-live in seconds for entries of users that do not exist or are
+         * disabled. These are kept in a separate, smaller cache so that lookups
+         * of unknown usernames cannot evict real users.
+         * Default is 60 seconds.
+         */
+        private long negativeTtlSeconds = 60;
+
+        /**
+         * Maximum number of entries in the negative cache.
+         * Default is 10000.
+         */
+        private int negativeMaximumSize = 10000;
+
+        /**
+         * Maximum number of database loads per second for usernames rejected by
+         * the known-username filter. Such names may still exist (for example
+         * users inserted outside the application), so they are loaded at a
+         * limited rate and the result is kept in the negative cache. Beyond the
+         * limit (or with 0) a username-only existence check decides: existing
+         * users are loaded, unknown names go to the negative cache.
+         * Default is 10.
+         */
+        private int unknownUsernameLoadsPerSecond = 10;
+
         public int getMaximumSize() {
             return maximumSize;
         }
@@ -102,6 +141,58 @@ public class SecurityProperties {
         public void setTtlMinutes(long ttlMinutes) {
             this.ttlMinutes = ttlMinutes;
         }
+
+        public long getRefreshMinutes() {
+            return refreshMinutes;
+        }
+
+        public void setRefreshMinutes(long refreshMinutes) {
+            this.refreshMinutes = refreshMinutes;
+        }
+
+        /**
+         * Returns whether entries are refreshed ahead of expiry.
+         *
+         * @return true if refresh-ahead is enabled
+         */
+        public boolean isRefreshAheadEnabled() {
+            return refreshMinutes > 0 && refreshMinutes < ttlMinutes;
+        }
+
+        public int getReloadParallelism() {
+            return reloadParallelism;
+        }
+
+        public void setReloadParallelism(int reloadParallelism) {
+            if (reloadParallelism < 1) {
+                throw new IllegalArgumentException("reloadParallelism must be at least 1, got: " + reloadParallelism);
+            }
+            this.reloadParallelism = reloadParallelism;
+        }
+
+        public long getNegativeTtlSeconds() {
+            return negativeTtlSeconds;
+        }
+
+        public void setNegativeTtlSeconds(long negativeTtlSeconds) {
+            this.negativeTtlSeconds = negativeTtlSeconds;
+        }
+
+        public int getNegativeMaximumSize() {
+            return negativeMaximumSize;
+        }
+
+        public void setNegativeMaximumSize(int negativeMaximumSize) {
+            this.negativeMaximumSize = negativeMaximumSize;
+        }
+
+        public int getUnknownUsernameLoadsPerSecond() {
+            return unknownUsernameLoadsPerSecond;
+        }
+
+        public void setUnknownUsernameLoadsPerSecond(int unknownUsernameLoadsPerSecond) {
+            this.unknownUsernameLoadsPerSecond = unknownUsernameLoadsPerSecond;
+        }
     }
 
 }
@@ -3,6 +3,7 @@ package com.original.security.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.original.security.handler.InvalidSessionHandler;
 import com.original.security.handler.SessionExpiredHandler;
+import com.original.security.plugin.session.CompactHttpSessionSecurityContextRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -14,6 +15,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.session.HttpSessionEventPublisher;
 import org.springframework.security.web.session.InvalidSessionStrategy;
 import org.springframework.security.web.session.SessionInformationExpiredStrategy;
@@ -27,6 +29,7 @@ import org.springframework.security.web.session.SessionInformationExpiredStrateg
  *     <li>{@link HttpSessionEventPublisher}: Session 事件发布器</li>
  *     <li>{@link SessionInformationExpiredStrategy}: Session 过期处理策略</li>
  *     <li>{@link InvalidSessionStrategy}: 无效 Session 处理策略</li>
+ *     <li>{@link SecurityContextRepository}: 启用紧凑序列化时，以紧凑格式存储 SecurityContext</li>
  * </ul>
  * </p>
  *
@@ -35,6 +38,7 @@ import org.springframework.security.web.session.SessionInformationExpiredStrateg
  * security.session.timeout=1800
  * security.session.max-sessions=1
  * security.session.store-type=memory
+ * security.session.context-codec=compact
  * </pre>
  *
  * @author Original Security Team
@@ -144,4 +148,21 @@ public class SessionAutoConfiguration {
         log.info("Session auto-configuration: Registering InvalidSessionHandler");
         return new InvalidSessionHandler(objectMapper);
     }
+
+    /**
+     * 创建紧凑格式的 SecurityContext 仓库。
+     * <p>
+     * 仅在 {@code security.session.context-codec=compact} 时注册。SecurityContext 写入 Session 时
+     * 只保留用户名、权限标识与创建时间，降低 Session 持久化和复制的体积与 CPU 开销。
+     * </p>
+     *
+     * @return SecurityContextRepository 实例
+     */
+    @Bean
+    @ConditionalOnMissingBean(SecurityContextRepository.class)
+    @ConditionalOnProperty(prefix = "security.session", name = "context-codec", havingValue = "compact")
+    public SecurityContextRepository compactSecurityContextRepository() {
+        log.info("Session auto-configuration: Registering CompactHttpSessionSecurityContextRepository");
+        return new CompactHttpSessionSecurityContextRepository();
+    }
 }
@@ -22,6 +22,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * security.session.cookie-name=JSESSIONID
  * # 是否启用 Session 固定攻击防护，默认 true
  * security.session.fixation-protection=true
+ * # SecurityContext 在 Session 中的序列化方式：java 或 compact，默认 java
+ * security.session.context-codec=java
  * </pre>
  *
  * @author Original Security Team
@@ -51,6 +53,11 @@ public class SessionProperties {
      */
     public static final String DEFAULT_COOKIE_NAME = "JSESSIONID";
 
+    /**
+     * 默认 SecurityContext 序列化方式
+     */
+    public static final String DEFAULT_CONTEXT_CODEC = "java";
+
     /**
      * Session 超时时间（秒）
      */
@@ -88,6 +95,13 @@ public class SessionProperties {
      */
     private boolean enabled = true;
 
+    /**
+     * SecurityContext 在 Session 中的序列化方式
+     * 支持：java（Java 序列化完整的认证对象）、compact（紧凑二进制格式，仅保留用户名、权限和创建时间）
+     * <p>Session 需要持久化或跨节点复制时，compact 可以显著降低单个 Session 的体积和序列化开销。</p>
+     */
+    private String contextCodec = DEFAULT_CONTEXT_CODEC;
+
     /**
      * 获取 Session 超时时间（秒）。
      *
@@ -226,4 +240,34 @@ public class SessionProperties {
     public boolean isRedisStore() {
         return "redis".equalsIgnoreCase(storeType);
     }
+
+    /**
+     * 获取 SecurityContext 序列化方式。
+     *
+     * @return 序列化方式：java 或 compact
+     */
+    public String getContextCodec() {
+        return contextCodec;
+    }
+
+    /**
+     * 设置 SecurityContext 序列化方式。
+     *
+     * @param contextCodec 序列化方式，支持 java 或 compact
+     */
+    public void setContextCodec(String contextCodec) {
+        if (contextCodec != null && !"java".equalsIgnoreCase(contextCodec) && !"compact".equalsIgnoreCase(contextCodec)) {
+            throw new IllegalArgumentException("Session contextCodec must be 'java' or 'compact'");
+        }
+        this.contextCodec = contextCodec;
+    }
+
+    /**
+     * 检查是否使用紧凑格式存储 SecurityContext。
+     *
+     * @return true 表示使用紧凑格式
+     */
+    public boolean isCompactContextCodec() {
+        return "compact".equalsIgnoreCase(contextCodec);
+    }
 }
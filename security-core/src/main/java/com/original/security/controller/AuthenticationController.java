@@ -1,6 +1,7 @@
 package com.original.security.controller;
 
 import com.original.security.core.Response;
+import com.original.security.core.authentication.token.TokenClaimsContributor;
 import com.original.security.dto.AuthResponse;
 import com.original.security.dto.LoginRequest;
 import com.original.security.dto.RefreshRequest;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.servlet.http.HttpServletRequest;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.security.web.authentication.RememberMeServices;
@@ -60,6 +63,7 @@ public class AuthenticationController {
     private final AuthenticationManager authenticationManager;
     private final ObjectProvider<JwtUtils> jwtUtilsProvider;
     private final ObjectProvider<RememberMeServices> rememberMeServicesProvider;
+    private final ObjectProvider<TokenClaimsContributor> tokenClaimsContributors;
 
     /**
      * 构造认证控制器。
@@ -67,11 +71,14 @@ public class AuthenticationController {
      * @param authenticationManager 认证管理器
      * @param jwtUtilsProvider JWT 工具类提供者（可选）
      * @param rememberMeServicesProvider Remember Me 服务提供者（可选）
+     * @param tokenClaimsContributors JWT 附加声明提供者（可选），签发与刷新令牌时写入
      */
-    public AuthenticationController(AuthenticationManager authenticationManager, ObjectProvider<JwtUtils> jwtUtilsProvider, ObjectProvider<RememberMeServices> rememberMeServicesProvider) {
+    public AuthenticationController(AuthenticationManager authenticationManager, ObjectProvider<JwtUtils> jwtUtilsProvider, ObjectProvider<RememberMeServices> rememberMeServicesProvider,
+                                    ObjectProvider<TokenClaimsContributor> tokenClaimsContributors) {
         this.authenticationManager = authenticationManager;
         this.jwtUtilsProvider = jwtUtilsProvider;
         this.rememberMeServicesProvider = rememberMeServicesProvider;
+        this.tokenClaimsContributors = tokenClaimsContributors;
     }
 
     /**
@@ -123,7 +130,7 @@ public class AuthenticationController {
                 Collection<String> authorities = authentication.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList());
-                token = jwtUtils.generateToken(authentication.getName(), authorities);
+                token = generateToken(jwtUtils, authentication.getName(), authorities);
             }
 
             AuthResponse authResponse = new AuthResponse(user, token, jwtEnabled);
@@ -193,7 +200,8 @@ public class AuthenticationController {
                     : java.util.Collections.emptyList();
 
             // 生成新 token
-            String newToken = jwtUtils.generateToken(username, authorities);
+            // 附加声明按当前授权重新生成，刷新后令牌携带最新的权限与版本
+            String newToken = generateToken(jwtUtils, username, authorities);
 
             AuthResponse authResponse = new AuthResponse(null, newToken, true);
             return Response.successBuilder(authResponse).build();
@@ -206,4 +214,20 @@ public class AuthenticationController {
             return Response.<AuthResponse>errorBuilder().msg(ERROR_MSG_REFRESH_FAILED).build();
         }
     }
+
+    /**
+     * 签发令牌，并写入所有 {@link TokenClaimsContributor} 为该用户生成的附加声明。
+     *
+     * @param jwtUtils JWT 工具类
+     * @param username 用户名
+     * @param authorities 权限列表
+     * @return 令牌
+     */
+    private String generateToken(JwtUtils jwtUtils, String username, Collection<String> authorities) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        tokenClaimsContributors.orderedStream().forEach(contributor -> claims.putAll(contributor.getClaims(username)));
+        return claims.isEmpty()
+                ? jwtUtils.generateToken(username, authorities)
+                : jwtUtils.generateToken(username, authorities, claims);
+    }
 }
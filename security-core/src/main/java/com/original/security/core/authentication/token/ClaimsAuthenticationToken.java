@@ -0,0 +1,48 @@
+package com.original.security.core.authentication.token;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 携带 JWT 声明的认证令牌
+ * <p>
+ * 由 {@code JwtAuthenticationFilter} 在令牌校验通过后创建，主体为用户名，
+ * 声明中包含 {@link TokenClaimsContributor} 在签发时写入的附加信息。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public class ClaimsAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final Map<String, Object> claims;
+
+    public ClaimsAuthenticationToken(String username, Collection<? extends GrantedAuthority> authorities,
+                                     Map<String, Object> claims) {
+        super(username, null, authorities);
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    /**
+     * 令牌中的全部声明 (不可变)
+     */
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    /**
+     * 获取指定声明
+     *
+     * @param name 声明名称
+     * @param type 期望类型
+     * @return 声明值，不存在或类型不符时返回 null
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
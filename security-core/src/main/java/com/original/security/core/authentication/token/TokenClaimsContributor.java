@@ -0,0 +1,26 @@
+package com.original.security.core.authentication.token;
+
+import java.util.Map;
+
+/**
+ * JWT 附加声明扩展点
+ * <p>
+ * 登录与刷新令牌时，容器中所有实现按顺序被调用，返回的声明写入新令牌；
+ * 请求携带令牌时，这些声明可通过 {@link ClaimsAuthenticationToken#getClaims()} 读取。
+ * 典型用途是嵌入已编译的权限集合与授权版本号，使授权判断无需查询缓存或数据库。
+ *
+ * <p>声明名称不得与 {@code sub}、{@code iat}、{@code exp}、{@code authorities} 等标准声明冲突。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+public interface TokenClaimsContributor {
+
+    /**
+     * 生成指定用户的附加声明
+     *
+     * @param username 用户名
+     * @return 附加声明，没有时返回空 Map
+     */
+    Map<String, Object> getClaims(String username);
+}
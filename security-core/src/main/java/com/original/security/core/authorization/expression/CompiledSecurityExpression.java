@@ -0,0 +1,57 @@
+package com.original.security.core.authorization.expression;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.expression.SecurityExpressionOperations;
+
+import java.util.function.Predicate;
+
+/**
+ * 已编译的方法安全表达式
+ * <p>
+ * 求值上下文的根对象为 {@link SecurityExpressionOperations} 且期望布尔结果时，直接执行编译得到的判定；
+ * 其他调用方式 (无上下文、其他根对象、非布尔结果类型) 仍按原 SpEL 语法树求值，行为与未编译时一致。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see CompiledSecurityExpressionParser
+ */
+public final class CompiledSecurityExpression extends SpelExpression {
+
+    private final Predicate<SecurityExpressionOperations> predicate;
+
+    CompiledSecurityExpression(String expressionString, SpelNodeImpl ast, SpelParserConfiguration configuration,
+                               Predicate<SecurityExpressionOperations> predicate) {
+        super(expressionString, ast, configuration);
+        this.predicate = predicate;
+    }
+
+    @Override
+    @Nullable
+    public Object getValue(EvaluationContext context) throws EvaluationException {
+        SecurityExpressionOperations root = securityRoot(context);
+        return root != null ? predicate.test(root) : super.getValue(context);
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(EvaluationContext context, @Nullable Class<T> expectedResultType) throws EvaluationException {
+        SecurityExpressionOperations root = securityRoot(context);
+        if (root != null && (expectedResultType == null || expectedResultType == boolean.class
+                || expectedResultType.isAssignableFrom(Boolean.class))) {
+            return (T) Boolean.valueOf(predicate.test(root));
+        }
+        return super.getValue(context, expectedResultType);
+    }
+
+    @Nullable
+    private static SecurityExpressionOperations securityRoot(EvaluationContext context) {
+        Object root = context.getRootObject().getValue();
+        return root instanceof SecurityExpressionOperations ? (SecurityExpressionOperations) root : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.original.security.core.authorization.expression;
+
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.expression.SecurityExpressionOperations;
+
+import java.util.function.Predicate;
+
+/**
+ * 预编译方法安全表达式的解析器
+ * <p>
+ * {@code @PreAuthorize} 等注解的表达式在应用启动时解析一次。本解析器在解析阶段识别常见的简单形式，
+ * 将其编译为直接调用 {@link SecurityExpressionOperations} 的判定对象，每次方法调用时不再经过
+ * SpEL 的方法查找、参数转换与反射调用。可识别的形式：
+ * <ul>
+ *     <li>{@code hasRole}、{@code hasAnyRole}、{@code hasAuthority}、{@code hasAnyAuthority}，参数均为字符串常量</li>
+ *     <li>{@code hasPermission} 的两参数与三参数形式，参数均为常量 (字符串、数字、布尔或 {@code null})</li>
+ *     <li>{@code isAuthenticated()}、{@code isFullyAuthenticated()}、{@code isAnonymous()}、
+ *         {@code isRememberMe()}、{@code permitAll}、{@code denyAll}</li>
+ *     <li>以上形式经 {@code and}、{@code or}、{@code not} 及括号的组合</li>
+ * </ul>
+ * 引用方法参数、返回值、Bean 或自定义根对象方法的表达式不做编译，仍按 SpEL 求值。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see CompiledSecurityExpression
+ */
+public class CompiledSecurityExpressionParser extends SpelExpressionParser {
+
+    private final SpelParserConfiguration configuration;
+
+    public CompiledSecurityExpressionParser() {
+        this(new SpelParserConfiguration());
+    }
+
+    public CompiledSecurityExpressionParser(SpelParserConfiguration configuration) {
+        super(configuration);
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected SpelExpression doParseExpression(String expressionString, @Nullable ParserContext context)
+            throws ParseException {
+        SpelExpression expression = super.doParseExpression(expressionString, context);
+        Predicate<SecurityExpressionOperations> predicate = compile(expression.getAST());
+        if (predicate == null) {
+            return expression;
+        }
+        return new CompiledSecurityExpression(expressionString, (SpelNodeImpl) expression.getAST(),
+                configuration, predicate);
+    }
+
+    /**
+     * 将语法树编译为判定对象
+     *
+     * @param node 语法树节点
+     * @return 判定对象，包含无法识别的节点时返回 null
+     */
+    @Nullable
+    static Predicate<SecurityExpressionOperations> compile(SpelNode node) {
+        if (node instanceof OpAnd || node instanceof OpOr) {
+            Predicate<SecurityExpressionOperations> left = compile(node.getChild(0));
+            Predicate<SecurityExpressionOperations> right = left != null ? compile(node.getChild(1)) : null;
+            if (right == null) {
+                return null;
+            }
+            return node instanceof OpAnd ? left.and(right) : left.or(right);
+        }
+        if (node instanceof OperatorNot) {
+            Predicate<SecurityExpressionOperations> operand = compile(node.getChild(0));
+            return operand != null ? operand.negate() : null;
+        }
+        if (node instanceof PropertyOrFieldReference && node.getChildCount() == 0) {
+            String name = ((PropertyOrFieldReference) node).getName();
+            if ("permitAll".equals(name)) {
+                return SecurityExpressionOperations::permitAll;
+            }
+            if ("denyAll".equals(name)) {
+                return SecurityExpressionOperations::denyAll;
+            }
+            return null;
+        }
+        if (node instanceof MethodReference) {
+            Object[] args = constantArguments(node);
+            return args != null ? compileMethod(((MethodReference) node).getName(), args) : null;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Predicate<SecurityExpressionOperations> compileMethod(String name, Object[] args) {
+        switch (name) {
+            case "hasRole":
+                if (args.length == 1 && args[0] instanceof String) {
+                    String role = (String) args[0];
+                    return root -> root.hasRole(role);
+                }
+                return null;
+            case "hasAuthority":
+                if (args.length == 1 && args[0] instanceof String) {
+                    String authority = (String) args[0];
+                    return root -> root.hasAuthority(authority);
+                }
+                return null;
+            case "hasAnyRole": {
+                String[] roles = strings(args);
+                return roles != null ? root -> root.hasAnyRole(roles) : null;
+            }
+            case "hasAnyAuthority": {
+                String[] authorities = strings(args);
+                return authorities != null ? root -> root.hasAnyAuthority(authorities) : null;
+            }
+            case "hasPermission":
+                if (args.length == 2) {
+                    Object target = args[0];
+                    Object permission = args[1];
+                    return root -> root.hasPermission(target, permission);
+                }
+                if (args.length == 3 && (args[1] == null || args[1] instanceof String)) {
+                    Object targetId = args[0];
+                    String targetType = (String) args[1];
+                    Object permission = args[2];
+                    return root -> root.hasPermission(targetId, targetType, permission);
+                }
+                return null;
+            case "isAuthenticated":
+                return args.length == 0 ? SecurityExpressionOperations::isAuthenticated : null;
+            case "isFullyAuthenticated":
+                return args.length == 0 ? SecurityExpressionOperations::isFullyAuthenticated : null;
+            case "isAnonymous":
+                return args.length == 0 ? SecurityExpressionOperations::isAnonymous : null;
+            case "isRememberMe":
+                return args.length == 0 ? SecurityExpressionOperations::isRememberMe : null;
+            case "permitAll":
+                return args.length == 0 ? SecurityExpressionOperations::permitAll : null;
+            case "denyAll":
+                return args.length == 0 ? SecurityExpressionOperations::denyAll : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 提取方法调用的常量参数，任一参数不是字面量时返回 null
+     */
+    @Nullable
+    private static Object[] constantArguments(SpelNode method) {
+        Object[] args = new Object[method.getChildCount()];
+        for (int i = 0; i < args.length; i++) {
+            SpelNode arg = method.getChild(i);
+            if (!(arg instanceof Literal)) {
+                return null;
+            }
+            args[i] = ((Literal) arg).getLiteralValue().getValue();
+        }
+        return args;
+    }
+
+    @Nullable
+    private static String[] strings(Object[] args) {
+        if (args.length == 0) {
+            return null;
+        }
+        String[] values = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            if (!(args[i] instanceof String)) {
+                return null;
+            }
+            values[i] = (String) args[i];
+        }
+        return values;
+    }
+}
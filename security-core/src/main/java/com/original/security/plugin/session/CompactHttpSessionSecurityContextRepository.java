@@ -0,0 +1,76 @@
+package com.original.security.plugin.session;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.util.Arrays;
+
+/**
+ * 以紧凑格式存储 SecurityContext 的 Session 仓库。
+ * <p>
+ * 继承 {@link HttpSessionSecurityContextRepository} 的读取、保存和 Session 创建语义，
+ * 仅将写入 {@code SPRING_SECURITY_CONTEXT} 属性的对象替换为 {@link CompactSecurityContext}，
+ * 使 Servlet 容器持久化或复制 Session 时使用紧凑的二进制格式。
+ * </p>
+ *
+ * <p>启用方式 (application.properties)：</p>
+ * <pre>
+ * security.session.context-codec=compact
+ * </pre>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see CompactSecurityContextCodec
+ */
+public class CompactHttpSessionSecurityContextRepository extends HttpSessionSecurityContextRepository {
+
+    private String springSecurityContextKey = SPRING_SECURITY_CONTEXT_KEY;
+
+    /**
+     * 保存上下文。
+     * <p>
+     * 仓库自身生成的上下文已是 {@link CompactSecurityContext}，保持同一实例以便父类的变更检测
+     * 避免重复写入 Session 属性；应用自行替换的其他上下文实现会先转换为紧凑格式。
+     * 转换后的编码与 Session 中已有的上下文相同时沿用已有实例，同样不会重复写入。
+     * </p>
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        super.saveContext(toCompact(context, request), request, response);
+    }
+
+    @Override
+    public void setSpringSecurityContextKey(String springSecurityContextKey) {
+        super.setSpringSecurityContextKey(springSecurityContextKey);
+        this.springSecurityContextKey = springSecurityContextKey;
+    }
+
+    @Override
+    protected SecurityContext generateNewContext() {
+        return new CompactSecurityContext();
+    }
+
+    private SecurityContext toCompact(SecurityContext context, HttpServletRequest request) {
+        if (context == null || context instanceof CompactSecurityContext) {
+            return context;
+        }
+        HttpSession session = request.getSession(false);
+        Object stored = session != null ? session.getAttribute(springSecurityContextKey) : null;
+        if (stored instanceof CompactSecurityContext
+                && sameEncoding(((CompactSecurityContext) stored).getAuthentication(), context.getAuthentication())) {
+            return (CompactSecurityContext) stored;
+        }
+        return new CompactSecurityContext(context.getAuthentication());
+    }
+
+    /**
+     * 比较两个认证信息在 Session 中的编码是否相同（不含创建时间）。
+     */
+    private static boolean sameEncoding(Authentication a, Authentication b) {
+        return a == b || Arrays.equals(CompactSecurityContextCodec.encode(a, 0L), CompactSecurityContextCodec.encode(b, 0L));
+    }
+}
@@ -0,0 +1,115 @@
+package com.original.security.plugin.session;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.util.ObjectUtils;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * 以紧凑格式序列化的 {@link SecurityContext}。
+ * <p>
+ * 行为与 {@link org.springframework.security.core.context.SecurityContextImpl} 一致，
+ * 但通过 {@link Externalizable} 将序列化委托给 {@link CompactSecurityContextCodec}，
+ * 使 Session 持久化或复制时只写出用户名、权限标识与创建时间。
+ * </p>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see CompactHttpSessionSecurityContextRepository
+ */
+public class CompactSecurityContext implements SecurityContext, Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Authentication authentication;
+
+    private long createdAt;
+
+    /**
+     * 创建空上下文（{@link Externalizable} 要求公开的无参构造器）。
+     */
+    public CompactSecurityContext() {
+    }
+
+    /**
+     * 使用指定认证信息创建上下文。
+     *
+     * @param authentication 认证信息
+     */
+    public CompactSecurityContext(Authentication authentication) {
+        setAuthentication(authentication);
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    /**
+     * 设置认证信息；认证主体发生变化时刷新创建时间。
+     *
+     * @param authentication 认证信息
+     */
+    @Override
+    public void setAuthentication(Authentication authentication) {
+        if (authentication != this.authentication) {
+            this.createdAt = System.currentTimeMillis();
+        }
+        this.authentication = authentication;
+    }
+
+    /**
+     * 返回认证建立时间。
+     *
+     * @return epoch 毫秒
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        byte[] data = CompactSecurityContextCodec.encode(authentication, createdAt);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        try {
+            CompactSecurityContextCodec.Decoded decoded = CompactSecurityContextCodec.decode(data);
+            this.authentication = decoded.getAuthentication();
+            this.createdAt = decoded.getCreatedAt();
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SecurityContext)) {
+            return false;
+        }
+        SecurityContext other = (SecurityContext) obj;
+        return ObjectUtils.nullSafeEquals(authentication, other.getAuthentication());
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectUtils.nullSafeHashCode(authentication);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [Authentication=" + authentication + ", CreatedAt=" + createdAt + "]";
+    }
+}
@@ -0,0 +1,215 @@
+package com.original.security.plugin.session;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SecurityContext 紧凑二进制编解码器。
+ * <p>
+ * 将 Session 中的认证信息编码为带版本号的紧凑二进制格式，仅保留用户名、权限标识与创建时间，
+ * 读取时再重建为 {@link UsernamePasswordAuthenticationToken}。相比 Java 序列化完整的
+ * {@code UserDetails}、权限对象与请求详情，单个 Session 的体积与序列化开销都显著下降。
+ * </p>
+ *
+ * <p>格式（版本 1）：</p>
+ * <pre>
+ * byte    version        固定为 1
+ * byte    kind           0=空上下文, 1=紧凑格式, 2=Java 序列化回退
+ * long    createdAt      认证建立时间（epoch 毫秒）
+ * -- kind=1 --
+ * byte    principalType  0=String, 1=UserDetails
+ * UTF     username
+ * short   count          权限数量
+ * UTF[]   authorities    权限标识
+ * -- kind=2 --
+ * int     length
+ * byte[]  serialized     原始 Authentication 的 Java 序列化字节
+ * </pre>
+ *
+ * <p>只有已认证的 {@link UsernamePasswordAuthenticationToken} 会使用紧凑格式；
+ * 其他类型（如 Remember Me 令牌）需要保留类型语义，回退为 Java 序列化。
+ * 重建后的凭证与请求详情（{@code details}）为 null，主体为用户名或轻量的 {@link User}。</p>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ * @see CompactSecurityContext
+ */
+public final class CompactSecurityContextCodec {
+
+    /**
+     * 当前格式版本
+     */
+    public static final byte VERSION_1 = 1;
+
+    static final byte KIND_EMPTY = 0;
+    static final byte KIND_COMPACT = 1;
+    static final byte KIND_SERIALIZED = 2;
+
+    static final byte PRINCIPAL_STRING = 0;
+    static final byte PRINCIPAL_USER_DETAILS = 1;
+
+    private static final int MAX_AUTHORITIES = 0xFFFF;
+    private static final int INITIAL_BUFFER_SIZE = 128;
+
+    private CompactSecurityContextCodec() {
+    }
+
+    /**
+     * 将认证信息编码为紧凑二进制格式。
+     *
+     * @param authentication 认证信息，可以为 null
+     * @param createdAt 认证建立时间（epoch 毫秒）
+     * @return 编码后的字节
+     */
+    public static byte[] encode(Authentication authentication, long createdAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION_1);
+            if (authentication == null) {
+                out.writeByte(KIND_EMPTY);
+                out.writeLong(createdAt);
+            } else if (isCompactable(authentication)) {
+                out.writeByte(KIND_COMPACT);
+                out.writeLong(createdAt);
+                writeCompact(out, authentication);
+            } else {
+                out.writeByte(KIND_SERIALIZED);
+                out.writeLong(createdAt);
+                byte[] serialized = javaSerialize(authentication);
+                out.writeInt(serialized.length);
+                out.write(serialized);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode security context", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解码紧凑二进制格式。
+     *
+     * @param data 由 {@link #encode(Authentication, long)} 生成的字节
+     * @return 解码结果
+     * @throws IllegalArgumentException 如果版本不受支持或数据损坏
+     */
+    public static Decoded decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION_1) {
+                throw new IllegalArgumentException("Unsupported security context format version: " + version);
+            }
+            byte kind = in.readByte();
+            long createdAt = in.readLong();
+            switch (kind) {
+                case KIND_EMPTY:
+                    return new Decoded(null, createdAt);
+                case KIND_COMPACT:
+                    return new Decoded(readCompact(in), createdAt);
+                case KIND_SERIALIZED:
+                    byte[] serialized = new byte[in.readInt()];
+                    in.readFully(serialized);
+                    return new Decoded(javaDeserialize(serialized), createdAt);
+                default:
+                    throw new IllegalArgumentException("Unknown security context kind: " + kind);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupted security context data", e);
+        }
+    }
+
+    private static boolean isCompactable(Authentication authentication) {
+        if (authentication.getClass() != UsernamePasswordAuthenticationToken.class
+                || !authentication.isAuthenticated()) {
+            return false;
+        }
+        Object principal = authentication.getPrincipal();
+        return (principal instanceof String || principal instanceof UserDetails)
+                && authentication.getAuthorities().size() <= MAX_AUTHORITIES;
+    }
+
+    private static void writeCompact(DataOutputStream out, Authentication authentication) throws IOException {
+        Object principal = authentication.getPrincipal();
+        out.writeByte(principal instanceof UserDetails ? PRINCIPAL_USER_DETAILS : PRINCIPAL_STRING);
+        out.writeUTF(authentication.getName());
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        out.writeShort(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            out.writeUTF(authority.getAuthority());
+        }
+    }
+
+    private static Authentication readCompact(DataInputStream in) throws IOException {
+        byte principalType = in.readByte();
+        String username = in.readUTF();
+        int count = in.readUnsignedShort();
+        List<GrantedAuthority> authorities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+        // 重建为 UserDetails 时使用 Spring 的 User，它按用户名实现 equals，
+        // 从而与 SessionRegistry 中登录时登记的主体保持一致
+        Object principal = principalType == PRINCIPAL_USER_DETAILS
+                ? new User(username, "", authorities)
+                : username;
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+
+    private static byte[] javaSerialize(Authentication authentication) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(authentication);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Authentication javaDeserialize(byte[] serialized) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (Authentication) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Authentication class not found", e);
+        }
+    }
+
+    /**
+     * 解码结果。
+     */
+    public static final class Decoded {
+
+        private final Authentication authentication;
+        private final long createdAt;
+
+        Decoded(Authentication authentication, long createdAt) {
+            this.authentication = authentication;
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * @return 重建后的认证信息，空上下文时为 null
+         */
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        /**
+         * @return 认证建立时间（epoch 毫秒）
+         */
+        public long getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
@@ -15,7 +15,10 @@ import org.springframework.util.StringUtils;
 
 import java.security.Key;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Utility class for JSON Web Token operations.
@@ -63,10 +66,23 @@ public class JwtUtils implements InitializingBean {
      * @return a signed JWT token string
      */
     public String generateToken(String username, Collection<String> authorities) {
+        return generateToken(username, authorities, Collections.emptyMap());
+    }
+
+    /**
+     * Generates a JWT token for the specified user and authorities with additional claims.
+     *
+     * @param username the username
+     * @param authorities the authorities of the user
+     * @param extraClaims additional claims to embed, e.g. from a {@code TokenClaimsContributor}
+     * @return a signed JWT token string
+     */
+    public String generateToken(String username, Collection<String> authorities, Map<String, ?> extraClaims) {
         long now = System.currentTimeMillis();
         long expirationMs = jwtProperties.getExpiration() * 1000;
         
         return Jwts.builder()
+                .addClaims(new LinkedHashMap<>(extraClaims))
                 .setSubject(username)
                 .claim("authorities", String.join(",", authorities))
                 .setIssuedAt(new Date(now))
@@ -0,0 +1,41 @@
+package com.original.security.config;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecurityCachePropertiesTest {
+
+    @Test
+    public void testDefaultValues() {
+        SecurityProperties.Cache cache = new SecurityProperties().getCache();
+
+        assertEquals(1000, cache.getMaximumSize());
+        assertEquals(30, cache.getTtlMinutes());
+        assertEquals(20, cache.getRefreshMinutes());
+        assertEquals(2, cache.getReloadParallelism());
+        assertTrue(cache.isRefreshAheadEnabled());
+    }
+
+    @Test
+    public void testRefreshAhead_DisabledWhenZeroOrNotBelowTtl() {
+        SecurityProperties.Cache cache = new SecurityProperties().getCache();
+
+        cache.setRefreshMinutes(0);
+        assertFalse(cache.isRefreshAheadEnabled());
+
+        cache.setRefreshMinutes(30);
+        assertFalse(cache.isRefreshAheadEnabled());
+
+        cache.setTtlMinutes(120);
+        assertTrue(cache.isRefreshAheadEnabled());
+    }
+
+    @Test
+    public void testSetReloadParallelism_InvalidInput_ThrowsException() {
+        SecurityProperties.Cache cache = new SecurityProperties().getCache();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cache.setReloadParallelism(0));
+        assertEquals("reloadParallelism must be at least 1, got: 0", exception.getMessage());
+    }
+}
@@ -208,4 +208,38 @@ class SessionPropertiesTest {
         // Then
         assertFalse(properties.isEnabled());
     }
+
+    @Test
+    @DisplayName("contextCodec_DefaultValue_IsJava")
+    void testContextCodec_DefaultValue_IsJava() {
+        // Given
+        SessionProperties properties = new SessionProperties();
+
+        // Then
+        assertEquals("java", properties.getContextCodec());
+        assertFalse(properties.isCompactContextCodec());
+    }
+
+    @Test
+    @DisplayName("setContextCodec_WithCompact_EnablesCompactCodec")
+    void testSetContextCodec_WithCompact_EnablesCompactCodec() {
+        // Given
+        SessionProperties properties = new SessionProperties();
+
+        // When
+        properties.setContextCodec("compact");
+
+        // Then
+        assertTrue(properties.isCompactContextCodec());
+    }
+
+    @Test
+    @DisplayName("setContextCodec_WithInvalidValue_ThrowsException")
+    void testSetContextCodec_WithInvalidValue_ThrowsException() {
+        // Given
+        SessionProperties properties = new SessionProperties();
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> properties.setContextCodec("kryo"));
+    }
 }
@@ -64,10 +64,41 @@ public class AuthenticationControllerTest {
         when(jwtUtilsProvider.getIfAvailable()).thenReturn(jwtUtils);
         when(rememberMeServicesProvider.getIfAvailable()).thenReturn(null);
 
-        AuthenticationController controller = new AuthenticationController(authenticationManager, jwtUtilsProvider, rememberMeServicesProvider);
+        AuthenticationController controller = new AuthenticationController(authenticationManager, jwtUtilsProvider, rememberMeServicesProvider,
+                mock(ObjectProvider.class));
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
+    /**
+     * 测试登录时写入 {@link com.original.security.core.authentication.token.TokenClaimsContributor} 提供的附加声明。
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLogin_WithClaimsContributor_EmbedsClaims() throws Exception {
+        ObjectProvider<com.original.security.core.authentication.token.TokenClaimsContributor> contributors =
+                mock(ObjectProvider.class);
+        when(contributors.orderedStream()).thenAnswer(invocation -> java.util.stream.Stream.of(
+                (com.original.security.core.authentication.token.TokenClaimsContributor) username ->
+                        Collections.singletonMap("authz_ver", 7L)));
+        AuthenticationController controller = new AuthenticationController(authenticationManager, jwtUtilsProvider,
+                rememberMeServicesProvider, contributors);
+        MockMvc claimsMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        LoginRequest request = new LoginRequest();
+        request.setUsername("admin");
+        request.setPassword("password");
+        Authentication auth = new UsernamePasswordAuthenticationToken("admin", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(auth);
+        when(jwtUtils.generateToken(anyString(), any(), org.mockito.ArgumentMatchers.eq(
+                Collections.<String, Object>singletonMap("authz_ver", 7L)))).thenReturn("claims-token");
+
+        claimsMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("claims-token"));
+    }
+
     /**
      * 测试登录成功场景。
      * 验证返回 200 状态码和正确的 token。
@@ -1,6 +1,7 @@
 package com.original.security.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.original.security.core.authentication.token.ClaimsAuthenticationToken;
 import com.original.security.util.JwtUtils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -56,6 +57,26 @@ class JwtAuthenticationFilterTest {
         assertEquals(200, response.getStatus()); // chain continued
     }
 
+    @Test
+    void testValidToken_ExposesClaimsOnAuthentication() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer valid.token.here");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Claims claims = new io.jsonwebtoken.impl.DefaultClaims();
+        claims.setSubject("admin");
+        claims.put("authz_ver", 42L);
+        when(jwtUtils.parseToken(anyString())).thenReturn(claims);
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        ClaimsAuthenticationToken authentication =
+                (ClaimsAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("admin", authentication.getName());
+        assertEquals(42L, authentication.getClaim("authz_ver", Long.class));
+        assertNull(authentication.getClaim("authz_ver", String.class));
+    }
+
     @Test
     void testValidToken() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
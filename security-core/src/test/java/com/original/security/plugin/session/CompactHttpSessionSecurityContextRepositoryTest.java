@@ -0,0 +1,118 @@
+package com.original.security.plugin.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactHttpSessionSecurityContextRepository 单元测试。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+class CompactHttpSessionSecurityContextRepositoryTest {
+
+    private final CompactHttpSessionSecurityContextRepository repository = new CompactHttpSessionSecurityContextRepository();
+
+    @Test
+    @DisplayName("loadContext_WithoutSession_ReturnsCompactContext")
+    void testLoadContext_WithoutSession_ReturnsCompactContext() {
+        // Given
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // When
+        SecurityContext context = repository.loadContext(holder);
+
+        // Then
+        assertTrue(context instanceof CompactSecurityContext);
+    }
+
+    @Test
+    @DisplayName("saveContext_WithForeignContext_StoresCompactContextInSession")
+    void testSaveContext_WithForeignContext_StoresCompactContextInSession() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, response);
+        repository.loadContext(holder);
+        Authentication authentication = new UsernamePasswordAuthenticationToken("alice", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        // When
+        repository.saveContext(new SecurityContextImpl(authentication), holder.getRequest(), holder.getResponse());
+
+        // Then
+        Object stored = request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertTrue(stored instanceof CompactSecurityContext);
+        assertEquals(authentication, ((SecurityContext) stored).getAuthentication());
+    }
+
+    @Test
+    @DisplayName("saveContext_WithEquivalentForeignContext_KeepsStoredAttribute")
+    void testSaveContext_WithEquivalentForeignContext_KeepsStoredAttribute() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        CompactSecurityContext stored = new CompactSecurityContext(new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, stored);
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+        repository.loadContext(holder);
+
+        // When - 应用按相同的用户与权限重新构造了上下文
+        repository.saveContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("ROLE_USER"))), holder.getRequest(), holder.getResponse());
+
+        // Then
+        assertSame(stored, request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY));
+    }
+
+    @Test
+    @DisplayName("saveContext_WithChangedAuthorities_ReplacesStoredAttribute")
+    void testSaveContext_WithChangedAuthorities_ReplacesStoredAttribute() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        CompactSecurityContext stored = new CompactSecurityContext(new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, stored);
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+        repository.loadContext(holder);
+        Authentication promoted = new UsernamePasswordAuthenticationToken("bob", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+        // When
+        repository.saveContext(new SecurityContextImpl(promoted), holder.getRequest(), holder.getResponse());
+
+        // Then
+        Object saved = request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertNotSame(stored, saved);
+        assertEquals(promoted, ((SecurityContext) saved).getAuthentication());
+    }
+
+    @Test
+    @DisplayName("loadContext_WithStoredCompactContext_ReturnsSameInstance")
+    void testLoadContext_WithStoredCompactContext_ReturnsSameInstance() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        CompactSecurityContext stored = new CompactSecurityContext(new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, stored);
+
+        // When
+        SecurityContext loaded = repository.loadContext(
+                new HttpRequestResponseHolder(request, new MockHttpServletResponse()));
+
+        // Then
+        assertSame(stored, loaded);
+    }
+}
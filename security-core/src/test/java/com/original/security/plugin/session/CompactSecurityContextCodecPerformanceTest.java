@@ -0,0 +1,87 @@
+package com.original.security.plugin.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SecurityContext 序列化基准测试。
+ * <p>
+ * 对比 Java 序列化 {@link SecurityContextImpl} 与 {@link CompactSecurityContext}
+ * 在单个 Session 上的字节数与序列化/反序列化耗时（微秒）。
+ * 基准数据通过标准输出打印，断言仅校验紧凑格式在体积和耗时上不劣于 Java 序列化。
+ * </p>
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+class CompactSecurityContextCodecPerformanceTest {
+
+    private static final int AUTHORITY_COUNT = 20;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    @DisplayName("compactCodec_ComparedToJavaSerialization_IsSmallerAndFaster")
+    void testCompactCodec_ComparedToJavaSerialization_IsSmallerAndFaster() throws Exception {
+        UsernamePasswordAuthenticationToken authentication = createSessionAuthentication();
+        SecurityContext javaContext = new SecurityContextImpl(authentication);
+        SecurityContext compactContext = new CompactSecurityContext(authentication);
+
+        int javaBytes = CompactSecurityContextCodecTest.serialize(javaContext).length;
+        int compactBytes = CompactSecurityContextCodecTest.serialize(compactContext).length;
+
+        roundTrip(javaContext, WARMUP_ITERATIONS);
+        roundTrip(compactContext, WARMUP_ITERATIONS);
+        double javaMicros = roundTrip(javaContext, ITERATIONS);
+        double compactMicros = roundTrip(compactContext, ITERATIONS);
+
+        System.out.printf("SecurityContext per session: java=%d bytes / %.2f us, compact=%d bytes / %.2f us%n",
+                javaBytes, javaMicros, compactBytes, compactMicros);
+
+        assertTrue(compactBytes * 2 < javaBytes,
+                "Compact format should be less than half of Java serialization, but was "
+                        + compactBytes + " vs " + javaBytes + " bytes");
+        assertTrue(compactMicros < javaMicros,
+                "Compact format should be faster than Java serialization, but was "
+                        + compactMicros + " vs " + javaMicros + " us");
+    }
+
+    /**
+     * 执行序列化 + 反序列化往返，返回单次平均耗时（微秒）。
+     */
+    private double roundTrip(SecurityContext context, int iterations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            CompactSecurityContextCodecTest.deserialize(CompactSecurityContextCodecTest.serialize(context));
+        }
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+
+    private UsernamePasswordAuthenticationToken createSessionAuthentication() {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+        for (int i = 1; i < AUTHORITY_COUNT; i++) {
+            authorities.add(new SimpleGrantedAuthority("module" + i + ":read"));
+        }
+        User principal = new User("session-user", "{bcrypt}$2a$10$0123456789012345678901", authorities);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        authentication.setDetails(new WebAuthenticationDetails(request));
+        return authentication;
+    }
+}
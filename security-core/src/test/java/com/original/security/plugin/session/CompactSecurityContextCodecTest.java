@@ -0,0 +1,153 @@
+package com.original.security.plugin.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactSecurityContextCodec 与 CompactSecurityContext 单元测试。
+ *
+ * @author Original Security Team
+ * @since 1.0.0
+ */
+class CompactSecurityContextCodecTest {
+
+    @Test
+    @DisplayName("decode_UserDetailsPrincipal_RehydratesUsernameAndAuthorities")
+    void testDecode_UserDetailsPrincipal_RehydratesUsernameAndAuthorities() {
+        // Given
+        UserDetails user = new User("alice", "secret", AuthorityUtils.createAuthorityList("ROLE_USER", "user:read"));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, "secret", user.getAuthorities());
+
+        // When
+        CompactSecurityContextCodec.Decoded decoded = CompactSecurityContextCodec.decode(
+                CompactSecurityContextCodec.encode(authentication, 1234L));
+
+        // Then
+        Authentication restored = decoded.getAuthentication();
+        assertEquals(1234L, decoded.getCreatedAt());
+        assertEquals("alice", restored.getName());
+        assertTrue(restored.isAuthenticated());
+        assertNull(restored.getCredentials(), "Credentials must not be stored in the session");
+        assertTrue(restored.getPrincipal() instanceof UserDetails);
+        assertEquals(user, restored.getPrincipal(), "Rehydrated principal should equal the login principal");
+        assertEquals(AuthorityUtils.authorityListToSet(user.getAuthorities()),
+                AuthorityUtils.authorityListToSet(restored.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("decode_StringPrincipal_KeepsStringPrincipal")
+    void testDecode_StringPrincipal_KeepsStringPrincipal() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("bob", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        // When
+        Authentication restored = CompactSecurityContextCodec.decode(
+                CompactSecurityContextCodec.encode(authentication, 0L)).getAuthentication();
+
+        // Then
+        assertEquals("bob", restored.getPrincipal());
+        assertEquals("ROLE_ADMIN", restored.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("decode_NonCompactableAuthentication_FallsBackToJavaSerialization")
+    void testDecode_NonCompactableAuthentication_FallsBackToJavaSerialization() {
+        // Given
+        Authentication authentication = new RememberMeAuthenticationToken("key", "carol",
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        // When
+        Authentication restored = CompactSecurityContextCodec.decode(
+                CompactSecurityContextCodec.encode(authentication, 0L)).getAuthentication();
+
+        // Then
+        assertTrue(restored instanceof RememberMeAuthenticationToken, "Token type must be preserved");
+        assertEquals(authentication, restored);
+    }
+
+    @Test
+    @DisplayName("decode_EmptyContext_ReturnsNullAuthentication")
+    void testDecode_EmptyContext_ReturnsNullAuthentication() {
+        // When
+        CompactSecurityContextCodec.Decoded decoded = CompactSecurityContextCodec.decode(
+                CompactSecurityContextCodec.encode(null, 42L));
+
+        // Then
+        assertNull(decoded.getAuthentication());
+        assertEquals(42L, decoded.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("decode_UnsupportedVersion_ThrowsException")
+    void testDecode_UnsupportedVersion_ThrowsException() {
+        // Given
+        byte[] data = CompactSecurityContextCodec.encode(null, 0L);
+        data[0] = 99;
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> CompactSecurityContextCodec.decode(data));
+    }
+
+    @Test
+    @DisplayName("javaSerialization_CompactContext_RoundTripsThroughCodec")
+    void testJavaSerialization_CompactContext_RoundTripsThroughCodec() throws Exception {
+        // Given
+        CompactSecurityContext context = new CompactSecurityContext(new UsernamePasswordAuthenticationToken(
+                "dave", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // When
+        CompactSecurityContext restored = (CompactSecurityContext) deserialize(serialize(context));
+
+        // Then
+        assertEquals(context, restored);
+        assertEquals(context.getCreatedAt(), restored.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("setAuthentication_SameAuthentication_KeepsCreatedAt")
+    void testSetAuthentication_SameAuthentication_KeepsCreatedAt() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("erin", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        CompactSecurityContext context = new CompactSecurityContext(authentication);
+        long createdAt = context.getCreatedAt();
+
+        // When
+        context.setAuthentication(authentication);
+
+        // Then
+        assertEquals(createdAt, context.getCreatedAt());
+        assertEquals(context, new SecurityContextImpl(authentication));
+    }
+
+    static byte[] serialize(SecurityContext context) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(context);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
@@ -85,6 +85,20 @@ class JwtUtilsTest {
         assertTrue(authStr.contains("user:write"));
     }
 
+    @Test
+    void testGenerateTokenWithExtraClaims_CannotOverrideStandardClaims() {
+        java.util.Map<String, Object> extra = new java.util.HashMap<>();
+        extra.put("perms", Arrays.asList("user:read", "report:eu,west"));
+        extra.put("authz_ver", 42L);
+        extra.put("sub", "mallory");
+
+        Claims claims = jwtUtils.parseToken(jwtUtils.generateToken("admin", Arrays.asList("ROLE_ADMIN"), extra));
+
+        assertEquals("admin", claims.getSubject());
+        assertEquals(Arrays.asList("user:read", "report:eu,west"), claims.get("perms", java.util.List.class));
+        assertEquals(42L, claims.get("authz_ver", Long.class));
+    }
+
     @Test
     void testValidateValidToken() {
         String token = jwtUtils.generateToken("testuser", Arrays.asList("ROLE_USER"));